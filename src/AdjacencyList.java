@@ -0,0 +1,201 @@
+/**
+ * AdjacencyList.java
+ *
+ * The purpose of this class is to store the adjacency list of an
+ * undirected, weighted graph in primitive arrays. Each vertex has one
+ * growable int array holding its neighbors and their weights side by
+ * side: neighbor i of u is at 2 * i and its weight at 2 * i + 1. An
+ * edge is stored once on each of its vertices, so it costs 16 bytes,
+ * with no Edge objects or boxed Integers.
+ *
+ * Neighbors stay in the order their edges were added.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.*;
+
+public class AdjacencyList {
+
+	private static final int INITIAL_CAPACITY = 4;
+	private static final int[] EMPTY = new int[0];
+
+	private int numVertices;
+	private int numEdges = 0;
+
+	private int[][] slots;		// Neighbor and weight pairs of each vertex.
+	private int[] degree;
+
+	/**
+	 * AdjacencyList()
+	 *
+	 * Creates an adjacency list with no edges.
+	 *
+	 * @param numVertices - number of vertices in the graph.
+	 */
+	public AdjacencyList(int numVertices)
+	{
+		this.numVertices = numVertices;
+
+		slots = new int[numVertices][];
+		degree = new int[numVertices];
+		clear();
+	}
+
+	/**
+	 * addEdge()
+	 *
+	 * Adds an edge to the lists of both of its vertices.
+	 *
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge.
+	 */
+	public void addEdge(int u, int v, int weight)
+	{
+		append(u, v, weight);
+		append(v, u, weight);
+
+		numEdges++;
+	}
+
+	/**
+	 * getNumVertices()
+	 *
+	 * @return - the number of vertices.
+	 */
+	public int getNumVertices()
+	{
+		return numVertices;
+	}
+
+	/**
+	 * getNumEdges()
+	 *
+	 * @return - the number of edges, each counted once.
+	 */
+	public int getNumEdges()
+	{
+		return numEdges;
+	}
+
+	/**
+	 * getDegree()
+	 *
+	 * @param u - the vertex.
+	 * @return - the number of edges adjacent to u.
+	 */
+	public int getDegree(int u)
+	{
+		return degree[u];
+	}
+
+	/**
+	 * getNeighbor()
+	 *
+	 * @param u - the vertex.
+	 * @param i - an index from 0 to getDegree(u) - 1.
+	 * @return - the vertex at the other end of u's i-th edge.
+	 */
+	public int getNeighbor(int u, int i)
+	{
+		return slots[u][2 * i];
+	}
+
+	/**
+	 * getWeight()
+	 *
+	 * @param u - the vertex.
+	 * @param i - an index from 0 to getDegree(u) - 1.
+	 * @return - the weight of u's i-th edge.
+	 */
+	public int getWeight(int u, int i)
+	{
+		return slots[u][2 * i + 1];
+	}
+
+	/**
+	 * getSlots()
+	 *
+	 * Gets the array u's edges are stored in, for loops that walk every
+	 * edge of u. Only the first 2 * getDegree(u) entries are edges, and
+	 * the array must not be changed, so only Graph's own loops use it.
+	 *
+	 * @param u - the vertex.
+	 * @return - u's neighbors at even indexes, each followed by the
+	 * 			 weight of its edge.
+	 */
+	int[] getSlots(int u)
+	{
+		return slots[u];
+	}
+
+	/**
+	 * trimToSize()
+	 *
+	 * Shrinks each vertex's array to its degree, giving back the room
+	 * left over from growing it. Call once the graph is built.
+	 */
+	public void trimToSize()
+	{
+		for (int u = 0; u < numVertices; u++)
+		{
+			if (slots[u].length != 2 * degree[u])
+				slots[u] = (degree[u] == 0) ? EMPTY
+						: Arrays.copyOf(slots[u], 2 * degree[u]);
+		}
+	}
+
+	/**
+	 * clear()
+	 *
+	 * Removes every edge.
+	 */
+	public void clear()
+	{
+		Arrays.fill(slots, EMPTY);
+		Arrays.fill(degree, 0);
+		numEdges = 0;
+	}
+
+	/**
+	 * estimateSize()
+	 *
+	 * Roughly estimates how many bytes of heap the lists occupy.
+	 *
+	 * @return - the estimated size in bytes.
+	 */
+	public long estimateSize()
+	{
+		long size = 24L * numVertices;
+		for (int u = 0; u < numVertices; u++)
+			size += 4L * slots[u].length;
+
+		return size;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * append()
+	 *
+	 * Adds v to the end of u's list, doubling u's array if it is full.
+	 */
+	private void append(int u, int v, int weight)
+	{
+		int[] s = slots[u];
+		int k = 2 * degree[u];
+
+		if (k == s.length)
+		{
+			s = Arrays.copyOf(s, Math.max(2 * INITIAL_CAPACITY, 2 * s.length));
+			slots[u] = s;
+		}
+
+		s[k] = v;
+		s[k + 1] = weight;
+		degree[u]++;
+	}
+
+}
@@ -0,0 +1,71 @@
+/**
+ * BarabasiAlbertGenerator.java
+ * 
+ * Generates a Barabasi-Albert graph by preferential attachment: the
+ * vertices arrive one at a time, and each is joined to m of the
+ * vertices before it, picked with probability in proportion to their
+ * degree. A few early vertices end up with most of the edges, as in
+ * citation and other growing networks. Weights are from 1 to n.
+ * 
+ * m is chosen so that the average degree, about 2m, is p(n - 1).
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.*;
+
+public class BarabasiAlbertGenerator extends GraphGenerator {
+	
+	/**
+	 * generate()
+	 * 
+	 * The first m + 1 vertices are joined to each other to start with.
+	 * Each new vertex's edges are added together.
+	 */
+	@Override
+	public void generate(int n, double p, Random rConnect,
+			Random wConnection, EdgeSink sink)
+	{
+		if (p <= 0)
+			return;
+		
+		int m = (int) Math.max(1, Math.min(n - 1, Math.round(p * (n - 1) / 2)));
+		
+		// Every endpoint of every edge so far, so that picking an entry at
+		// random picks a vertex in proportion to its degree.
+		IntList endpoints = new IntList((int) Math.min(2L * m * n, 1 << 24));
+		
+		for (int u = 0; u <= m; u++)
+		{
+			for (int v = u + 1; v <= m; v++)
+			{
+				sink.addEdge(u, v, randomWeight(n, wConnection));
+				endpoints.add(u);
+				endpoints.add(v);
+			}
+		}
+		
+		for (int v = m + 1; v < n; v++)
+		{
+			// The edges added so far, as v's are added to endpoints as
+			// they are drawn but mustn't be picked from.
+			int size = endpoints.size();
+			
+			int added = 0;
+			while (added < m)
+			{
+				int u = endpoints.get(rConnect.nextInt(size));
+				
+				// Drop repeats, so v gets m different neighbors.
+				if (sink.addEdge(u, v, randomWeight(n, wConnection)))
+				{
+					endpoints.add(u);
+					endpoints.add(v);
+					added++;
+				}
+			}
+		}
+	}
+	
+}
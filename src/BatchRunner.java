@@ -0,0 +1,336 @@
+/**
+ * BatchRunner.java
+ *
+ * The purpose of this class is to run many (n, seed, p) configurations
+ * in one JVM, so a sweep only pays for JVM startup and JIT warm-up once.
+ * Every Kruskal and Prim variant is run on each configuration, checked
+ * with MSTVerifier, and the results are written out as a single table.
+ *
+ * Each line of the manifest is "n seed p". Any of the three may be a
+ * range written as start:end[:step] (the step defaults to 1), and
+ * every combination of the ranges on a line is run. Blank lines and
+ * lines starting with # are ignored. For example:
+ *
+ *     # 50 seeds of n = 500 across five values of p
+ *     500 1:50 0.2:1.0:0.2
+ *
+ * Usage: java MST -batch manifest [-threads k] [-out file]
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class BatchRunner {
+
+	private static final String THREADS_FLAG = "-threads";
+	private static final String OUT_FLAG = "-out";
+
+	private ArrayList<Config> configs;
+	private int numThreads;
+
+	// Matrix reused by every graph of the same size built on a thread.
+	private ThreadLocal<int[][]> matrixBuffer = new ThreadLocal<int[][]>();
+
+	/**
+	 * @param args - the manifest file name, optionally followed by
+	 * 				 -threads k and -out file.
+	 */
+	public static void main(String[] args) {
+		String manifest = null;
+		String outFileName = null;
+		int numThreads = 1;
+
+		try {
+			for (int i = 0; i < args.length; i++)
+			{
+				if (args[i].equals(THREADS_FLAG) && i + 1 < args.length)
+					numThreads = Integer.parseInt(args[++i]);
+				else if (args[i].equals(OUT_FLAG) && i + 1 < args.length)
+					outFileName = args[++i];
+				else if (manifest == null)
+					manifest = args[i];
+				else
+					MST.exitWithMessage("Unknown batch parameter: " + args[i]);
+			}
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("threads must be an integer");
+		}
+
+		if (manifest == null)
+			MST.exitWithMessage(
+					"Usage: java MST -batch manifest [-threads k] [-out file]");
+
+		if (numThreads < 1)
+			MST.exitWithMessage("threads must be at least 1");
+
+		BatchRunner runner = new BatchRunner(readManifest(manifest), numThreads);
+
+		try {
+			PrintStream out = (outFileName == null)
+					? System.out
+					: new PrintStream(new BufferedOutputStream(
+							new FileOutputStream(outFileName), 1 << 16));
+
+			runner.run(out);
+
+			if (out != System.out)
+				out.close();
+		} catch (FileNotFoundException e) {
+			MST.exitWithMessage("Output file could not be created");
+		}
+	}
+
+	/**
+	 * BatchRunner()
+	 *
+	 * @param configs - the configurations to run.
+	 * @param numThreads - how many configurations to run at once.
+	 */
+	public BatchRunner(ArrayList<Config> configs, int numThreads)
+	{
+		this.configs = configs;
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * run()
+	 *
+	 * Runs every configuration and writes one row per configuration and
+	 * variant to out, in manifest order.
+	 *
+	 * @param out - where to write the results table.
+	 */
+	public void run(PrintStream out)
+	{
+		ArrayList<Callable<String>> tasks = new ArrayList<Callable<String>>();
+		for (int i = 0; i < configs.size(); i++)
+		{
+			final Config config = configs.get(i);
+			tasks.add(() -> runConfig(config));
+		}
+
+		out.printf("%8s %12s %8s %8s  %-50s %12s %12s %8s\n",
+				"n", "seed", "p", "gen_ms", "variant", "weight", "runtime_ms", "verified");
+
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<String>> futures = pool.invokeAll(tasks);
+
+			for (int i = 0; i < futures.size(); i++)
+				out.print(futures.get(i).get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			MST.exitWithError(e);
+		} catch (ExecutionException e) {
+			MST.exitWithError(e);
+		} finally {
+			pool.shutdown();
+		}
+
+		out.flush();
+	}
+
+	/**
+	 * runConfig()
+	 *
+	 * Builds the graph for one configuration and runs every variant on
+	 * it, one after another on the calling thread.
+	 *
+	 * @param config - the configuration to run.
+	 * @return - the rows of the results table for this configuration.
+	 */
+	private String runConfig(Config config) throws Exception
+	{
+		int[][] matrix = matrixBuffer.get();
+		if (matrix == null || matrix.length != config.n)
+		{
+			matrix = new int[config.n][config.n];
+			matrixBuffer.set(matrix);
+		}
+
+		Graph g = new Graph(config.n, config.seed, config.p, matrix);
+
+		StringBuilder rows = new StringBuilder();
+		ArrayList<Callable<MSTResult>> tasks = MSTRunner.createTasks(g);
+		MSTVerifier verifier = new MSTVerifier(g);
+
+		for (int i = 0; i < tasks.size(); i++)
+		{
+			MSTResult result = tasks.get(i).call();
+			rows.append(String.format("%8d %12d %8s %8d  %-50s %12d %12d %8s\n",
+					config.n,
+					config.seed,
+					Double.toString(config.p),
+					g.getGenerationTime(),
+					result.getName(),
+					result.getTotalWeight(),
+					result.getRuntime(),
+					verifier.verify(result.getEdges()) ? "yes" : "NO"));
+		}
+
+		return rows.toString();
+	}
+
+	/* ---------------- Manifest Functions ---------------- */
+
+	/**
+	 * readManifest()
+	 *
+	 * Reads the manifest file and expands any ranges in it.
+	 *
+	 * @param fileName - the name of the manifest file.
+	 * @return - every configuration to run, in manifest order.
+	 */
+	public static ArrayList<Config> readManifest(String fileName)
+	{
+		ArrayList<Config> configs = new ArrayList<Config>();
+		int lineNum = 0;
+
+		try {
+			BufferedReader br = new BufferedReader(new FileReader(fileName));
+
+			String line = br.readLine();
+			while (line != null)
+			{
+				lineNum++;
+				line = line.trim();
+
+				if (line.length() > 0 && !line.startsWith("#"))
+					expandLine(line, lineNum, configs);
+
+				line = br.readLine();
+			}
+
+			br.close();
+		} catch (FileNotFoundException e) {
+			MST.exitWithMessage("Manifest file not found");
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage(String.format(
+					"Line %d: n and seed must be integers and p a real number",
+					lineNum));
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+
+		if (configs.isEmpty())
+			MST.exitWithMessage("Manifest has no configurations");
+
+		return configs;
+	}
+
+	/**
+	 * expandLine()
+	 *
+	 * Expands one "n seed p" manifest line into configurations.
+	 *
+	 * @param line - the manifest line.
+	 * @param lineNum - the line number, for error messages.
+	 * @param configs - the list to add the configurations to.
+	 */
+	private static void expandLine(String line, int lineNum, ArrayList<Config> configs)
+	{
+		String[] fields = line.split("\\s+");
+		if (fields.length != 3)
+			MST.exitWithMessage(String.format(
+					"Line %d: expected \"n seed p\"", lineNum));
+
+		long[] ns = expandLongs(fields[0]);
+		long[] seeds = expandLongs(fields[1]);
+		double[] ps = expandDoubles(fields[2]);
+
+		for (int i = 0; i < ns.length; i++)
+		{
+			if (ns[i] < 2 || ns[i] > Integer.MAX_VALUE)
+				MST.exitWithMessage(String.format(
+						"Line %d: n must be greater than 1", lineNum));
+
+			for (int j = 0; j < seeds.length; j++)
+			{
+				for (int k = 0; k < ps.length; k++)
+				{
+					if (ps[k] < 0 || ps[k] > 1)
+						MST.exitWithMessage(String.format(
+								"Line %d: p must be between 0 and 1", lineNum));
+
+					configs.add(new Config((int) ns[i], seeds[j], ps[k]));
+				}
+			}
+		}
+	}
+
+	/**
+	 * expandLongs()
+	 *
+	 * Expands a value or start:end[:step] range of integers.
+	 *
+	 * @param field - the value or range.
+	 * @return - every value in the range.
+	 */
+	private static long[] expandLongs(String field)
+	{
+		String[] parts = field.split(":");
+		long start = Long.parseLong(parts[0]);
+		long end = (parts.length > 1) ? Long.parseLong(parts[1]) : start;
+		long step = (parts.length > 2) ? Long.parseLong(parts[2]) : 1;
+
+		if (parts.length > 3 || step <= 0 || end < start)
+			throw new NumberFormatException(field);
+
+		long[] values = new long[(int) ((end - start) / step + 1)];
+		for (int i = 0; i < values.length; i++)
+			values[i] = start + i * step;
+
+		return values;
+	}
+
+	/**
+	 * expandDoubles()
+	 *
+	 * Expands a value or start:end:step range of real numbers.
+	 *
+	 * @param field - the value or range.
+	 * @return - every value in the range.
+	 */
+	private static double[] expandDoubles(String field)
+	{
+		String[] parts = field.split(":");
+		double start = Double.parseDouble(parts[0]);
+		double end = (parts.length > 1) ? Double.parseDouble(parts[1]) : start;
+		double step = (parts.length > 2) ? Double.parseDouble(parts[2]) : 1;
+
+		if (parts.length > 3 || step <= 0 || end < start)
+			throw new NumberFormatException(field);
+
+		// Allow for rounding error so the end of the range is included.
+		double[] values = new double[(int) ((end - start) / step + 1e-9) + 1];
+		for (int i = 0; i < values.length; i++)
+			values[i] = Math.round((start + i * step) * 1e9) / 1e9;
+
+		return values;
+	}
+
+	/**
+	 * Config
+	 *
+	 * One (n, seed, p) configuration of the batch.
+	 */
+	public static class Config {
+
+		private final int n;
+		private final long seed;
+		private final double p;
+
+		public Config(int n, long seed, double p)
+		{
+			this.n = n;
+			this.seed = seed;
+			this.p = p;
+		}
+
+	}
+
+}
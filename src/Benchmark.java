@@ -0,0 +1,644 @@
+/**
+ * Benchmark.java
+ *
+ * Times the different MST implementations against each other on graphs
+ * generated across the range of p that MST accepts. Each variant is run
+ * a few times first so that the timings are taken from JIT-compiled code.
+ *
+ * With -reorder, it instead times the algorithms that walk the graph
+ * on a loaded edge list before and after each vertex reordering (see
+ * VertexOrder). Alongside the times it prints the average and largest
+ * difference between the numbers of an edge's endpoints, which is how
+ * far apart in memory the data of neighbors is: the smaller, the fewer
+ * cache misses. To count the misses themselves, run it under a
+ * profiler such as perf stat -e cache-misses.
+ *
+ * With -dense, it times the kernels of DensePrim against each other on
+ * complete graphs, which are built as bare matrices so that n can go
+ * up to the tens of thousands (run with -Xmx a little over 4n^2 bytes).
+ * The SIMD kernel is only there if VectorPrimKernel was built and the
+ * JVM was started with --add-modules jdk.incubator.vector.
+ *
+ * With -model, it runs the same table as without on graphs drawn from
+ * another random graph model (see GraphModel), as skewed and spatial
+ * graphs can rank the algorithms differently from G(n, p).
+ *
+ * With -dynamic, it times building a DynamicMST on a G(n, p) graph and
+ * changing the weights of random edges in it, against computing the
+ * MST from scratch, which is what a change would cost without it.
+ *
+ * Usage: java Benchmark n [seed] [reps]
+ *        java Benchmark -reorder edgeListFile [reps]
+ *        java Benchmark -dense n [seed] [reps]
+ *        java Benchmark -model gnp|rmat|geometric|grid|ba n [seed] [reps]
+ *        java Benchmark -dynamic n p [seed] [updates]
+ *
+ * @author Michael Yeaple
+ */
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+public class Benchmark {
+
+	private static final double[] P_VALUES =
+		{ 0.05, 0.1, 0.25, 0.5, 0.75, 1.0 };
+
+	private static final int WARMUP_RUNS = 3;
+	private static final int DEFAULT_REPS = 5;
+
+	private static final String REORDER_FLAG = "-reorder";
+	private static final String DENSE_FLAG = "-dense";
+	private static final String MODEL_FLAG = "-model";
+	private static final String DYNAMIC_FLAG = "-dynamic";
+	private static final int DEFAULT_UPDATES = 1000;
+
+	/**
+	 * @param args - n, and optionally the seed and number of timed runs;
+	 * 				 or -reorder, an edge list file in the format
+	 * 				 Graph.load() reads, and optionally the number of
+	 * 				 timed runs; or -dense followed by n, and optionally
+	 * 				 the seed and number of timed runs; or -model
+	 * 				 followed by a model keyword and the same arguments
+	 * 				 as without; or -dynamic followed by n, p, and
+	 * 				 optionally the seed and number of timed updates.
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 5)
+		{
+			System.err.println("Usage: java Benchmark n [seed] [reps]\n"
+					+ "       java Benchmark -reorder edgeListFile [reps]\n"
+					+ "       java Benchmark -dense n [seed] [reps]\n"
+					+ "       java Benchmark -model gnp|rmat|geometric|grid|ba n [seed] [reps]\n"
+					+ "       java Benchmark -dynamic n p [seed] [updates]");
+			System.exit(1);
+		}
+
+		if (args[0].equals(REORDER_FLAG))
+		{
+			mainReorder(args);
+			return;
+		}
+
+		if (args[0].equals(DENSE_FLAG))
+		{
+			mainDense(args);
+			return;
+		}
+
+		if (args[0].equals(DYNAMIC_FLAG))
+		{
+			mainDynamic(args);
+			return;
+		}
+
+		GraphModel model = GraphModel.ErdosRenyi;
+		int first = 0;
+
+		if (args[0].equals(MODEL_FLAG))
+		{
+			if (args.length < 3)
+				MST.exitWithMessage("Usage: java Benchmark -model "
+						+ "gnp|rmat|geometric|grid|ba n [seed] [reps]");
+
+			model = GraphModel.fromKeyword(args[1]);
+			if (model == null)
+				MST.exitWithMessage("The model must be gnp, rmat, "
+						+ "geometric, grid or ba");
+
+			first = 2;
+		}
+
+		if (args.length - first > 3)
+			MST.exitWithMessage("Usage: java Benchmark n [seed] [reps]");
+
+		int numVertices = 0;
+		long seed = 0;
+		int reps = DEFAULT_REPS;
+
+		try {
+			numVertices = Integer.parseInt(args[first]);
+
+			if (args.length > first + 1)
+				seed = Long.parseLong(args[first + 1]);
+
+			if (args.length > first + 2)
+				reps = Integer.parseInt(args[first + 2]);
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("n, seed and reps must be integers");
+		}
+
+		if (numVertices < 2)
+			MST.exitWithMessage("n must be greater than 1");
+
+		if (reps < 1)
+			MST.exitWithMessage("reps must be at least 1");
+
+		if (model == GraphModel.ErdosRenyi)
+			System.out.printf("BENCHMARK: n=%d, seed=%d, reps=%d\n\n",
+					numVertices, seed, reps);
+		else
+			System.out.printf("BENCHMARK: model=%s, n=%d, seed=%d, reps=%d\n\n",
+					model.getKeyword(), numVertices, seed, reps);
+
+		for (int i = 0; i < P_VALUES.length; i++)
+		{
+			Graph g = new Graph(numVertices, seed, P_VALUES[i], model);
+
+			System.out.printf("p=%s (generated in %d milliseconds)\n",
+					Double.toString(P_VALUES[i]),
+					g.getGenerationTime());
+
+			benchmarkPrim(g, reps);
+			benchmarkKKT(g, reps);
+
+			System.out.println();
+		}
+	}
+
+	/**
+	 * mainReorder()
+	 *
+	 * Loads the edge list named in args and benchmarks it reordered.
+	 *
+	 * @param args - -reorder, the edge list file, and optionally reps.
+	 */
+	private static void mainReorder(String[] args)
+	{
+		if (args.length < 2)
+			MST.exitWithMessage("Usage: java Benchmark -reorder edgeListFile [reps]");
+
+		int reps = DEFAULT_REPS;
+		Graph g = null;
+
+		try {
+			if (args.length > 2)
+				reps = Integer.parseInt(args[2]);
+
+			BufferedReader br = new BufferedReader(new FileReader(args[1]));
+			g = Graph.load(br);
+			br.close();
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("reps must be an integer");
+		} catch (IllegalArgumentException e) {
+			MST.exitWithMessage(e.getMessage());
+		} catch (FileNotFoundException e) {
+			MST.exitWithMessage("Edge list file not found");
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+
+		if (reps < 1)
+			MST.exitWithMessage("reps must be at least 1");
+
+		System.out.printf("BENCHMARK: %s, n=%d, edges=%d, reps=%d\n\n",
+				args[1], g.getNumVertices(), g.getNumEdges(), reps);
+
+		benchmarkReorder(g, reps);
+	}
+
+	/**
+	 * mainDense()
+	 *
+	 * Builds the complete graph of n vertices named in args and times
+	 * DensePrim's kernels on it.
+	 *
+	 * @param args - -dense, n, and optionally the seed and reps.
+	 */
+	private static void mainDense(String[] args)
+	{
+		if (args.length < 2 || args.length > 4)
+			MST.exitWithMessage("Usage: java Benchmark -dense n [seed] [reps]");
+
+		int numVertices = 0;
+		long seed = 0;
+		int reps = DEFAULT_REPS;
+
+		try {
+			numVertices = Integer.parseInt(args[1]);
+
+			if (args.length > 2)
+				seed = Long.parseLong(args[2]);
+
+			if (args.length > 3)
+				reps = Integer.parseInt(args[3]);
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("n, seed and reps must be integers");
+		}
+
+		if (numVertices < 2)
+			MST.exitWithMessage("n must be greater than 1");
+
+		if (reps < 1)
+			MST.exitWithMessage("reps must be at least 1");
+
+		long start = System.currentTimeMillis();
+		int[][] matrix = DensePrim.randomMatrix(numVertices, seed, 1.0);
+
+		System.out.printf("BENCHMARK: dense n=%d, seed=%d, reps=%d (generated in %d milliseconds)\n\n",
+				numVertices, seed, reps, System.currentTimeMillis() - start);
+
+		benchmarkDense(matrix, reps);
+	}
+
+	/**
+	 * mainDynamic()
+	 *
+	 * Builds the G(n, p) graph named in args and times DynamicMST on it.
+	 *
+	 * @param args - -dynamic, n, p, and optionally the seed and updates.
+	 */
+	private static void mainDynamic(String[] args)
+	{
+		if (args.length < 3 || args.length > 5)
+			MST.exitWithMessage("Usage: java Benchmark -dynamic n p [seed] [updates]");
+
+		int numVertices = 0;
+		double p = 0;
+		long seed = 0;
+		int updates = DEFAULT_UPDATES;
+
+		try {
+			numVertices = Integer.parseInt(args[1]);
+			p = Double.parseDouble(args[2]);
+
+			if (args.length > 3)
+				seed = Long.parseLong(args[3]);
+
+			if (args.length > 4)
+				updates = Integer.parseInt(args[4]);
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("n, seed and updates must be integers, and p a number");
+		}
+
+		if (numVertices < 2)
+			MST.exitWithMessage("n must be greater than 1");
+
+		if (p <= 0 || p > 1)
+			MST.exitWithMessage("p must be greater than 0 and at most 1");
+
+		if (updates < 1)
+			MST.exitWithMessage("updates must be at least 1");
+
+		Graph g = new Graph(numVertices, seed, p);
+
+		System.out.printf("BENCHMARK: dynamic n=%d, p=%s, seed=%d, edges=%d, updates=%d\n\n",
+				numVertices, Double.toString(p), seed, g.getNumEdges(), updates);
+
+		benchmarkDynamic(g, seed, updates);
+	}
+
+	/**
+	 * benchmarkDynamic()
+	 *
+	 * Times Kruskal's and lazy Prim's algorithms and building a
+	 * DynamicMST, then changes the weights of random edges to random
+	 * weights from 1 to n, timing the changes to tree edges apart from
+	 * the rest. The structure's MST weight is checked against Kruskal's
+	 * algorithm at the end.
+	 *
+	 * @param g - the graph.
+	 * @param seed - a seed number for choosing the changes.
+	 * @param updates - the number of timed changes, after as many
+	 * 					untimed ones.
+	 */
+	private static void benchmarkDynamic(final Graph g, long seed, int updates)
+	{
+		final Edge[] mst = g.runKruskal(SortType.Quick, GraphType.List).getEdges();
+		long expectedWeight = totalWeight(mst);
+
+		timeRuns("KRUSKAL", GraphType.List, SortType.Quick.toString(), expectedWeight,
+				DEFAULT_REPS, () -> g.runKruskal(SortType.Quick, GraphType.List).getEdges());
+		timeRuns("PRIM", GraphType.List, PQType.Lazy.toString(), expectedWeight,
+				DEFAULT_REPS, () -> g.primMST(GraphType.List, PQType.Lazy));
+		timeRuns("DYNAMIC", GraphType.List, "build", expectedWeight,
+				DEFAULT_REPS, () -> new DynamicMST(g, mst).getEdges());
+
+		DynamicMST dmst = new DynamicMST(g, mst);
+		int n = g.getNumVertices();
+
+		// The graph's edges, whose weights the changes follow.
+		LongEdgeList edges = new LongEdgeList(n, g.getNumEdges());
+		int[] u = new int[g.getNumEdges()];
+		int[] v = new int[g.getNumEdges()];
+		int[] w = new int[g.getNumEdges()];
+		int m = 0;
+		for (int x = 0; x < n; x++)
+		{
+			for (int i = 0; i < g.getDegree(x); i++)
+			{
+				if (x < g.getNeighbor(x, i))
+				{
+					u[m] = x;
+					v[m] = g.getNeighbor(x, i);
+					w[m] = g.getNeighborWeight(x, i);
+					m++;
+				}
+			}
+		}
+
+		Random rand = new Random(seed);
+		long[] nanos = new long[2];
+		int[] counts = new int[2];
+
+		for (int k = 0; k < 2 * updates; k++)
+		{
+			int i = rand.nextInt(m);
+			w[i] = 1 + rand.nextInt(n);
+			int tree = dmst.isTreeEdge(u[i], v[i]) ? 0 : 1;
+
+			long start = System.nanoTime();
+			dmst.changeWeight(u[i], v[i], w[i]);
+			long elapsed = System.nanoTime() - start;
+
+			if (k >= updates)
+			{
+				nanos[tree] += elapsed;
+				counts[tree]++;
+			}
+		}
+
+		for (int i = 0; i < m; i++)
+			edges.add(u[i], v[i], w[i]);
+		if (dmst.getTotalWeight() != edges.kruskalForest().getTotalWeight())
+			MST.exitWithMessage("DYNAMIC weight differs from Kruskal's after the changes");
+
+		String[] variants = { "tree edge", "other edge" };
+		for (int t = 0; t < 2; t++)
+		{
+			if (counts[t] > 0)
+				printRow("DYNAMIC", GraphType.List, variants[t],
+						nanos[t] / 1e6 / counts[t]);
+		}
+	}
+
+	/**
+	 * benchmarkDense()
+	 *
+	 * Times DensePrim with the scalar kernel and, if it is available,
+	 * the SIMD kernel, checking that they find the same tree weight.
+	 *
+	 * @param matrix - the adjacency matrix.
+	 * @param reps - the number of timed runs of each kernel.
+	 */
+	private static void benchmarkDense(int[][] matrix, int reps)
+	{
+		PrimKernel[] kernels = { new ScalarPrimKernel(), PrimKernel.getDefault() };
+		if (kernels[1] instanceof ScalarPrimKernel)
+			kernels = new PrimKernel[] { kernels[0] };
+
+		int n = matrix.length;
+		int[] parent = new int[n];
+		int[] weight = new int[n];
+		long expectedWeight = -1;
+		double scalarMillis = 0;
+
+		for (int i = 0; i < kernels.length; i++)
+		{
+			DensePrim prim = new DensePrim(matrix, kernels[i]);
+
+			prim.run(parent, weight);
+			long total = 0;
+			for (int v = 0; v < n; v++)
+				total += weight[v];
+
+			if (expectedWeight < 0)
+				expectedWeight = total;
+			else if (total != expectedWeight)
+				MST.exitWithMessage(String.format(
+						"DENSE %s weight %d differs from %d",
+						kernels[i].getName(), total, expectedWeight));
+
+			for (int r = 0; r < WARMUP_RUNS; r++)
+				prim.run(parent, weight);
+
+			long start = System.nanoTime();
+			for (int r = 0; r < reps; r++)
+				prim.run(parent, weight);
+			double avgMillis = (System.nanoTime() - start) / 1e6 / reps;
+
+			printRow("PRIM", GraphType.Matrix, "DENSE " + kernels[i].getName(), avgMillis);
+
+			if (i == 0)
+				scalarMillis = avgMillis;
+			else
+				System.out.printf("  speedup over SCALAR: %.2fx\n", scalarMillis / avgMillis);
+		}
+
+		if (kernels.length == 1)
+			System.out.println("  (VECTOR kernel not available; see VectorPrimKernel)");
+	}
+
+	/**
+	 * benchmarkReorder()
+	 *
+	 * Times the connectivity DFS, Prim's algorithm on the adjacency list,
+	 * and Kruskal's algorithm (whose sort walks the adjacency list) on
+	 * the graph as numbered and in each OrderType, checking each
+	 * reordered MST maps back to the same weight.
+	 *
+	 * @param g - the graph as loaded.
+	 * @param reps - the number of timed runs of each algorithm.
+	 */
+	private static void benchmarkReorder(Graph g, int reps)
+	{
+		long expectedWeight = totalWeight(g.primMST(GraphType.List, PQType.Pairing));
+		OrderType[] types = OrderType.values();
+
+		for (int t = -1; t < types.length; t++)
+		{
+			final Graph h = (t < 0) ? g : g.reorder(types[t]);
+
+			long spanSum = 0;
+			int maxSpan = 0;
+			for (int u = 0; u < h.getNumVertices(); u++)
+			{
+				for (int i = 0; i < h.getDegree(u); i++)
+				{
+					int span = Math.abs(h.getNeighbor(u, i) - u);
+					spanSum += span;
+					maxSpan = Math.max(maxSpan, span);
+				}
+			}
+
+			System.out.printf("%s (reordered in %d milliseconds)\n",
+					(t < 0) ? "ORIGINAL" : types[t].toString(),
+					h.getGenerationTime());
+			System.out.printf("  edge span: average %.1f, max %d\n",
+					(h.getNumEdges() == 0) ? 0.0 : spanSum / (2.0 * h.getNumEdges()),
+					maxSpan);
+
+			for (int r = 0; r < WARMUP_RUNS; r++)
+				h.isConnectedGraph();
+			long start = System.nanoTime();
+			for (int r = 0; r < reps; r++)
+				h.isConnectedGraph();
+			printRow("DFS", GraphType.List, "", (System.nanoTime() - start) / 1e6 / reps);
+
+			timeRuns("PRIM", GraphType.List, PQType.Binary.toString(), expectedWeight, reps,
+					() -> h.toOriginal(h.primMST(GraphType.List, PQType.Binary)));
+			timeRuns("PRIM", GraphType.List, PQType.Pairing.toString(), expectedWeight, reps,
+					() -> h.toOriginal(h.primMST(GraphType.List, PQType.Pairing)));
+			timeRuns("KRUSKAL", GraphType.List, SortType.Quick.toString(), expectedWeight, reps,
+					() -> h.toOriginal(h.runKruskal(SortType.Quick, GraphType.List).getEdges()));
+
+			System.out.println();
+		}
+	}
+
+	/**
+	 * benchmarkPrim()
+	 *
+	 * Times Prim's algorithm with each priority queue on both
+	 * representations of the graph, and the dense version on the matrix.
+	 *
+	 * @param g - the graph to run Prim's algorithm on.
+	 * @param reps - the number of timed runs of each variant.
+	 */
+	private static void benchmarkPrim(Graph g, int reps)
+	{
+		GraphType[] gTypes = GraphType.values();
+		PQType[] pqTypes = PQType.values();
+
+		for (int i = 0; i < gTypes.length; i++)
+		{
+			long expectedWeight = -1;
+
+			for (int j = 0; j < pqTypes.length; j++)
+			{
+				long weight = totalWeight(g.primMST(gTypes[i], pqTypes[j]));
+				if (expectedWeight < 0)
+					expectedWeight = weight;
+				else if (weight != expectedWeight)
+					MST.exitWithMessage(String.format(
+							"PRIM %s %s weight %d differs from %d",
+							gTypes[i], pqTypes[j], weight, expectedWeight));
+
+				for (int r = 0; r < WARMUP_RUNS; r++)
+					g.primMST(gTypes[i], pqTypes[j]);
+
+				long start = System.nanoTime();
+				for (int r = 0; r < reps; r++)
+					g.primMST(gTypes[i], pqTypes[j]);
+				double avgMillis = (System.nanoTime() - start) / 1e6 / reps;
+
+				printRow("PRIM", gTypes[i], pqTypes[j].toString(), avgMillis);
+			}
+		}
+
+		timeRuns("PRIM", GraphType.Matrix, "DENSE " + PrimKernel.getDefault().getName(),
+				totalWeight(g.primMST(GraphType.Matrix, PQType.Binary)), reps,
+				() -> g.densePrimMST());
+	}
+
+	/**
+	 * benchmarkKKT()
+	 *
+	 * Times the Karger-Klein-Tarjan algorithm against Kruskal's algorithm
+	 * (with the O(E log E) and O(E) sorts) and Prim's algorithm with the
+	 * pairing heap, to show where the linear-time algorithm crosses over
+	 * as the graph gets denser.
+	 *
+	 * @param g - the graph to run the algorithms on.
+	 * @param reps - the number of timed runs of each algorithm.
+	 */
+	private static void benchmarkKKT(final Graph g, int reps)
+	{
+		GraphType[] gTypes = GraphType.values();
+
+		for (int i = 0; i < gTypes.length; i++)
+		{
+			final GraphType gType = gTypes[i];
+			long expectedWeight = totalWeight(g.kktMST(gType));
+
+			timeRuns("KKT", gType, "", expectedWeight, reps,
+					() -> g.kktMST(gType));
+			timeRuns("KRUSKAL", gType, SortType.Quick.toString(), expectedWeight, reps,
+					() -> g.runKruskal(SortType.Quick, gType).getEdges());
+			timeRuns("KRUSKAL", gType, SortType.Count.toString(), expectedWeight, reps,
+					() -> g.runKruskal(SortType.Count, gType).getEdges());
+			timeRuns("PRIM", gType, PQType.Pairing.toString(), expectedWeight, reps,
+					() -> g.primMST(gType, PQType.Pairing));
+		}
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * timeRuns()
+	 *
+	 * Checks an algorithm's MST weight, warms it up, then times it and
+	 * prints its row of the table.
+	 *
+	 * @param actionStr - the algorithm being timed.
+	 * @param gType - the graph representation it runs on.
+	 * @param variant - the variant of the algorithm (sort, PQ, ...).
+	 * @param expectedWeight - the weight its MST must have.
+	 * @param reps - the number of timed runs.
+	 * @param algorithm - runs the algorithm once.
+	 */
+	private static void timeRuns(
+			String actionStr,
+			GraphType gType,
+			String variant,
+			long expectedWeight,
+			int reps,
+			Supplier<Edge[]> algorithm)
+	{
+		long weight = totalWeight(algorithm.get());
+		if (weight != expectedWeight)
+			MST.exitWithMessage(String.format(
+					"%s %s %s weight %d differs from %d",
+					actionStr, gType, variant, weight, expectedWeight));
+
+		for (int r = 0; r < WARMUP_RUNS; r++)
+			algorithm.get();
+
+		long start = System.nanoTime();
+		for (int r = 0; r < reps; r++)
+			algorithm.get();
+		double avgMillis = (System.nanoTime() - start) / 1e6 / reps;
+
+		printRow(actionStr, gType, variant, avgMillis);
+	}
+
+
+	/**
+	 * printRow()
+	 *
+	 * Prints one timing line of the benchmark table.
+	 *
+	 * @param actionStr - the algorithm that was timed.
+	 * @param gType - the graph representation it ran on.
+	 * @param variant - the variant of the algorithm (sort, PQ, ...).
+	 * @param avgMillis - average runtime in milliseconds.
+	 */
+	private static void printRow(
+			String actionStr,
+			GraphType gType,
+			String variant,
+			double avgMillis)
+	{
+		System.out.printf("  %-10s %-8s %-10s %12.3f ms\n",
+				actionStr, gType, variant, avgMillis);
+	}
+
+	/**
+	 * totalWeight()
+	 *
+	 * Sums the weights of the given edges.
+	 *
+	 * @param a - the edges to sum.
+	 * @return - the total weight of the edges.
+	 */
+	private static long totalWeight(Edge[] a)
+	{
+		long total = 0;
+		for (int i = 0; i < a.length; i++)
+			total += a[i].getWeight();
+
+		return total;
+	}
+
+}
@@ -0,0 +1,493 @@
+/**
+ * DelaunayTriangulation.java
+ *
+ * The purpose of this class is to find the Delaunay triangulation of a
+ * set of points in the plane, and with it the edges a Euclidean minimum
+ * spanning tree can use: every edge of a Euclidean MST is an edge of
+ * the triangulation, and there are at most 3n of those, against the
+ * n(n - 1) / 2 pairs of points.
+ *
+ * The triangulation is built with the Bowyer-Watson algorithm. The
+ * points are inserted one at a time inside a super triangle that holds
+ * them all. For each point, the triangles whose circumcircle holds it
+ * are removed, and the hole they leave is filled with triangles fanning
+ * out from the point. The triangle a point is in is found by walking
+ * from the last triangle made, and the points are inserted in Hilbert
+ * curve order so that walk is short; the whole build takes about
+ * O(n log n).
+ *
+ * Points in the same place are inserted once; the others are recorded
+ * as duplicates of it.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.*;
+
+public class DelaunayTriangulation {
+
+	// Bits per coordinate of the grid the Hilbert order is taken on.
+	private static final int HILBERT_BITS = 15;
+
+	private int numPoints;
+	private double[] x;
+	private double[] y;
+
+	// Triangle t has corners triV[3t], triV[3t + 1] and triV[3t + 2] in
+	// counterclockwise order, and triN[3t + i] is the triangle across
+	// the side facing corner i (-1 if none). Corners numPoints to
+	// numPoints + 2 are the super triangle's. A free triangle has
+	// triV[3t] = -1.
+	private int[] triV;
+	private int[] triN;
+	private int numSlots = 0;
+	private int[] freeSlots;
+	private int numFreeSlots = 0;
+
+	private int[] duplicateOf;	// Point each point is in the same place as, or -1.
+	private int numDuplicates = 0;
+
+	// Scratch space for insert().
+	private int[] stamp;
+	private int currentStamp = 0;
+	private IntList cavity = new IntList();
+	private IntList boundary = new IntList();
+	private int[] fanByFirst;
+	private int[] fanBySecond;
+	private int lastTriangle = 0;
+
+	/**
+	 * DelaunayTriangulation()
+	 *
+	 * Triangulates the given points.
+	 *
+	 * @param x - the x coordinate of each point.
+	 * @param y - the y coordinate of each point.
+	 */
+	public DelaunayTriangulation(double[] x, double[] y)
+	{
+		if (x.length != y.length)
+			throw new IllegalArgumentException("x and y must be the same length");
+
+		numPoints = x.length;
+
+		// The super triangle's corners go after the points.
+		this.x = Arrays.copyOf(x, numPoints + 3);
+		this.y = Arrays.copyOf(y, numPoints + 3);
+
+		// A triangulation of m points has at most 2m - 5 triangles.
+		int maxTriangles = 2 * (numPoints + 3);
+		triV = new int[3 * maxTriangles];
+		triN = new int[3 * maxTriangles];
+		freeSlots = new int[maxTriangles];
+		stamp = new int[maxTriangles];
+		fanByFirst = new int[numPoints + 3];
+		fanBySecond = new int[numPoints + 3];
+
+		duplicateOf = new int[numPoints];
+		Arrays.fill(duplicateOf, -1);
+
+		if (numPoints > 0)
+		{
+			addSuperTriangle();
+
+			int[] order = hilbertOrder();
+			for (int i = 0; i < numPoints; i++)
+				insert(order[i]);
+		}
+	}
+
+	/**
+	 * getNumPoints()
+	 *
+	 * @return - the number of points.
+	 */
+	public int getNumPoints()
+	{
+		return numPoints;
+	}
+
+	/**
+	 * getDuplicateOf()
+	 *
+	 * @param i - a point.
+	 * @return - the point i is in the same place as, which is in the
+	 * 			 triangulation in its place, or -1 if i is in it itself.
+	 */
+	public int getDuplicateOf(int i)
+	{
+		return duplicateOf[i];
+	}
+
+	/**
+	 * getNumDuplicates()
+	 *
+	 * @return - the number of points left out as duplicates.
+	 */
+	public int getNumDuplicates()
+	{
+		return numDuplicates;
+	}
+
+	/**
+	 * getNumTriangles()
+	 *
+	 * @return - the number of triangles between the points, not
+	 * 			 counting those with a corner of the super triangle.
+	 */
+	public int getNumTriangles()
+	{
+		int count = 0;
+		for (int t = 0; t < numSlots; t++)
+		{
+			if (triV[3 * t] != -1 && triV[3 * t] < numPoints
+					&& triV[3 * t + 1] < numPoints && triV[3 * t + 2] < numPoints)
+				count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * getEdges()
+	 *
+	 * Gets each edge of the triangulation once.
+	 *
+	 * @return - the edges as pairs of points: edge k joins result[2k]
+	 * 			 and result[2k + 1], the lower point first.
+	 */
+	public int[] getEdges()
+	{
+		IntList edges = new IntList(6 * numPoints);
+
+		for (int t = 0; t < numSlots; t++)
+		{
+			if (triV[3 * t] == -1)
+				continue;
+
+			for (int i = 0; i < 3; i++)
+			{
+				int a = triV[3 * t + (i + 1) % 3];
+				int b = triV[3 * t + (i + 2) % 3];
+				int across = triN[3 * t + i];
+
+				// Take a side from the lower numbered of its triangles,
+				// and leave out the super triangle's corners.
+				if ((across == -1 || t < across) && a < numPoints && b < numPoints)
+				{
+					edges.add(Math.min(a, b));
+					edges.add(Math.max(a, b));
+				}
+			}
+		}
+
+		return edges.toArray();
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * addSuperTriangle()
+	 *
+	 * Makes the first triangle, with corners far enough out that no
+	 * circle through two points with them on its diameter can hold one.
+	 * Such an edge is in the triangulation of the points either way,
+	 * and every edge of a Euclidean MST is one of them.
+	 */
+	private void addSuperTriangle()
+	{
+		double minX = x[0], maxX = x[0], minY = y[0], maxY = y[0];
+		for (int i = 1; i < numPoints; i++)
+		{
+			minX = Math.min(minX, x[i]);
+			maxX = Math.max(maxX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+
+		double cx = (minX + maxX) / 2;
+		double cy = (minY + maxY) / 2;
+		double r = 4 * Math.max(Math.hypot(maxX - minX, maxY - minY), 1);
+
+		// An equilateral triangle around the center, counterclockwise.
+		for (int k = 0; k < 3; k++)
+		{
+			double angle = Math.PI / 2 + k * 2 * Math.PI / 3;
+			x[numPoints + k] = cx + r * Math.cos(angle);
+			y[numPoints + k] = cy + r * Math.sin(angle);
+		}
+
+		lastTriangle = newTriangle(numPoints, numPoints + 1, numPoints + 2);
+		triN[0] = triN[1] = triN[2] = -1;
+	}
+
+	/**
+	 * insert()
+	 *
+	 * Adds point p: removes the triangles whose circumcircle holds it,
+	 * and fills the hole with triangles from p to its edge.
+	 */
+	private void insert(int p)
+	{
+		int t = locate(p);
+
+		for (int i = 0; i < 3; i++)
+		{
+			int q = triV[3 * t + i];
+			if (x[q] == x[p] && y[q] == y[p])
+			{
+				duplicateOf[p] = q;
+				numDuplicates++;
+				return;
+			}
+		}
+
+		// Find the hole, and the sides around it: (a, b, the triangle
+		// across). p is inside t, so t's circumcircle holds it.
+		currentStamp++;
+		cavity.clear();
+		boundary.clear();
+		stamp[t] = currentStamp;
+		cavity.add(t);
+
+		for (int k = 0; k < cavity.size(); k++)
+		{
+			int bad = cavity.get(k);
+
+			for (int i = 0; i < 3; i++)
+			{
+				int across = triN[3 * bad + i];
+				if (across != -1 && stamp[across] == currentStamp)
+					continue;
+
+				if (across != -1 && inCircumcircle(across, p))
+				{
+					stamp[across] = currentStamp;
+					cavity.add(across);
+				}
+				else
+				{
+					boundary.add(triV[3 * bad + (i + 1) % 3]);
+					boundary.add(triV[3 * bad + (i + 2) % 3]);
+					boundary.add(across);
+				}
+			}
+		}
+
+		for (int k = 0; k < cavity.size(); k++)
+			freeTriangle(cavity.get(k));
+
+		// Fan out from p: the triangle (p, a, b) faces the triangle across
+		// a-b, and shares its sides p-a and b-p with the fan's others.
+		for (int k = 0; k < boundary.size(); k += 3)
+		{
+			int a = boundary.get(k);
+			int b = boundary.get(k + 1);
+			int across = boundary.get(k + 2);
+
+			int fan = newTriangle(p, a, b);
+			triN[3 * fan] = across;
+			fanByFirst[a] = fan;
+			fanBySecond[b] = fan;
+
+			if (across != -1)
+			{
+				for (int j = 0; j < 3; j++)
+				{
+					if (triV[3 * across + (j + 1) % 3] == b
+							&& triV[3 * across + (j + 2) % 3] == a)
+						triN[3 * across + j] = fan;
+				}
+			}
+		}
+
+		for (int k = 0; k < boundary.size(); k += 3)
+		{
+			int a = boundary.get(k);
+			int b = boundary.get(k + 1);
+			int fan = fanByFirst[a];
+
+			triN[3 * fan + 1] = fanByFirst[b];		// Side b-p.
+			triN[3 * fan + 2] = fanBySecond[a];		// Side p-a.
+		}
+
+		lastTriangle = fanByFirst[boundary.get(0)];
+	}
+
+	/**
+	 * locate()
+	 *
+	 * Finds a triangle holding point p, by walking from the last
+	 * triangle made toward p, crossing any side p is beyond. The walk
+	 * can't loop in a Delaunay triangulation, but in case rounding
+	 * makes it, every triangle is checked after too many steps.
+	 */
+	private int locate(int p)
+	{
+		int t = lastTriangle;
+		int maxSteps = numSlots + 1;
+
+		for (int steps = 0; steps < maxSteps; steps++)
+		{
+			int next = -1;
+			for (int i = 0; i < 3 && next == -1; i++)
+			{
+				int a = triV[3 * t + (i + 1) % 3];
+				int b = triV[3 * t + (i + 2) % 3];
+				if (orient(a, b, p) < 0)
+					next = triN[3 * t + i];
+			}
+
+			if (next == -1)
+				return t;
+
+			t = next;
+		}
+
+		for (t = 0; t < numSlots; t++)
+		{
+			if (triV[3 * t] != -1
+					&& orient(triV[3 * t], triV[3 * t + 1], p) >= 0
+					&& orient(triV[3 * t + 1], triV[3 * t + 2], p) >= 0
+					&& orient(triV[3 * t + 2], triV[3 * t], p) >= 0)
+				return t;
+		}
+
+		throw new IllegalStateException("Point " + p + " is outside the triangulation");
+	}
+
+	/**
+	 * orient()
+	 *
+	 * @return - positive if p is left of the line from a to b, negative
+	 * 			 if right, and 0 if on it.
+	 */
+	private double orient(int a, int b, int p)
+	{
+		return (x[b] - x[a]) * (y[p] - y[a]) - (y[b] - y[a]) * (x[p] - x[a]);
+	}
+
+	/**
+	 * inCircumcircle()
+	 *
+	 * @return - true if point p is strictly inside triangle t's
+	 * 			 circumcircle.
+	 */
+	private boolean inCircumcircle(int t, int p)
+	{
+		int a = triV[3 * t];
+		int b = triV[3 * t + 1];
+		int c = triV[3 * t + 2];
+
+		double adx = x[a] - x[p], ady = y[a] - y[p];
+		double bdx = x[b] - x[p], bdy = y[b] - y[p];
+		double cdx = x[c] - x[p], cdy = y[c] - y[p];
+
+		double det = (adx * adx + ady * ady) * (bdx * cdy - cdx * bdy)
+				+ (bdx * bdx + bdy * bdy) * (cdx * ady - adx * cdy)
+				+ (cdx * cdx + cdy * cdy) * (adx * bdy - bdx * ady);
+
+		return det > 0;
+	}
+
+	/**
+	 * newTriangle()
+	 *
+	 * @return - a triangle with the given corners, reusing a free one
+	 * 			 if there is one. Its neighbors are not set.
+	 */
+	private int newTriangle(int a, int b, int c)
+	{
+		int t = (numFreeSlots > 0) ? freeSlots[--numFreeSlots] : numSlots++;
+
+		triV[3 * t] = a;
+		triV[3 * t + 1] = b;
+		triV[3 * t + 2] = c;
+
+		return t;
+	}
+
+	/**
+	 * freeTriangle()
+	 */
+	private void freeTriangle(int t)
+	{
+		triV[3 * t] = -1;
+		freeSlots[numFreeSlots++] = t;
+	}
+
+	/**
+	 * hilbertOrder()
+	 *
+	 * @return - the points in the order a Hilbert curve through their
+	 * 			 bounding box passes them.
+	 */
+	private int[] hilbertOrder()
+	{
+		double minX = x[0], maxX = x[0], minY = y[0], maxY = y[0];
+		for (int i = 1; i < numPoints; i++)
+		{
+			minX = Math.min(minX, x[i]);
+			maxX = Math.max(maxX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+
+		int side = 1 << HILBERT_BITS;
+		double scale = (side - 1) / Math.max(Math.max(maxX - minX, maxY - minY), Double.MIN_NORMAL);
+
+		// The curve position goes in the high bits and the point in the
+		// low ones, so sorting the keys sorts the points.
+		long[] keys = new long[numPoints];
+		for (int i = 0; i < numPoints; i++)
+		{
+			int hx = (int) ((x[i] - minX) * scale);
+			int hy = (int) ((y[i] - minY) * scale);
+			keys[i] = ((long) hilbertIndex(side, hx, hy) << 32) | i;
+		}
+		Arrays.sort(keys);
+
+		int[] order = new int[numPoints];
+		for (int i = 0; i < numPoints; i++)
+			order[i] = (int) keys[i];
+
+		return order;
+	}
+
+	/**
+	 * hilbertIndex()
+	 *
+	 * @param side - the side of the grid, a power of 2.
+	 * @return - how far along the Hilbert curve through the grid the
+	 * 			 cell (hx, hy) is.
+	 */
+	private static int hilbertIndex(int side, int hx, int hy)
+	{
+		int d = 0;
+
+		for (int s = side / 2; s > 0; s /= 2)
+		{
+			int rx = ((hx & s) > 0) ? 1 : 0;
+			int ry = ((hy & s) > 0) ? 1 : 0;
+			d += s * s * ((3 * rx) ^ ry);
+
+			// Rotate the quadrant so the curve inside it runs the right way.
+			if (ry == 0)
+			{
+				if (rx == 1)
+				{
+					hx = side - 1 - hx;
+					hy = side - 1 - hy;
+				}
+
+				int t = hx;
+				hx = hy;
+				hy = t;
+			}
+		}
+
+		return d;
+	}
+
+}
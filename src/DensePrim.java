@@ -0,0 +1,118 @@
+/**
+ * DensePrim.java
+ *
+ * The purpose of this class is to run the array version of Prim's
+ * algorithm straight off an adjacency matrix. With no priority queue
+ * it is O(n^2) whatever the number of edges, so it is the one to use
+ * on dense graphs. Each of its n steps is two scans over int arrays:
+ * relax the keys with the row of the vertex just added, then find the
+ * smallest key. Both are done by a PrimKernel, which may use SIMD
+ * instructions (see VectorPrimKernel).
+ *
+ * If the graph isn't connected, a vertex no tree edge reaches starts a
+ * new tree, and the result is a minimum spanning forest.
+ *
+ * Weights must be from 1 to Integer.MAX_VALUE - 1.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.Arrays;
+
+public class DensePrim {
+
+	private int[][] matrix;
+	private PrimKernel kernel;
+
+	/**
+	 * DensePrim()
+	 *
+	 * Uses the fastest kernel available.
+	 *
+	 * @param matrix - a symmetric adjacency matrix, 0 for no edge.
+	 */
+	public DensePrim(int[][] matrix)
+	{
+		this(matrix, PrimKernel.getDefault());
+	}
+
+	/**
+	 * DensePrim()
+	 *
+	 * @param matrix - a symmetric adjacency matrix, 0 for no edge.
+	 * @param kernel - the relax and argmin kernels to use.
+	 */
+	public DensePrim(int[][] matrix, PrimKernel kernel)
+	{
+		this.matrix = matrix;
+		this.kernel = kernel;
+	}
+
+	/**
+	 * run()
+	 *
+	 * Runs Prim's algorithm from Vertex 0.
+	 *
+	 * @param parent - filled with the parent of each vertex in the
+	 * 				   forest, or -1 for the root of each tree.
+	 * @param weight - filled with the weight of the edge from each
+	 * 				   vertex to its parent.
+	 */
+	public void run(int[] parent, int[] weight)
+	{
+		int n = matrix.length;
+
+		int[] key = new int[n];
+		Arrays.fill(key, Integer.MAX_VALUE);
+		Arrays.fill(parent, -1);
+		key[0] = 0;
+
+		for (int step = 0; step < n; step++)
+		{
+			int u = kernel.argMin(key);
+
+			// A key still at MAX_VALUE means u starts a new tree.
+			weight[u] = (key[u] == Integer.MAX_VALUE) ? 0 : key[u];
+			key[u] = PrimKernel.IN_TREE;
+
+			kernel.relax(matrix[u], key, parent, u);
+		}
+	}
+
+	/**
+	 * getKernel()
+	 *
+	 * @return - the kernel this runs with.
+	 */
+	public PrimKernel getKernel()
+	{
+		return kernel;
+	}
+
+	/**
+	 * randomMatrix()
+	 *
+	 * Builds just the adjacency matrix of the graph Graph(n, seed, p)
+	 * would generate, from the same random streams, without the Vertex
+	 * objects and adjacency list. A complete graph of 30000 vertices
+	 * is 3.6 GB as a matrix alone.
+	 *
+	 * @param n - number of vertices.
+	 * @param seed - a seed number for generating random numbers.
+	 * @param p - the probability of any two vertices being connected.
+	 * @return - the matrix.
+	 */
+	public static int[][] randomMatrix(int n, long seed, double p)
+	{
+		int[][] matrix = new int[n][n];
+		new ErdosRenyiGenerator().generate(n, seed, p, (u, v, weight) -> {
+			matrix[u][v] = weight;
+			matrix[v][u] = weight;
+			return true;
+		});
+
+		return matrix;
+	}
+
+}
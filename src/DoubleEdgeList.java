@@ -0,0 +1,402 @@
+/**
+ * DoubleEdgeList.java
+ *
+ * The purpose of this class is to hold the edges of a graph with
+ * real weights, such as lengths, and to find its minimum spanning
+ * forest with Kruskal's or Prim's algorithm. It is LongEdgeList for
+ * double weights: edges are kept in parallel primitive arrays, sorted
+ * by (weight, left, right) with a radix sort, and an edge costs 16
+ * bytes. Weights may be any double but NaN.
+ *
+ * Totals are summed with Kahan summation, which carries the rounding
+ * error of each addition into the next, so a total of millions of
+ * weights is as accurate as the weights themselves.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.util.*;
+
+public class DoubleEdgeList {
+
+	private int numVertices;
+	private int numEdges = 0;
+
+	// Edge i joins left[i] and right[i], the lower name on the left.
+	private int[] left;
+	private int[] right;
+	private double[] weight;
+
+	/**
+	 * DoubleEdgeList()
+	 *
+	 * Creates an empty edge list.
+	 *
+	 * @param numVertices - number of vertices; edges must join vertices
+	 * 						from 0 to numVertices - 1.
+	 */
+	public DoubleEdgeList(int numVertices)
+	{
+		this(numVertices, 16);
+	}
+
+	/**
+	 * DoubleEdgeList()
+	 *
+	 * Creates an empty edge list with room for the given number of
+	 * edges.
+	 *
+	 * @param numVertices - number of vertices.
+	 * @param capacity - number of edges to make room for.
+	 */
+	public DoubleEdgeList(int numVertices, int capacity)
+	{
+		if (numVertices < 1)
+			throw new IllegalArgumentException("n must be at least 1");
+
+		this.numVertices = numVertices;
+
+		capacity = Math.max(capacity, 1);
+		left = new int[capacity];
+		right = new int[capacity];
+		weight = new double[capacity];
+	}
+
+	/**
+	 * load()
+	 *
+	 * Reads an edge list in the format Graph.load() reads: the number of
+	 * vertices, then an edge "u v weight" per line, except that weights
+	 * may be any real number. Blank lines and lines starting with # are
+	 * ignored.
+	 *
+	 * @param br - the reader to read the edge list from.
+	 * @return - the edge list.
+	 * @throws IOException - if the edge list can't be read.
+	 * @throws IllegalArgumentException - if the edge list is invalid.
+	 */
+	public static DoubleEdgeList load(BufferedReader br) throws IOException
+	{
+		DoubleEdgeList list = null;
+		int lineNum = 0;
+
+		String line = br.readLine();
+		while (line != null)
+		{
+			lineNum++;
+			line = line.trim();
+
+			if (line.length() > 0 && !line.startsWith("#"))
+			{
+				String[] fields = line.split("\\s+");
+
+				try {
+					if (list == null)
+					{
+						if (fields.length != 1)
+							throw new IllegalArgumentException(String.format(
+									"Line %d: expected the number of vertices", lineNum));
+
+						list = new DoubleEdgeList(Integer.parseInt(fields[0]));
+					}
+					else
+					{
+						if (fields.length != 3)
+							throw new IllegalArgumentException(String.format(
+									"Line %d: expected u v weight", lineNum));
+
+						list.add(
+								Integer.parseInt(fields[0]),
+								Integer.parseInt(fields[1]),
+								Double.parseDouble(fields[2]));
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(String.format(
+							"Line %d: values must be numbers", lineNum));
+				}
+			}
+
+			line = br.readLine();
+		}
+
+		if (list == null)
+			throw new IllegalArgumentException("Edge list is empty");
+
+		return list;
+	}
+
+	/**
+	 * add()
+	 *
+	 * Adds an edge.
+	 *
+	 * @param u - one vertex of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param w - the weight of the edge.
+	 */
+	public void add(int u, int v, double w)
+	{
+		if (u < 0 || u >= numVertices || v < 0 || v >= numVertices)
+			throw new IllegalArgumentException(
+					"Edge (" + u + ", " + v + ") has a vertex outside 0 to "
+					+ (numVertices - 1));
+
+		if (Double.isNaN(w))
+			throw new IllegalArgumentException(
+					"Edge (" + u + ", " + v + ") has no weight");
+
+		if (numEdges == left.length)
+		{
+			int capacity = 2 * numEdges;
+			left = Arrays.copyOf(left, capacity);
+			right = Arrays.copyOf(right, capacity);
+			weight = Arrays.copyOf(weight, capacity);
+		}
+
+		left[numEdges] = Math.min(u, v);
+		right[numEdges] = Math.max(u, v);
+		weight[numEdges] = w;
+		numEdges++;
+	}
+
+	/**
+	 * getNumVertices()
+	 *
+	 * @return - the number of vertices.
+	 */
+	public int getNumVertices()
+	{
+		return numVertices;
+	}
+
+	/**
+	 * size()
+	 *
+	 * @return - the number of edges.
+	 */
+	public int size()
+	{
+		return numEdges;
+	}
+
+	/**
+	 * getLeft()
+	 *
+	 * @param i - an edge from 0 to size() - 1.
+	 * @return - the lower vertex of edge i.
+	 */
+	public int getLeft(int i)
+	{
+		return left[i];
+	}
+
+	/**
+	 * getRight()
+	 *
+	 * @param i - an edge from 0 to size() - 1.
+	 * @return - the higher vertex of edge i.
+	 */
+	public int getRight(int i)
+	{
+		return right[i];
+	}
+
+	/**
+	 * getWeight()
+	 *
+	 * @param i - an edge from 0 to size() - 1.
+	 * @return - the weight of edge i.
+	 */
+	public double getWeight(int i)
+	{
+		return weight[i];
+	}
+
+	/**
+	 * getTotalWeight()
+	 *
+	 * @return - the sum of the weights of the edges, by Kahan
+	 * 			 summation.
+	 */
+	public double getTotalWeight()
+	{
+		double total = 0;
+		double error = 0;	// What the last addition lost to rounding.
+
+		for (int i = 0; i < numEdges; i++)
+		{
+			double w = weight[i] - error;
+			double sum = total + w;
+			error = (sum - total) - w;
+			total = sum;
+		}
+
+		return total;
+	}
+
+	/**
+	 * sort()
+	 *
+	 * Sorts the edges by (weight, left, right).
+	 */
+	public void sort()
+	{
+		long[] keys = new long[numEdges];
+
+		// By the endpoints first, then stably by weight.
+		for (int i = 0; i < numEdges; i++)
+			keys[i] = ((long) left[i] << 32) | right[i];
+		int[] order = RadixSort.sortIndexes(keys, numEdges);
+
+		for (int i = 0; i < numEdges; i++)
+			keys[i] = RadixSort.doubleKey(weight[i]);
+		RadixSort.sortIndexes(keys, order);
+
+		int[] l = new int[left.length];
+		int[] r = new int[right.length];
+		double[] w = new double[weight.length];
+		for (int i = 0; i < numEdges; i++)
+		{
+			l[i] = left[order[i]];
+			r[i] = right[order[i]];
+			w[i] = weight[order[i]];
+		}
+
+		left = l;
+		right = r;
+		weight = w;
+	}
+
+	/**
+	 * kruskalForest()
+	 *
+	 * Finds a minimum spanning forest with Kruskal's algorithm. The
+	 * edges are sorted first, in place.
+	 *
+	 * @return - the edges of the forest, in the order they were added.
+	 */
+	public DoubleEdgeList kruskalForest()
+	{
+		sort();
+
+		DoubleEdgeList forest = new DoubleEdgeList(numVertices, numVertices - 1);
+
+		int[] partition = new int[numVertices];
+		for (int i = 0; i < numVertices; i++)
+			partition[i] = i;
+
+		for (int i = 0; i < numEdges && forest.size() < numVertices - 1; i++)
+		{
+			int root1 = find(left[i], partition);
+			int root2 = find(right[i], partition);
+
+			if (root1 != root2)
+			{
+				partition[root1] = root2;
+				forest.add(left[i], right[i], weight[i]);
+			}
+		}
+
+		return forest;
+	}
+
+	/**
+	 * primForest()
+	 *
+	 * Finds a minimum spanning forest with Prim's algorithm, growing a
+	 * tree from each vertex not yet reached in turn.
+	 *
+	 * @return - the edges of the forest, each from the tree to the
+	 * 			 vertex it reached, in the order they were added.
+	 */
+	public DoubleEdgeList primForest()
+	{
+		// Index the edges by vertex: vertex u's are
+		// adjEdge[adjStart[u]] up to adjEdge[adjStart[u + 1]].
+		int[] adjStart = new int[numVertices + 1];
+		for (int i = 0; i < numEdges; i++)
+		{
+			adjStart[left[i] + 1]++;
+			adjStart[right[i] + 1]++;
+		}
+		for (int u = 0; u < numVertices; u++)
+			adjStart[u + 1] += adjStart[u];
+
+		int[] next = Arrays.copyOf(adjStart, numVertices);
+		int[] adjEdge = new int[2 * numEdges];
+		for (int i = 0; i < numEdges; i++)
+		{
+			adjEdge[next[left[i]]++] = i;
+			adjEdge[next[right[i]]++] = i;
+		}
+
+		DoubleEdgeList forest = new DoubleEdgeList(numVertices, numVertices - 1);
+		DoubleIndexMinPQ pq = new DoubleIndexMinPQ(numVertices);
+		int[] parentEdge = new int[numVertices];
+		boolean[] inTree = new boolean[numVertices];
+
+		for (int root = 0; root < numVertices; root++)
+		{
+			if (inTree[root])
+				continue;
+
+			pq.insert(root, 0);
+			parentEdge[root] = -1;
+
+			while (!pq.isEmpty())
+			{
+				int u = pq.deleteMin();
+				inTree[u] = true;
+
+				if (parentEdge[u] != -1)
+				{
+					int e = parentEdge[u];
+					forest.add(left[e], right[e], weight[e]);
+				}
+
+				for (int k = adjStart[u]; k < adjStart[u + 1]; k++)
+				{
+					int e = adjEdge[k];
+					int v = left[e] ^ right[e] ^ u;
+
+					if (inTree[v])
+						continue;
+
+					if (!pq.contains(v))
+					{
+						pq.insert(v, weight[e]);
+						parentEdge[v] = e;
+					}
+					else if (weight[e] < pq.getKey(v))
+					{
+						pq.decreaseKey(v, weight[e]);
+						parentEdge[v] = e;
+					}
+				}
+			}
+		}
+
+		return forest;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+}
@@ -0,0 +1,1043 @@
+/**
+ * DynamicMST.java
+ *
+ * The purpose of this class is to keep a minimum spanning tree (or
+ * forest) up to date as edges are added to, removed from and reweighted
+ * in the graph, without recomputing it.
+ *
+ * Adding an edge is cheap: it closes a cycle with the tree path between
+ * its endpoints, and it replaces the heaviest edge on that path if it
+ * is lighter, which a link-cut tree finds in O(log n). Removing a tree
+ * edge is not: its replacement is the lightest edge across the cut it
+ * leaves, and finding it means looking at the edges on one side.
+ *
+ * So the edges are sparsified (Eppstein, Galil, Italiano and
+ * Nissenzweig): they are split into groups of at most n, which are the
+ * leaves of a balanced binary tree, and every node of the tree keeps a
+ * Certificate, the minimum spanning forest of the edges below it. A
+ * leaf's is the MSF of its group, an inner node's is the MSF of its
+ * children's certificates, and the root's is the MST. An update changes
+ * one leaf, and a certificate changes by at most an edge in and an edge
+ * out, which is all that is passed up to the parent.
+ *
+ * A certificate keeps its graph's edges by vertex. When a tree edge is
+ * cut, it searches the forest from both ends of the edge at once, an
+ * edge at a time, until one side has been searched whole, and takes the
+ * lightest edge leaving that side. That costs O(d), where d is the
+ * number of edges at the smaller side's vertices, which is at most
+ * 2(n - 1). So removing or reweighting an edge costs O(n log(m / n)) at
+ * worst, and adding one O(log n log(m / n)). That is not the
+ * polylogarithmic bound of Holm, de Lichtenberg and Thorup; it is
+ * usually far less, since the side cut off is usually small.
+ *
+ * Measured with Benchmark -dynamic on G(n, p), changing the weights of
+ * random tree edges, against lazy Prim's algorithm from scratch:
+ *
+ *     n      p      edges    build     Prim      change
+ *     100    0.05   250      2.3 ms    0.04 ms   0.015 ms
+ *     2000   0.01   20000    59 ms     3.9 ms    0.07 ms
+ *     4000   0.05   400000   0.9 s     10 ms     0.05 ms
+ *
+ * So a change costs a few percent of recomputing once there are a few
+ * thousand edges, but building costs 15 to 100 recomputations, and the
+ * structure only pays for itself over at least that many changes.
+ *
+ * Edges are ordered by weight and then by id, so every certificate is
+ * the one MSF of its edges, and they all agree on which edges are in.
+ * The graph may not have parallel edges, so edges are named by their
+ * endpoints.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.*;
+
+public class DynamicMST {
+
+	private final int NOT_HELD = -1;
+
+	private int numVertices;
+	private int groupSize;
+
+	// Edges by id. Ids of removed edges are reused.
+	private int[] edgeU;
+	private int[] edgeV;
+	private int[] edgeW;
+	private Certificate[] edgeGroup;	// The leaf holding the edge.
+	private int[] freeIds;
+	private int numFreeIds = 0;
+	private int numIds = 0;
+	private HashMap<Long, Integer> idByEnds = new HashMap<Long, Integer>();
+
+	// Where an edge is in the certificate at height h: place[id][3h] is
+	// its forest slot, and place[id][3h + 1] and place[id][3h + 2] are
+	// its places among the edges of its endpoints, or NOT_HELD.
+	private int[][] place;
+
+	// The sparsification tree. Its leaves are at depth height, and
+	// openLeaves are those with room for another edge.
+	private Certificate root;
+	private int height = 0;
+	private int numLeaves = 0;
+	private ArrayList<Certificate> openLeaves = new ArrayList<Certificate>();
+
+	// Work space for the certificates' searches for replacements: a
+	// queue and a mark for each side of the cut.
+	private int[] mark;
+	private int markStamp = 0;
+	private int[] cursor;	// Next edge of a queued vertex to look at.
+	private int[][] queue = new int[2][];
+	private int[] queueHead = new int[2];
+	private int[] queueTail = new int[2];
+	private int[] sideMark = new int[2];
+
+	/**
+	 * DynamicMST()
+	 *
+	 * Builds the structure from a computed MST (e.g. the result of
+	 * kruskalMST() or primMST()). Only the tree's edges are known, so
+	 * removing one of them can only be repaired with edges inserted
+	 * since; use DynamicMST(Graph, Edge[]) to know every edge.
+	 *
+	 * @param numVertices - number of vertices in the graph.
+	 * @param mst - the edges of the MST.
+	 */
+	public DynamicMST(int numVertices, Edge[] mst)
+	{
+		this.numVertices = numVertices;
+		this.groupSize = Math.max(numVertices, 2);
+
+		mark = new int[numVertices];
+		cursor = new int[numVertices];
+		queue[0] = new int[numVertices];
+		queue[1] = new int[numVertices];
+
+		root = new Certificate(null, 0);
+		openLeaves.add(root);
+		numLeaves = 1;
+
+		int capacity = Math.max(mst.length, 16);
+		edgeU = new int[capacity];
+		edgeV = new int[capacity];
+		edgeW = new int[capacity];
+		edgeGroup = new Certificate[capacity];
+		place = new int[capacity][];
+		freeIds = new int[capacity];
+
+		for (int i = 0; i < mst.length; i++)
+		{
+			if (!insertEdge(
+					mst[i].getLeftName(),
+					mst[i].getRightName(),
+					mst[i].getWeight()))
+				throw new IllegalArgumentException("The edges contain a cycle.");
+		}
+	}
+
+	/**
+	 * DynamicMST()
+	 *
+	 * Builds the structure from a graph and its computed MST. Every
+	 * edge is known from the start, so the leaves are filled and each
+	 * certificate is built once, bottom up, rather than passing each
+	 * edge up the tree on its own.
+	 *
+	 * @param g - the graph.
+	 * @param mst - the edges of the MST of g.
+	 */
+	public DynamicMST(Graph g, Edge[] mst)
+	{
+		this(g.getNumVertices(), new Edge[0]);
+
+		// The MST's edges must be a forest.
+		int[] partition = new int[numVertices];
+		for (int i = 0; i < numVertices; i++)
+			partition[i] = i;
+
+		for (int i = 0; i < mst.length; i++)
+		{
+			int u = mst[i].getLeftName();
+			int v = mst[i].getRightName();
+			checkVertex(u);
+			checkVertex(v);
+
+			int root1 = find(u, partition);
+			int root2 = find(v, partition);
+			if (root1 == root2)
+				throw new IllegalArgumentException("The edges contain a cycle.");
+			partition[root1] = root2;
+
+			newId(u, v, mst[i].getWeight());
+		}
+
+		for (int u = 0; u < numVertices; u++)
+		{
+			for (int i = 0; i < g.getDegree(u); i++)
+			{
+				int v = g.getNeighbor(u, i);
+				if (u < v && !idByEnds.containsKey(ends(u, v)))
+					newId(u, v, g.getNeighborWeight(u, i));
+			}
+		}
+
+		load();
+	}
+
+	/**
+	 * insertEdge()
+	 *
+	 * Adds an edge to the graph and updates the MST. If u and v are
+	 * already connected, the edge joins the tree only if it is lighter
+	 * than the heaviest edge on the tree path from u to v, which it
+	 * then replaces.
+	 *
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge.
+	 * @return - true if the edge joined the MST.
+	 */
+	public boolean insertEdge(int u, int v, int weight)
+	{
+		checkVertex(u);
+		checkVertex(v);
+
+		if (u == v)
+			return false;
+
+		if (idByEnds.containsKey(ends(u, v)))
+			throw new IllegalArgumentException(String.format(
+					"Edge %d %d is already in the graph.", u, v));
+
+		int id = newId(u, v, weight);
+
+		Certificate leaf = openLeaf();
+		leaf.size++;
+		if (leaf.size == groupSize)
+			openLeaves.remove(openLeaves.size() - 1);
+		edgeGroup[id] = leaf;
+
+		update(leaf, id, true);
+
+		return root.isTree(id);
+	}
+
+	/**
+	 * deleteEdge()
+	 *
+	 * Removes an edge from the graph. If it was in the MST, it is
+	 * replaced by the lightest non-tree edge reconnecting the tree, if
+	 * there is one.
+	 *
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @return - true if the edge was in the MST.
+	 */
+	public boolean deleteEdge(int u, int v)
+	{
+		int id = getId(u, v);
+		boolean wasTreeEdge = root.isTree(id);
+		Certificate leaf = edgeGroup[id];
+
+		update(leaf, id, false);
+
+		if (leaf.size == groupSize)
+			openLeaves.add(leaf);
+		leaf.size--;
+
+		edgeGroup[id] = null;
+		idByEnds.remove(ends(u, v));
+		freeIds[numFreeIds++] = id;
+
+		return wasTreeEdge;
+	}
+
+	/**
+	 * changeWeight()
+	 *
+	 * Changes the weight of an edge and updates the MST.
+	 *
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the new weight of the edge.
+	 * @return - true if the edge is in the MST afterwards.
+	 */
+	public boolean changeWeight(int u, int v, int weight)
+	{
+		int id = getId(u, v);
+		Certificate leaf = edgeGroup[id];
+
+		// A tree edge is in every certificate from its leaf up, and
+		// made lighter it stays in all of them.
+		if (root.isTree(id) && weight <= edgeW[id])
+		{
+			int oldWeight = edgeW[id];
+			edgeW[id] = weight;
+
+			for (Certificate c = leaf; c != null; c = c.parent)
+				c.reweight(id, oldWeight);
+
+			return true;
+		}
+
+		// Otherwise take the edge out and put it back with its new
+		// weight, which finds a replacement or the cycle it closes.
+		update(leaf, id, false);
+		edgeW[id] = weight;
+		update(leaf, id, true);
+
+		return root.isTree(id);
+	}
+
+	/**
+	 * isTreeEdge()
+	 *
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @return - true if the edge is in the MST.
+	 */
+	public boolean isTreeEdge(int u, int v)
+	{
+		return root.isTree(getId(u, v));
+	}
+
+	/**
+	 * getTotalWeight()
+	 *
+	 * @return - the total weight of the current MST.
+	 */
+	public long getTotalWeight()
+	{
+		return root.totalWeight;
+	}
+
+	/**
+	 * getNumTreeEdges()
+	 *
+	 * @return - the number of edges in the current MST.
+	 */
+	public int getNumTreeEdges()
+	{
+		return root.numTreeEdges;
+	}
+
+	/**
+	 * getNumEdges()
+	 *
+	 * @return - the number of edges in the graph.
+	 */
+	public int getNumEdges()
+	{
+		return idByEnds.size();
+	}
+
+	/**
+	 * getEdges()
+	 *
+	 * Materializes the current MST.
+	 *
+	 * @return - the edges of the current MST, lower vertex name on the left.
+	 */
+	public Edge[] getEdges()
+	{
+		int[] ids = root.getForest();
+		Arrays.sort(ids);
+
+		Edge[] edges = new Edge[ids.length];
+		for (int k = 0; k < ids.length; k++)
+		{
+			int id = ids[k];
+			edges[k] = new Edge(
+					Math.min(edgeU[id], edgeV[id]),
+					Math.max(edgeU[id], edgeV[id]),
+					edgeW[id]);
+		}
+
+		return edges;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * update()
+	 *
+	 * Inserts an edge into, or deletes it from, the graph of a leaf,
+	 * then passes the changes to each certificate up to the root.
+	 *
+	 * @param leaf - the leaf holding the edge.
+	 * @param id - the id of the edge.
+	 * @param insert - true to insert the edge, false to delete it.
+	 */
+	private void update(Certificate leaf, int id, boolean insert)
+	{
+		if (insert)
+			leaf.insert(id);
+		else
+			leaf.delete(id);
+
+		for (Certificate c = leaf; c != null && c.numChanged > 0; c = c.parent)
+			c.passUp();
+	}
+
+	/**
+	 * load()
+	 *
+	 * Puts every recorded edge into the empty tree: fills the leaves in
+	 * turn, each on its own, then builds each inner certificate from its
+	 * children's.
+	 */
+	private void load()
+	{
+		while ((long) numLeaves * groupSize < numIds)
+			addLeaf();
+
+		int id = 0;
+		for (int i = openLeaves.size() - 1; i >= 0 && id < numIds; i--)
+		{
+			Certificate leaf = openLeaves.get(i);
+
+			for (; leaf.size < groupSize && id < numIds; id++)
+			{
+				leaf.size++;
+				edgeGroup[id] = leaf;
+				leaf.insert(id);
+			}
+
+			leaf.numChanged = 0;
+			if (leaf.size == groupSize)
+				openLeaves.remove(i);
+		}
+
+		build(root);
+	}
+
+	/**
+	 * build()
+	 *
+	 * Builds the certificates below and at an inner node whose
+	 * leaves are already filled.
+	 *
+	 * @param c - the node.
+	 */
+	private void build(Certificate c)
+	{
+		if (c.height == 0)
+			return;
+
+		Certificate[] children = { c.left, c.right };
+		for (Certificate child : children)
+		{
+			if (child != null)
+			{
+				build(child);
+
+				for (int id : child.getForest())
+					c.insert(id);
+			}
+		}
+
+		c.numChanged = 0;
+	}
+
+	/**
+	 * openLeaf()
+	 *
+	 * @return - a leaf with room for another edge, adding one if every
+	 * 			 leaf is full.
+	 */
+	private Certificate openLeaf()
+	{
+		if (openLeaves.isEmpty())
+			addLeaf();
+
+		return openLeaves.get(openLeaves.size() - 1);
+	}
+
+	/**
+	 * addLeaf()
+	 *
+	 * Adds an empty leaf to the tree, and to the open leaves.
+	 */
+	private void addLeaf()
+	{
+		// Every leaf place is taken, so put the tree under a new root,
+		// beside an empty one as tall.
+		if (numLeaves == 1 << height)
+		{
+			Certificate oldRoot = root;
+			height++;
+			root = new Certificate(null, height);
+			root.left = oldRoot;
+			oldRoot.parent = root;
+
+			for (int id : oldRoot.getForest())
+				root.insert(id);
+			root.numChanged = 0;
+		}
+
+		// The new leaf's path from the root follows the bits of its
+		// number, highest first.
+		Certificate c = root;
+		for (int bit = height - 1; bit >= 0; bit--)
+		{
+			if ((numLeaves & (1 << bit)) == 0)
+			{
+				if (c.left == null)
+					c.left = new Certificate(c, bit);
+				c = c.left;
+			}
+			else
+			{
+				if (c.right == null)
+					c.right = new Certificate(c, bit);
+				c = c.right;
+			}
+		}
+
+		numLeaves++;
+		openLeaves.add(c);
+	}
+
+	/**
+	 * newId()
+	 *
+	 * Records a new edge, reusing the id of a removed edge if there is
+	 * one and growing the edge arrays if not.
+	 *
+	 * @return - the id of the edge.
+	 */
+	private int newId(int u, int v, int weight)
+	{
+		int id;
+
+		if (numFreeIds > 0)
+			id = freeIds[--numFreeIds];
+		else
+		{
+			if (numIds == edgeU.length)
+			{
+				int capacity = 2 * edgeU.length;
+				edgeU = Arrays.copyOf(edgeU, capacity);
+				edgeV = Arrays.copyOf(edgeV, capacity);
+				edgeW = Arrays.copyOf(edgeW, capacity);
+				edgeGroup = Arrays.copyOf(edgeGroup, capacity);
+				place = Arrays.copyOf(place, capacity);
+				freeIds = Arrays.copyOf(freeIds, capacity);
+			}
+
+			id = numIds++;
+		}
+
+		edgeU[id] = u;
+		edgeV[id] = v;
+		edgeW[id] = weight;
+		place[id] = new int[3 * (height + 1)];
+		Arrays.fill(place[id], NOT_HELD);
+		idByEnds.put(ends(u, v), id);
+
+		return id;
+	}
+
+	/**
+	 * getId()
+	 *
+	 * @return - the id of the edge between u and v.
+	 */
+	private int getId(int u, int v)
+	{
+		Integer id = idByEnds.get(ends(u, v));
+
+		if (id == null)
+			throw new IllegalArgumentException(String.format(
+					"Edge %d %d is not in the graph.", u, v));
+
+		return id;
+	}
+
+	/**
+	 * key()
+	 *
+	 * @return - the key ordering an edge by weight, then id.
+	 */
+	private long key(int id)
+	{
+		return ((long) edgeW[id] << 32) | id;
+	}
+
+	/**
+	 * ends()
+	 *
+	 * @return - the endpoints of an edge, packed lower name first.
+	 */
+	private static long ends(int u, int v)
+	{
+		return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+	}
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+	/**
+	 * checkVertex()
+	 *
+	 * @param v - a vertex name that must be in the graph.
+	 */
+	private void checkVertex(int v)
+	{
+		if (v < 0 || v >= numVertices)
+			throw new IllegalArgumentException("Vertex " + v + " is not in the graph.");
+	}
+
+	/**
+	 * A node of the sparsification tree: the minimum spanning forest of
+	 * a graph, either a leaf's group of edges or the union of the
+	 * children's forests. The forest is held in a link-cut tree with a
+	 * node per tree edge, and every edge of the graph is listed at both
+	 * of its endpoints.
+	 */
+	private class Certificate {
+
+		private Certificate parent;
+		private Certificate left;
+		private Certificate right;
+		private int height;		// Levels above the leaves.
+		private int base;		// Where this certificate's places start.
+		private int size = 0;	// Edges in the group, for a leaf.
+
+		// Vertex i is node i; the tree edge in slot s is node numVertices + s.
+		private LinkCutTree lct;
+		private int[] slotEdge;	// The edge in each slot, or NOT_HELD.
+		private int[] freeSlots;
+		private int numFreeSlots = 0;
+		private int numTreeEdges = 0;
+		private long totalWeight = 0;
+
+		// The edges of the graph at each vertex, in and out of the forest.
+		private int[][] incident;
+		private int[] degree;
+
+		// Edges that joined or left the forest in the current update,
+		// and whether each was in it before.
+		private int[] changed = new int[4];
+		private boolean[] wasTree = new boolean[4];
+		private int numChanged = 0;
+
+		/**
+		 * Certificate()
+		 *
+		 * @param parent - the parent node, or null for the root.
+		 * @param height - the number of levels above the leaves.
+		 */
+		private Certificate(Certificate parent, int height)
+		{
+			this.parent = parent;
+			this.height = height;
+			this.base = 3 * height;
+
+			int slots = Math.max(numVertices - 1, 1);
+			lct = new LinkCutTree(numVertices + slots);
+			slotEdge = new int[slots];
+			Arrays.fill(slotEdge, NOT_HELD);
+
+			freeSlots = new int[slots];
+			for (int s = slots - 1; s >= 0; s--)
+				freeSlots[numFreeSlots++] = s;
+
+			incident = new int[numVertices][];
+			degree = new int[numVertices];
+		}
+
+		/**
+		 * isTree()
+		 *
+		 * @param id - the id of an edge.
+		 * @return - true if the edge is in this forest.
+		 */
+		private boolean isTree(int id)
+		{
+			int[] p = place[id];
+			return base < p.length && p[base] != NOT_HELD;
+		}
+
+		/**
+		 * getForest()
+		 *
+		 * @return - the ids of the edges in this forest.
+		 */
+		private int[] getForest()
+		{
+			int[] ids = new int[numTreeEdges];
+			int k = 0;
+
+			for (int s = 0; s < slotEdge.length; s++)
+			{
+				if (slotEdge[s] != NOT_HELD)
+					ids[k++] = slotEdge[s];
+			}
+
+			return ids;
+		}
+
+		/**
+		 * insert()
+		 *
+		 * Adds an edge to the graph. If it closes a cycle in the forest,
+		 * the heaviest edge on the cycle leaves the forest, or stays out
+		 * if that is the new edge.
+		 *
+		 * @param id - the id of the edge.
+		 */
+		private void insert(int id)
+		{
+			int u = edgeU[id];
+			int v = edgeV[id];
+
+			addIncident(id);
+
+			if (lct.connected(u, v))
+			{
+				int heaviest = lct.pathMax(u, v);
+
+				if (key(id) > lct.getKey(heaviest))
+					return;
+
+				// The replaced edge stays in the graph, out of the forest.
+				removeTreeEdge(slotEdge[heaviest - numVertices]);
+			}
+
+			addTreeEdge(id);
+		}
+
+		/**
+		 * delete()
+		 *
+		 * Removes an edge from the graph. If it was in the forest, the
+		 * lightest edge reconnecting the forest replaces it.
+		 *
+		 * @param id - the id of the edge.
+		 */
+		private void delete(int id)
+		{
+			removeIncident(id);
+
+			if (!isTree(id))
+				return;
+
+			removeTreeEdge(id);
+
+			int replacement = findReplacement(edgeU[id], edgeV[id]);
+			if (replacement != NOT_HELD)
+				addTreeEdge(replacement);
+		}
+
+		/**
+		 * reweight()
+		 *
+		 * Updates the key of a tree edge whose weight was lowered.
+		 *
+		 * @param id - the id of the edge.
+		 * @param oldWeight - the weight of the edge before.
+		 */
+		private void reweight(int id, int oldWeight)
+		{
+			lct.setKey(numVertices + place[id][base], key(id));
+			totalWeight += edgeW[id] - oldWeight;
+		}
+
+		/**
+		 * passUp()
+		 *
+		 * Passes the edges that joined and left the forest in the
+		 * current update to the parent's graph, and forgets them. The
+		 * edges that joined go first, so an edge that one of them
+		 * replaced is usually swapped out of the parent's forest by
+		 * the insertion, before its deletion would need a search.
+		 */
+		private void passUp()
+		{
+			if (parent != null)
+			{
+				for (int i = 0; i < numChanged; i++)
+				{
+					if (!wasTree[i] && isTree(changed[i]))
+						parent.insert(changed[i]);
+				}
+
+				for (int i = 0; i < numChanged; i++)
+				{
+					if (wasTree[i] && !isTree(changed[i]))
+						parent.delete(changed[i]);
+				}
+			}
+
+			numChanged = 0;
+		}
+
+		/**
+		 * findReplacement()
+		 *
+		 * Searches the forest from both ends of a tree edge just cut,
+		 * taking a step on each side in turn, until one side has been
+		 * searched whole. Every other edge at that side's vertices
+		 * either stays inside it or crosses the cut.
+		 *
+		 * @param u - one end of the cut edge.
+		 * @param v - the other end of the cut edge.
+		 * @return - the lightest edge across the cut, or NOT_HELD.
+		 */
+		private int findReplacement(int u, int v)
+		{
+			if (markStamp > Integer.MAX_VALUE - 2)
+			{
+				Arrays.fill(mark, 0);
+				markStamp = 0;
+			}
+
+			start(0, u);
+			start(1, v);
+
+			int side = 0;
+			while (true)
+			{
+				if (!step(0))
+				{
+					side = 0;
+					break;
+				}
+
+				if (!step(1))
+				{
+					side = 1;
+					break;
+				}
+			}
+
+			int best = NOT_HELD;
+			for (int i = 0; i < queueTail[side]; i++)
+			{
+				int x = queue[side][i];
+
+				for (int k = 0; k < degree[x]; k++)
+				{
+					int id = incident[x][k];
+					int y = edgeU[id] ^ edgeV[id] ^ x;
+
+					if (mark[y] != sideMark[side] && !isTree(id)
+							&& (best == NOT_HELD || key(id) < key(best)))
+						best = id;
+				}
+			}
+
+			return best;
+		}
+
+		/**
+		 * start()
+		 *
+		 * Starts the search of one side of the cut.
+		 *
+		 * @param side - 0 or 1.
+		 * @param x - the vertex to search from.
+		 */
+		private void start(int side, int x)
+		{
+			sideMark[side] = ++markStamp;
+			mark[x] = markStamp;
+			cursor[x] = 0;
+			queue[side][0] = x;
+			queueHead[side] = 0;
+			queueTail[side] = 1;
+		}
+
+		/**
+		 * step()
+		 *
+		 * Looks at the next edge of one side's search, queueing the
+		 * vertex at its other end if it is a tree edge to a new vertex.
+		 *
+		 * @param side - 0 or 1.
+		 * @return - false if the side had already been searched whole.
+		 */
+		private boolean step(int side)
+		{
+			if (queueHead[side] == queueTail[side])
+				return false;
+
+			int x = queue[side][queueHead[side]];
+			if (cursor[x] == degree[x])
+			{
+				queueHead[side]++;
+				return true;
+			}
+
+			int id = incident[x][cursor[x]++];
+			int y = edgeU[id] ^ edgeV[id] ^ x;
+
+			if (mark[y] != sideMark[side] && isTree(id))
+			{
+				mark[y] = sideMark[side];
+				cursor[y] = 0;
+				queue[side][queueTail[side]++] = y;
+			}
+
+			return true;
+		}
+
+		/**
+		 * addIncident()
+		 *
+		 * Lists an edge at both of its endpoints.
+		 */
+		private void addIncident(int id)
+		{
+			int[] p = place[id];
+			if (base >= p.length)
+			{
+				int old = p.length;
+				p = Arrays.copyOf(p, base + 3);
+				Arrays.fill(p, old, p.length, NOT_HELD);
+				place[id] = p;
+			}
+
+			p[base + 1] = append(edgeU[id], id);
+			p[base + 2] = append(edgeV[id], id);
+		}
+
+		/**
+		 * append()
+		 *
+		 * @return - where the edge was put among x's edges.
+		 */
+		private int append(int x, int id)
+		{
+			if (incident[x] == null)
+				incident[x] = new int[4];
+			else if (degree[x] == incident[x].length)
+				incident[x] = Arrays.copyOf(incident[x], 2 * degree[x]);
+
+			incident[x][degree[x]] = id;
+			return degree[x]++;
+		}
+
+		/**
+		 * removeIncident()
+		 *
+		 * Takes an edge off the lists of both of its endpoints.
+		 */
+		private void removeIncident(int id)
+		{
+			int[] p = place[id];
+
+			detach(edgeU[id], p[base + 1]);
+			detach(edgeV[id], p[base + 2]);
+
+			p[base + 1] = NOT_HELD;
+			p[base + 2] = NOT_HELD;
+		}
+
+		/**
+		 * detach()
+		 *
+		 * Removes the edge at place k among x's edges, moving x's last
+		 * edge into its place.
+		 */
+		private void detach(int x, int k)
+		{
+			int last = incident[x][--degree[x]];
+			incident[x][k] = last;
+
+			if (edgeU[last] == x)
+				place[last][base + 1] = k;
+			else
+				place[last][base + 2] = k;
+		}
+
+		/**
+		 * addTreeEdge()
+		 *
+		 * Links the endpoints of an edge, which must be in different
+		 * trees, with an edge node in a free slot.
+		 */
+		private void addTreeEdge(int id)
+		{
+			int s = freeSlots[--numFreeSlots];
+			int node = numVertices + s;
+
+			slotEdge[s] = id;
+			place[id][base] = s;
+			record(id, false);
+
+			lct.reset(node, key(id));
+			lct.link(edgeU[id], node);
+			lct.link(node, edgeV[id]);
+
+			totalWeight += edgeW[id];
+			numTreeEdges++;
+		}
+
+		/**
+		 * removeTreeEdge()
+		 *
+		 * Cuts a tree edge out of the link-cut tree and frees its slot.
+		 */
+		private void removeTreeEdge(int id)
+		{
+			int s = place[id][base];
+			int node = numVertices + s;
+
+			slotEdge[s] = NOT_HELD;
+			place[id][base] = NOT_HELD;
+			record(id, true);
+
+			lct.cut(edgeU[id], node);
+			lct.cut(node, edgeV[id]);
+
+			totalWeight -= edgeW[id];
+			numTreeEdges--;
+			freeSlots[numFreeSlots++] = s;
+		}
+
+		/**
+		 * record()
+		 *
+		 * Notes that an edge joined or left the forest, unless it already
+		 * did earlier in the current update.
+		 *
+		 * @param id - the id of the edge.
+		 * @param tree - true if the edge was in the forest before.
+		 */
+		private void record(int id, boolean tree)
+		{
+			for (int i = 0; i < numChanged; i++)
+			{
+				if (changed[i] == id)
+					return;
+			}
+
+			if (numChanged == changed.length)
+			{
+				changed = Arrays.copyOf(changed, 2 * numChanged);
+				wasTree = Arrays.copyOf(wasTree, 2 * numChanged);
+			}
+
+			changed[numChanged] = id;
+			wasTree[numChanged] = tree;
+			numChanged++;
+		}
+
+	}
+
+}
@@ -4,14 +4,19 @@
  * The purpose of this class is to represent an edge between
  * two vertices in a graph.
  * 
+ * The vertices are kept as their names, so comparing and sorting
+ * edges never leaves the Edge itself. The Vertex methods are still
+ * here for callers that want Vertex objects; they make one on demand,
+ * which has the right name but none of the graph's edges.
+ * 
  * @author MikeYeaple
  *
  */
 
 public class Edge {
 
-	private Vertex vLeft;
-	private Vertex vRight;
+	private int left;
+	private int right;
 	private int weight;
 	
 	/**
@@ -21,13 +26,25 @@ public class Edge {
 	 */
 	public Edge() {}
 	
-	public Edge(Vertex vLeft, Vertex vRight, int weight)
+	/**
+	 * Edge()
+	 * 
+	 * @param left - the name of the left vertex.
+	 * @param right - the name of the right vertex.
+	 * @param weight - the weight of the edge.
+	 */
+	public Edge(int left, int right, int weight)
 	{
-		this.vLeft = vLeft;
-		this.vRight = vRight;
+		this.left = left;
+		this.right = right;
 		this.weight = weight;
 	}
 	
+	public Edge(Vertex vLeft, Vertex vRight, int weight)
+	{
+		this(vLeft.getName(), vRight.getName(), weight);
+	}
+	
 	/**
 	 * getConnectedVertex()
 	 * 
@@ -39,10 +56,10 @@ public class Edge {
 	 */
 	public Vertex getConnectedVertex(Vertex v)
 	{
-		if (v == vLeft)
-			return vRight;
-		else if (v == vRight)
-			return vLeft;
+		if (v.getName() == left)
+			return new Vertex(right);
+		else if (v.getName() == right)
+			return new Vertex(left);
 		else
 			return null;
 	}
@@ -58,24 +75,24 @@ public class Edge {
 	public boolean lessThan(Edge e)
 	{
 		// First, compare the weights.
-		if (weight < e.getWeight())
+		if (weight < e.weight)
 		{
 			// This weight < weight of e.
 			return true;
 		}
-		else if (weight == e.getWeight())
+		else if (weight == e.weight)
 		{
 			// If weights are equivalent, compare the left vertex name.
-			if (vLeft.getName() < e.getLeftVertex().getName())
+			if (left < e.left)
 			{
 				// This left vertex name < e's left vertex name.
 				return true;
 			}
-			else if (vLeft.getName() == e.getLeftVertex().getName())
+			else if (left == e.left)
 			{
 				// If the left vertex names are equivalent,
 				// compare the right vertex name.
-				if (vRight.getName() < e.getRightVertex().getName())
+				if (right < e.right)
 				{
 					// This right vertex name < e's right vertex name.
 					return true;
@@ -111,28 +128,52 @@ public class Edge {
 		return weight;
 	}
 	
+	/**
+	 * getLeftName()
+	 * 
+	 * Gets the name of the left vertex (v1).
+	 * 
+	 * @return - the name of the left vertex (v1).
+	 */
+	public int getLeftName()
+	{
+		return left;
+	}
+	
+	/**
+	 * getRightName()
+	 * 
+	 * Gets the name of the right vertex (v2).
+	 * 
+	 * @return - the name of the right vertex (v2).
+	 */
+	public int getRightName()
+	{
+		return right;
+	}
+	
 	/**
 	 * getLeftVertex()
 	 * 
-	 * Gets the left vertex (v1).
+	 * Gets the left vertex (v1), made on demand.
 	 * 
 	 * @return - the left vertex (v1).
 	 */
 	public Vertex getLeftVertex()
 	{
-		return vLeft;
+		return new Vertex(left);
 	}
 	
 	/**
 	 * getRightVertex()
 	 * 
-	 * Gets the right vertex (v2).
+	 * Gets the right vertex (v2), made on demand.
 	 * 
 	 * @return - the right vertex (v2).
 	 */
 	public Vertex getRightVertex()
 	{
-		return vRight;
+		return new Vertex(right);
 	}
 	
 	/**
@@ -147,10 +188,10 @@ public class Edge {
 	 */
 	public Vertex getOtherVertex(Vertex u) throws VertexException
 	{		
-		if (vLeft.equals(u))
-			return vRight;
-		else if (vRight.equals(u))
-			return vLeft;
+		if (u.getName() == left)
+			return new Vertex(right);
+		else if (u.getName() == right)
+			return new Vertex(left);
 		
 		throw new VertexException("The Vertex passed in was not "
 				+ "a part of the edge.");
@@ -165,8 +206,8 @@ public class Edge {
 	public String toString()
 	{
 		return String.format("Left: %d Right: %d Weight: %d, ",
-				vLeft.getName(),
-				vRight.getName(),
+				left,
+				right,
 				weight);
 	}
 	
@@ -0,0 +1,162 @@
+/**
+ * EdgeReader.java
+ *
+ * Reads edges from a channel in the binary edge format, where every
+ * edge is a 12-byte record of three big-endian ints: u, v and weight.
+ * Records are read through one large buffer, so reading a file is a
+ * sequence of big sequential reads.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+
+public class EdgeReader implements Closeable {
+
+	public static final int RECORD_BYTES = 12;
+	public static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+
+	private ReadableByteChannel channel;
+	private ByteBuffer buffer;
+	private boolean endOfStream = false;
+
+	// The last edge read by next().
+	private int u;
+	private int v;
+	private int weight;
+
+	/**
+	 * EdgeReader()
+	 *
+	 * @param channel - the channel to read from.
+	 */
+	public EdgeReader(ReadableByteChannel channel)
+	{
+		this(channel, DEFAULT_BUFFER_BYTES);
+	}
+
+	/**
+	 * EdgeReader()
+	 *
+	 * @param channel - the channel to read from.
+	 * @param bufferBytes - size of the read buffer, rounded down to a
+	 * 						whole number of records.
+	 */
+	public EdgeReader(ReadableByteChannel channel, int bufferBytes)
+	{
+		this.channel = channel;
+
+		int records = Math.max(1, bufferBytes / RECORD_BYTES);
+		buffer = ByteBuffer.allocate(records * RECORD_BYTES);
+		buffer.flip();
+	}
+
+	/**
+	 * open()
+	 *
+	 * @param file - a binary edge file.
+	 * @return - a reader over the file.
+	 */
+	public static EdgeReader open(File file) throws IOException
+	{
+		return new EdgeReader(new FileInputStream(file).getChannel());
+	}
+
+	/**
+	 * next()
+	 *
+	 * Reads the next edge, blocking until it has fully arrived.
+	 *
+	 * @return - true if an edge was read, or false at the end of the
+	 * 			 channel.
+	 * @throws IOException - if the channel fails or ends partway
+	 * 						 through a record.
+	 */
+	public boolean next() throws IOException
+	{
+		if (buffer.remaining() < RECORD_BYTES && !fill())
+			return false;
+
+		u = buffer.getInt();
+		v = buffer.getInt();
+		weight = buffer.getInt();
+
+		return true;
+	}
+
+	/**
+	 * getU()
+	 *
+	 * @return - one vertex of the last edge read.
+	 */
+	public int getU()
+	{
+		return u;
+	}
+
+	/**
+	 * getV()
+	 *
+	 * @return - the other vertex of the last edge read.
+	 */
+	public int getV()
+	{
+		return v;
+	}
+
+	/**
+	 * getWeight()
+	 *
+	 * @return - the weight of the last edge read.
+	 */
+	public int getWeight()
+	{
+		return weight;
+	}
+
+	/**
+	 * close()
+	 *
+	 * Closes the channel.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * fill()
+	 *
+	 * Reads from the channel until the buffer holds at least one whole
+	 * record or the channel ends.
+	 *
+	 * @return - true if a whole record is available.
+	 */
+	private boolean fill() throws IOException
+	{
+		buffer.compact();
+
+		while (!endOfStream && buffer.position() < RECORD_BYTES)
+		{
+			if (channel.read(buffer) < 0)
+				endOfStream = true;
+		}
+
+		buffer.flip();
+
+		if (buffer.remaining() >= RECORD_BYTES)
+			return true;
+
+		if (buffer.hasRemaining())
+			throw new EOFException("Edge stream ends partway through a record");
+
+		return false;
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * EdgeWriter.java
+ *
+ * Writes edges to a channel in the binary edge format EdgeReader reads:
+ * a 12-byte record of three big-endian ints (u, v, weight) per edge.
+ * Records are collected in one large buffer and written out when it
+ * fills, so writing a file is a sequence of big sequential writes.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+
+public class EdgeWriter implements Closeable, Flushable {
+
+	private WritableByteChannel channel;
+	private ByteBuffer buffer;
+	private long numEdges = 0;
+
+	/**
+	 * EdgeWriter()
+	 *
+	 * @param channel - the channel to write to.
+	 */
+	public EdgeWriter(WritableByteChannel channel)
+	{
+		this(channel, EdgeReader.DEFAULT_BUFFER_BYTES);
+	}
+
+	/**
+	 * EdgeWriter()
+	 *
+	 * @param channel - the channel to write to.
+	 * @param bufferBytes - size of the write buffer, rounded down to a
+	 * 						whole number of records.
+	 */
+	public EdgeWriter(WritableByteChannel channel, int bufferBytes)
+	{
+		this.channel = channel;
+
+		int records = Math.max(1, bufferBytes / EdgeReader.RECORD_BYTES);
+		buffer = ByteBuffer.allocate(records * EdgeReader.RECORD_BYTES);
+	}
+
+	/**
+	 * create()
+	 *
+	 * @param file - the binary edge file to create (or overwrite).
+	 * @return - a writer to the file.
+	 */
+	public static EdgeWriter create(File file) throws IOException
+	{
+		return new EdgeWriter(new FileOutputStream(file).getChannel());
+	}
+
+	/**
+	 * write()
+	 *
+	 * Writes one edge.
+	 *
+	 * @param u - one vertex of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge.
+	 */
+	public void write(int u, int v, int weight) throws IOException
+	{
+		if (buffer.remaining() < EdgeReader.RECORD_BYTES)
+			flush();
+
+		buffer.putInt(u);
+		buffer.putInt(v);
+		buffer.putInt(weight);
+		numEdges++;
+	}
+
+	/**
+	 * getNumEdges()
+	 *
+	 * @return - the number of edges written so far.
+	 */
+	public long getNumEdges()
+	{
+		return numEdges;
+	}
+
+	/**
+	 * flush()
+	 *
+	 * Writes out any buffered edges.
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * close()
+	 *
+	 * Writes out any buffered edges and closes the channel.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		flush();
+		channel.close();
+	}
+
+}
@@ -0,0 +1,38 @@
+/**
+ * ErdosRenyiGenerator.java
+ * 
+ * Generates G(n, p): each pair of vertices is joined with probability
+ * p, with a weight from 1 to n.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.*;
+
+public class ErdosRenyiGenerator extends GraphGenerator {
+	
+	/**
+	 * generate()
+	 * 
+	 * Tries every pair in order, so each vertex's edges are added in
+	 * increasing order of the other vertex.
+	 */
+	@Override
+	public void generate(int n, double p, Random rConnect,
+			Random wConnection, EdgeSink sink)
+	{
+		// For each pair of vertices, determine if they are connected.
+		for (int i = 0; i < n; i++)
+		{
+			// j = i + 1 because we don't want to try a pair twice.
+			for (int j = i + 1; j < n; j++)
+			{
+				double connected = rConnect.nextDouble();
+				if (connected <= p)
+					sink.addEdge(i, j, randomWeight(n, wConnection));
+			}
+		}
+	}
+	
+}
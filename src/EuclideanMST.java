@@ -0,0 +1,393 @@
+/**
+ * EuclideanMST.java
+ *
+ * The purpose of this class is to find the minimum spanning tree of a
+ * set of points in the plane, where every pair of points is joined by
+ * an edge as long as the distance between them. Rather than building
+ * all n(n - 1) / 2 of those edges, as a Graph matrix would, it takes
+ * only the edges of the points' Delaunay triangulation, which hold the
+ * MST and number at most 3n (see DelaunayTriangulation), and runs
+ * Kruskal's algorithm on them. Points in the same place are joined by
+ * edges of length 0.
+ *
+ * The lengths are doubles, so the candidates go in a DoubleEdgeList,
+ * which sorts them with a radix sort and sums the tree's length with
+ * Kahan summation. Memory and time are O(n) and about O(n log n), so
+ * millions of points fit.
+ *
+ * Usage: java MST -euclidean random n seed [outFile]
+ *        java MST -euclidean run pointFile [outFile]
+ *
+ * A point file has a point "x y" per line; blank lines and lines
+ * starting with # are ignored. The out file gets an MST edge
+ * "u v length" per line, numbering the points from 0.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.util.*;
+
+public class EuclideanMST {
+
+	private int numPoints;
+	private double[] x;
+	private double[] y;
+
+	private int numCandidates = 0;
+	private int numDuplicates = 0;
+
+	// The tree, in the order Kruskal's algorithm added its edges.
+	private DoubleEdgeList tree;
+	private double totalLength = 0;
+
+	private long triangulationTime = 0;
+	private long kruskalTime = 0;
+
+	/**
+	 * @param args - random n seed [outFile], to find the MST of n points
+	 * 				 drawn uniformly from the unit square; or run
+	 * 				 pointFile [outFile], to find the MST of the points
+	 * 				 in a file.
+	 */
+	public static void main(String[] args) {
+		String usage = "Usage: java MST -euclidean random n seed [outFile]\n"
+				+ "       java MST -euclidean run pointFile [outFile]";
+
+		try {
+			EuclideanMST emst = null;
+			String outFileName = null;
+
+			if (args.length >= 3 && args.length <= 4 && args[0].equals("random"))
+			{
+				int n = Integer.parseInt(args[1]);
+				long seed = Long.parseLong(args[2]);
+				if (n < 1)
+					MST.exitWithMessage("n must be at least 1");
+
+				emst = randomPoints(n, seed);
+				outFileName = (args.length > 3) ? args[3] : null;
+
+				System.out.printf("\nTEST: euclidean n=%d, seed=%d\n", n, seed);
+			}
+			else if (args.length >= 2 && args.length <= 3 && args[0].equals("run"))
+			{
+				BufferedReader br = new BufferedReader(new FileReader(args[1]));
+				emst = load(br);
+				br.close();
+				outFileName = (args.length > 2) ? args[2] : null;
+
+				System.out.printf("\nTEST: euclidean %s, n=%d\n",
+						args[1], emst.getNumPoints());
+			}
+			else
+				MST.exitWithMessage(usage);
+
+			emst.run();
+
+			System.out.printf("Candidate edges: %d (%d duplicate points)\n",
+					emst.getNumCandidates(), emst.getNumDuplicates());
+			System.out.printf("Tree edges: %d\n", emst.getNumTreeEdges());
+			System.out.printf("Total length: %s\n", Double.toString(emst.getTotalLength()));
+			System.out.printf("Triangulation: %d milliseconds\n", emst.getTriangulationTime());
+			System.out.printf("Kruskal: %d milliseconds\n", emst.getKruskalTime());
+
+			if (outFileName != null)
+				emst.write(new File(outFileName));
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("n and seed must be integers");
+		} catch (IllegalArgumentException e) {
+			MST.exitWithMessage(e.getMessage());
+		} catch (FileNotFoundException e) {
+			MST.exitWithMessage("File not found: " + e.getMessage());
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+	}
+
+	/**
+	 * EuclideanMST()
+	 *
+	 * @param x - the x coordinate of each point.
+	 * @param y - the y coordinate of each point.
+	 */
+	public EuclideanMST(double[] x, double[] y)
+	{
+		if (x.length != y.length)
+			throw new IllegalArgumentException("x and y must be the same length");
+
+		for (int i = 0; i < x.length; i++)
+		{
+			if (Double.isNaN(x[i]) || Double.isInfinite(x[i])
+					|| Double.isNaN(y[i]) || Double.isInfinite(y[i]))
+				throw new IllegalArgumentException("Point " + i + " is not finite");
+		}
+
+		this.numPoints = x.length;
+		this.x = x;
+		this.y = y;
+	}
+
+	/**
+	 * randomPoints()
+	 *
+	 * @param n - number of points.
+	 * @param seed - a seed number for generating random numbers.
+	 * @return - n points drawn uniformly from the unit square.
+	 */
+	public static EuclideanMST randomPoints(int n, long seed)
+	{
+		Random rand = new Random(seed);
+		double[] x = new double[n];
+		double[] y = new double[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			x[i] = rand.nextDouble();
+			y[i] = rand.nextDouble();
+		}
+
+		return new EuclideanMST(x, y);
+	}
+
+	/**
+	 * load()
+	 *
+	 * Reads points, one "x y" per line. Blank lines and lines starting
+	 * with # are ignored.
+	 *
+	 * @param br - the reader to read the points from.
+	 * @return - the points.
+	 * @throws IOException - if the points can't be read.
+	 * @throws IllegalArgumentException - if a line isn't a point.
+	 */
+	public static EuclideanMST load(BufferedReader br) throws IOException
+	{
+		double[] x = new double[1024];
+		double[] y = new double[1024];
+		int numPoints = 0;
+		int lineNum = 0;
+
+		String line = br.readLine();
+		while (line != null)
+		{
+			lineNum++;
+			line = line.trim();
+
+			if (line.length() > 0 && !line.startsWith("#"))
+			{
+				String[] fields = line.split("\\s+");
+				if (fields.length != 2)
+					throw new IllegalArgumentException(String.format(
+							"Line %d: expected x y", lineNum));
+
+				if (numPoints == x.length)
+				{
+					x = Arrays.copyOf(x, 2 * numPoints);
+					y = Arrays.copyOf(y, 2 * numPoints);
+				}
+
+				try {
+					x[numPoints] = Double.parseDouble(fields[0]);
+					y[numPoints] = Double.parseDouble(fields[1]);
+					numPoints++;
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(String.format(
+							"Line %d: coordinates must be numbers", lineNum));
+				}
+			}
+
+			line = br.readLine();
+		}
+
+		if (numPoints == 0)
+			throw new IllegalArgumentException("Point file is empty");
+
+		return new EuclideanMST(Arrays.copyOf(x, numPoints), Arrays.copyOf(y, numPoints));
+	}
+
+	/**
+	 * run()
+	 *
+	 * Triangulates the points and runs Kruskal's algorithm on the edges
+	 * of the triangulation.
+	 *
+	 * @return - the total length of the MST.
+	 */
+	public double run()
+	{
+		long start = System.currentTimeMillis();
+		DelaunayTriangulation dt = new DelaunayTriangulation(x, y);
+		int[] edges = dt.getEdges();
+		triangulationTime = System.currentTimeMillis() - start;
+
+		start = System.currentTimeMillis();
+
+		// The candidates: the triangulation's edges, and an edge from
+		// each duplicate point to the point in its place.
+		numDuplicates = dt.getNumDuplicates();
+		numCandidates = edges.length / 2 + numDuplicates;
+		DoubleEdgeList candidates = new DoubleEdgeList(numPoints, numCandidates);
+
+		for (int k = 0; k < edges.length; k += 2)
+			candidates.add(edges[k], edges[k + 1], length(edges[k], edges[k + 1]));
+
+		for (int i = 0; i < numPoints; i++)
+		{
+			if (dt.getDuplicateOf(i) != -1)
+				candidates.add(dt.getDuplicateOf(i), i, 0.0);
+		}
+
+		tree = candidates.kruskalForest();
+		totalLength = tree.getTotalWeight();
+
+		kruskalTime = System.currentTimeMillis() - start;
+
+		return totalLength;
+	}
+
+	/**
+	 * getNumPoints()
+	 *
+	 * @return - the number of points.
+	 */
+	public int getNumPoints()
+	{
+		return numPoints;
+	}
+
+	/**
+	 * getNumCandidates()
+	 *
+	 * @return - the number of edges Kruskal's algorithm was run on.
+	 */
+	public int getNumCandidates()
+	{
+		return numCandidates;
+	}
+
+	/**
+	 * getNumDuplicates()
+	 *
+	 * @return - the number of points in the same place as an earlier one.
+	 */
+	public int getNumDuplicates()
+	{
+		return numDuplicates;
+	}
+
+	/**
+	 * getNumTreeEdges()
+	 *
+	 * @return - the number of edges in the MST, which is n - 1.
+	 */
+	public int getNumTreeEdges()
+	{
+		return (tree == null) ? 0 : tree.size();
+	}
+
+	/**
+	 * getTreeEdgeU()
+	 *
+	 * @param k - an edge from 0 to getNumTreeEdges() - 1.
+	 * @return - the lower numbered point of MST edge k.
+	 */
+	public int getTreeEdgeU(int k)
+	{
+		return tree.getLeft(k);
+	}
+
+	/**
+	 * getTreeEdgeV()
+	 *
+	 * @param k - an edge from 0 to getNumTreeEdges() - 1.
+	 * @return - the higher numbered point of MST edge k.
+	 */
+	public int getTreeEdgeV(int k)
+	{
+		return tree.getRight(k);
+	}
+
+	/**
+	 * getTreeEdgeLength()
+	 *
+	 * @param k - an edge from 0 to getNumTreeEdges() - 1.
+	 * @return - the length of MST edge k.
+	 */
+	public double getTreeEdgeLength(int k)
+	{
+		return tree.getWeight(k);
+	}
+
+	/**
+	 * getTotalLength()
+	 *
+	 * @return - the total length of the MST, by Kahan summation.
+	 */
+	public double getTotalLength()
+	{
+		return totalLength;
+	}
+
+	/**
+	 * getTriangulationTime()
+	 *
+	 * @return - time taken to triangulate the points, in milliseconds.
+	 */
+	public long getTriangulationTime()
+	{
+		return triangulationTime;
+	}
+
+	/**
+	 * getKruskalTime()
+	 *
+	 * @return - time taken to sort the candidates and run the
+	 * 			 union-find pass, in milliseconds.
+	 */
+	public long getKruskalTime()
+	{
+		return kruskalTime;
+	}
+
+	/**
+	 * write()
+	 *
+	 * Writes the MST edges to a file, one "u v length" per line.
+	 *
+	 * @param file - the file to write.
+	 */
+	public void write(File file) throws IOException
+	{
+		BufferedWriter out = new BufferedWriter(new FileWriter(file), 1 << 20);
+
+		for (int k = 0; k < getNumTreeEdges(); k++)
+		{
+			out.write(Integer.toString(getTreeEdgeU(k)));
+			out.write(' ');
+			out.write(Integer.toString(getTreeEdgeV(k)));
+			out.write(' ');
+			out.write(Double.toString(getTreeEdgeLength(k)));
+			out.write('\n');
+		}
+
+		out.close();
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * length()
+	 *
+	 * @return - the distance between points u and v.
+	 */
+	private double length(int u, int v)
+	{
+		double dx = x[u] - x[v];
+		double dy = y[u] - y[v];
+
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+}
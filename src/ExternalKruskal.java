@@ -0,0 +1,705 @@
+/**
+ * ExternalKruskal.java
+ *
+ * The purpose of this class is to find the minimum spanning forest of
+ * a graph too large to hold in memory, by running Kruskal's algorithm
+ * over a binary edge file (see EdgeReader) with a fixed memory budget:
+ *
+ * 	1. The file is read in runs that fit in the budget. Each run is
+ * 	   sorted in memory and written to a temporary file.
+ * 	2. If there are more runs than can be merged at once, groups of
+ * 	   them are merged into longer runs until there aren't.
+ * 	3. The last runs are merged into one sorted stream of edges, which
+ * 	   goes straight through a union-find of n ints. The union-find is
+ * 	   the only thing kept per vertex; the edges are never all in
+ * 	   memory.
+ *
+ * All file I/O goes through FileChannels with large buffers, so it is
+ * sequential. Edges are ordered as Edge.lessThan() orders them, so the
+ * forest is the one Kruskal's algorithm with QuickSort finds.
+ *
+ * The budget covers the sort and merge buffers; the JVM needs a little
+ * more than it, plus 4 bytes per vertex. It must be at least 4 MB, room
+ * for a run and for merging two runs into a third, each through a 1 MB
+ * buffer. For example, a graph of 20000
+ * vertices and 10 million edges (120 MB on disk, and 1.6 GB as a Graph
+ * matrix) runs in a 64 MB heap:
+ *
+ *     java ExternalKruskal generate 20000 1 0.05 edges.bin
+ *     java -Xmx64m ExternalKruskal run edges.bin 32 mst.bin
+ *
+ * Usage: java MST -external generate n seed p file
+ *        java MST -external convert textFile file
+ *        java MST -external run file [memoryMB] [outFile]
+ *        (memoryMB is 64 by default, and at least 4)
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.util.*;
+
+public class ExternalKruskal {
+
+	public static final long DEFAULT_MEMORY_MB = 64;
+	public static final long MIN_MEMORY_MB =
+			4 * EdgeReader.DEFAULT_BUFFER_BYTES >> 20;
+
+	// Bytes of memory per edge of a run being sorted: its endpoints
+	// packed in a long, its weight, and its sort key.
+	private static final int RUN_BYTES_PER_EDGE = 20;
+
+	private long memoryBytes;
+	private File tempDir;
+
+	private int numVertices = 0;
+	private long numEdges = 0;
+	private int numRuns = 0;
+
+	/**
+	 * @param args - generate n seed p file, to write the edges of the
+	 * 				 graph Graph(n, seed, p) would generate; convert
+	 * 				 textFile file, to convert an edge list in the format
+	 * 				 Graph.load() reads; or run file [memoryMB] [outFile],
+	 * 				 to find the minimum spanning forest of a file.
+	 */
+	public static void main(String[] args) {
+		String usage = "Usage: java MST -external generate n seed p file\n"
+				+ "       java MST -external convert textFile file\n"
+				+ "       java MST -external run file [memoryMB] [outFile]\n"
+				+ "       (memoryMB is " + DEFAULT_MEMORY_MB
+				+ " by default, and at least " + MIN_MEMORY_MB + ")";
+
+		if (args.length < 1)
+			MST.exitWithMessage(usage);
+
+		try {
+			if (args[0].equals("generate") && args.length == 5)
+			{
+				long numWritten = writeGenerated(
+						Integer.parseInt(args[1]),
+						Long.parseLong(args[2]),
+						Double.parseDouble(args[3]),
+						new File(args[4]));
+				System.out.printf("Wrote %d edges to %s\n", numWritten, args[4]);
+			}
+			else if (args[0].equals("convert") && args.length == 3)
+			{
+				BufferedReader br = new BufferedReader(new FileReader(args[1]));
+				long numWritten = convert(br, new File(args[2]));
+				br.close();
+				System.out.printf("Wrote %d edges to %s\n", numWritten, args[2]);
+			}
+			else if (args[0].equals("run") && args.length >= 2 && args.length <= 4)
+			{
+				long memoryMB = (args.length > 2)
+						? Long.parseLong(args[2])
+						: DEFAULT_MEMORY_MB;
+				if (memoryMB < MIN_MEMORY_MB)
+					MST.exitWithMessage("memoryMB must be at least " + MIN_MEMORY_MB);
+				File outFile = (args.length > 3) ? new File(args[3]) : null;
+
+				ExternalKruskal ek = new ExternalKruskal(memoryMB << 20, null);
+				System.out.print(ek.run(new File(args[1]), outFile));
+			}
+			else
+				MST.exitWithMessage(usage);
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("n, seed and memoryMB must be integers and p a real number");
+		} catch (IllegalArgumentException e) {
+			MST.exitWithMessage(e.getMessage());
+		} catch (FileNotFoundException e) {
+			MST.exitWithMessage("File not found: " + e.getMessage());
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+	}
+
+	/**
+	 * ExternalKruskal()
+	 *
+	 * @param memoryBytes - how much memory the sort and merge may use.
+	 * @param tempDir - where to put the sorted runs, or null for the
+	 * 					system's temporary directory.
+	 */
+	public ExternalKruskal(long memoryBytes, File tempDir)
+	{
+		if (memoryBytes < MIN_MEMORY_MB << 20)
+			throw new IllegalArgumentException(
+					"Memory budget must be at least " + MIN_MEMORY_MB + " MB");
+
+		this.memoryBytes = memoryBytes;
+		this.tempDir = tempDir;
+	}
+
+	/**
+	 * run()
+	 *
+	 * Finds the minimum spanning forest of the edges in a file.
+	 *
+	 * @param edgeFile - the binary edge file.
+	 * @param mstFile - where to write the forest's edges, in sorted
+	 * 					order, or null to only total them.
+	 * @return - the weight and size of the forest.
+	 */
+	public Result run(File edgeFile, File mstFile) throws IOException
+	{
+		long runtime = System.currentTimeMillis();
+
+		numVertices = 0;
+		numEdges = 0;
+
+		ArrayList<File> runs = createRuns(edgeFile);
+		numRuns = runs.size();
+
+		try {
+			// Leave room for the output buffer.
+			int fanIn = (int) Math.max(2,
+					memoryBytes / EdgeReader.DEFAULT_BUFFER_BYTES - 1);
+
+			while (runs.size() > fanIn)
+				runs = mergePass(runs, fanIn);
+
+			Result result = consume(runs, mstFile);
+			result.runtime = System.currentTimeMillis() - runtime;
+
+			return result;
+		} finally {
+			for (int i = 0; i < runs.size(); i++)
+				runs.get(i).delete();
+		}
+	}
+
+	/* ---------------- Edge Files ---------------- */
+
+	/**
+	 * writeGenerated()
+	 *
+	 * Writes the edges of the graph Graph(n, seed, p) generates (with
+	 * the same random streams, so it is the same graph) without ever
+	 * holding the graph in memory.
+	 *
+	 * @param n - number of vertices.
+	 * @param seed - a seed number for generating random numbers.
+	 * @param p - the probability of any two vertices being connected.
+	 * @param file - the binary edge file to write.
+	 * @return - the number of edges written.
+	 */
+	public static long writeGenerated(int n, long seed, double p, File file)
+			throws IOException
+	{
+		if (n < 2)
+			throw new IllegalArgumentException("n must be greater than 1");
+
+		if (p < 0 || p > 1)
+			throw new IllegalArgumentException("p must be between 0 and 1");
+
+		EdgeWriter out = EdgeWriter.create(file);
+		try {
+			// An EdgeSink can't throw IOException, so it is carried out
+			// unchecked and rethrown here.
+			new ErdosRenyiGenerator().generate(n, seed, p, (u, v, weight) -> {
+				try {
+					out.write(u, v, weight);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return true;
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			out.close();
+		}
+
+		return out.getNumEdges();
+	}
+
+	/**
+	 * convert()
+	 *
+	 * Converts an edge list in the text format Graph.load() reads to a
+	 * binary edge file, a line at a time.
+	 *
+	 * @param br - the reader to read the edge list from.
+	 * @param file - the binary edge file to write.
+	 * @return - the number of edges written.
+	 */
+	public static long convert(BufferedReader br, File file) throws IOException
+	{
+		EdgeWriter out = EdgeWriter.create(file);
+		int numV = -1;
+		int lineNum = 0;
+
+		try {
+			String line = br.readLine();
+			while (line != null)
+			{
+				lineNum++;
+				line = line.trim();
+
+				if (line.length() > 0 && !line.startsWith("#"))
+				{
+					String[] fields = line.split("\\s+");
+
+					try {
+						if (numV < 0)
+						{
+							if (fields.length != 1)
+								throw new IllegalArgumentException(String.format(
+										"Line %d: expected the number of vertices", lineNum));
+
+							numV = Integer.parseInt(fields[0]);
+						}
+						else
+						{
+							if (fields.length != 3)
+								throw new IllegalArgumentException(String.format(
+										"Line %d: expected \"u v weight\"", lineNum));
+
+							int u = Integer.parseInt(fields[0]);
+							int v = Integer.parseInt(fields[1]);
+							int weight = Integer.parseInt(fields[2]);
+
+							if (u < 0 || u >= numV || v < 0 || v >= numV)
+								throw new IllegalArgumentException(String.format(
+										"Line %d: vertex out of range", lineNum));
+
+							if (weight <= 0)
+								throw new IllegalArgumentException(String.format(
+										"Line %d: weight must be greater than 0", lineNum));
+
+							out.write(u, v, weight);
+						}
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException(String.format(
+								"Line %d: values must be integers", lineNum));
+					}
+				}
+
+				line = br.readLine();
+			}
+		} finally {
+			out.close();
+		}
+
+		return out.getNumEdges();
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * createRuns()
+	 *
+	 * Reads the edge file a budget's worth of edges at a time, sorting
+	 * each batch into a run file.
+	 *
+	 * @param edgeFile - the binary edge file.
+	 * @return - the run files.
+	 */
+	private ArrayList<File> createRuns(File edgeFile) throws IOException
+	{
+		// Leave room for the input and output buffers.
+		int runEdges = (int) Math.min(Integer.MAX_VALUE - 8,
+				(memoryBytes - 2L * EdgeReader.DEFAULT_BUFFER_BYTES) / RUN_BYTES_PER_EDGE);
+
+		long[] ends = new long[runEdges];	// (left << 32) | right
+		int[] weight = new int[runEdges];
+		long[] keys = new long[runEdges];	// (weight << 32) | index
+
+		ArrayList<File> runs = new ArrayList<File>();
+		EdgeReader in = EdgeReader.open(edgeFile);
+
+		try {
+			boolean more = true;
+			while (more)
+			{
+				int count = 0;
+				while (count < runEdges && (more = in.next()))
+				{
+					int u = in.getU();
+					int v = in.getV();
+
+					if (u < 0 || v < 0 || in.getWeight() <= 0)
+						throw new IllegalArgumentException(String.format(
+								"Edge %d: vertices must be at least 0 and the "
+								+ "weight greater than 0", numEdges + 1));
+
+					// Keep the lower name on the left, as Edge.lessThan() expects.
+					int left = Math.min(u, v);
+					int right = Math.max(u, v);
+					numVertices = Math.max(numVertices, right + 1);
+
+					ends[count] = ((long) left << 32) | right;
+					weight[count] = in.getWeight();
+					keys[count] = ((long) weight[count] << 32) | count;
+					count++;
+					numEdges++;
+				}
+
+				if (count > 0)
+					runs.add(writeRun(ends, weight, keys, count));
+			}
+		} catch (IOException | RuntimeException e) {
+			for (int i = 0; i < runs.size(); i++)
+				runs.get(i).delete();
+			throw e;
+		} finally {
+			in.close();
+		}
+
+		return runs;
+	}
+
+	/**
+	 * writeRun()
+	 *
+	 * Sorts a batch of edges by (weight, left, right) and writes it to
+	 * a new run file.
+	 *
+	 * @return - the run file.
+	 */
+	private File writeRun(long[] ends, int[] weight, long[] keys, int count)
+			throws IOException
+	{
+		Arrays.sort(keys, 0, count);
+
+		File run = newRunFile();
+		EdgeWriter out = EdgeWriter.create(run);
+
+		try {
+			int start = 0;
+			while (start < count)
+			{
+				int w = (int) (keys[start] >>> 32);
+				int end = start;
+				while (end < count && (int) (keys[end] >>> 32) == w)
+					end++;
+
+				// Within a weight, sort by (left, right). The block's keys
+				// aren't needed any more, so they hold the endpoints.
+				for (int i = start; i < end; i++)
+					keys[i] = ends[(int) keys[i]];
+				Arrays.sort(keys, start, end);
+
+				for (int i = start; i < end; i++)
+					out.write((int) (keys[i] >>> 32), (int) keys[i], w);
+
+				start = end;
+			}
+		} finally {
+			out.close();
+		}
+
+		return run;
+	}
+
+	/**
+	 * mergePass()
+	 *
+	 * Merges groups of fanIn runs into longer runs.
+	 *
+	 * @param runs - the runs to merge, which are deleted.
+	 * @param fanIn - how many runs to merge at once.
+	 * @return - the merged runs.
+	 */
+	private ArrayList<File> mergePass(ArrayList<File> runs, int fanIn) throws IOException
+	{
+		ArrayList<File> merged = new ArrayList<File>();
+
+		for (int start = 0; start < runs.size(); start += fanIn)
+		{
+			List<File> group = runs.subList(start, Math.min(start + fanIn, runs.size()));
+			File run = newRunFile();
+			final EdgeWriter out = EdgeWriter.create(run);
+
+			try {
+				merge(group, (u, v, weight) -> {
+					out.write(u, v, weight);
+					return true;
+				});
+			} finally {
+				out.close();
+			}
+
+			for (int i = 0; i < group.size(); i++)
+				group.get(i).delete();
+			merged.add(run);
+		}
+
+		return merged;
+	}
+
+	/**
+	 * consume()
+	 *
+	 * Merges the runs into one sorted stream and runs it through the
+	 * union-find, stopping early once the forest is a spanning tree.
+	 *
+	 * @param runs - the sorted runs.
+	 * @param mstFile - where to write the forest's edges, or null.
+	 * @return - the weight and size of the forest.
+	 */
+	private Result consume(ArrayList<File> runs, File mstFile) throws IOException
+	{
+		final int[] partition = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+			partition[v] = v;
+
+		final EdgeWriter out = (mstFile == null) ? null : EdgeWriter.create(mstFile);
+		final Result result = new Result(numVertices, numEdges, numRuns);
+
+		try {
+			merge(runs, (u, v, weight) -> {
+				int root1 = find(u, partition);
+				int root2 = find(v, partition);
+
+				if (root1 != root2)
+				{
+					partition[root1] = root2;
+					result.weight += weight;
+					result.numTreeEdges++;
+
+					if (out != null)
+						out.write(u, v, weight);
+				}
+
+				return result.numTreeEdges < numVertices - 1;
+			});
+		} finally {
+			if (out != null)
+				out.close();
+		}
+
+		return result;
+	}
+
+	/**
+	 * merge()
+	 *
+	 * Merges sorted runs, handing each edge in order to the sink until
+	 * the runs are used up or the sink asks to stop.
+	 *
+	 * @param runs - the sorted runs.
+	 * @param sink - receives the merged edges.
+	 */
+	private void merge(List<File> runs, EdgeSink sink) throws IOException
+	{
+		int k = runs.size();
+		int bufferBytes = (int) Math.min(EdgeReader.DEFAULT_BUFFER_BYTES,
+				memoryBytes / (k + 1));
+
+		EdgeReader[] readers = new EdgeReader[k];
+		int[] heap = new int[k];
+		int size = 0;
+
+		try {
+			for (int i = 0; i < k; i++)
+			{
+				readers[i] = new EdgeReader(
+						new FileInputStream(runs.get(i)).getChannel(), bufferBytes);
+
+				if (readers[i].next())
+					heap[size++] = i;
+			}
+
+			for (int i = size / 2 - 1; i >= 0; i--)
+				sink(heap, i, size, readers);
+
+			while (size > 0)
+			{
+				EdgeReader min = readers[heap[0]];
+				if (!sink.accept(min.getU(), min.getV(), min.getWeight()))
+					return;
+
+				if (!min.next())
+					heap[0] = heap[--size];
+
+				sink(heap, 0, size, readers);
+			}
+		} finally {
+			for (int i = 0; i < k; i++)
+			{
+				if (readers[i] != null)
+					readers[i].close();
+			}
+		}
+	}
+
+	/**
+	 * sink()
+	 *
+	 * Restores the heap of runs below position i.
+	 */
+	private static void sink(int[] heap, int i, int size, EdgeReader[] readers)
+	{
+		while (2 * i + 1 < size)
+		{
+			int child = 2 * i + 1;
+			if (child + 1 < size && less(readers[heap[child + 1]], readers[heap[child]]))
+				child++;
+
+			if (!less(readers[heap[child]], readers[heap[i]]))
+				break;
+
+			int exch = heap[i];
+			heap[i] = heap[child];
+			heap[child] = exch;
+			i = child;
+		}
+	}
+
+	/**
+	 * less()
+	 *
+	 * @return - true if a's current edge comes before b's, ordered by
+	 * 			 (weight, left, right) as Edge.lessThan() orders them.
+	 */
+	private static boolean less(EdgeReader a, EdgeReader b)
+	{
+		if (a.getWeight() != b.getWeight())
+			return a.getWeight() < b.getWeight();
+
+		if (a.getU() != b.getU())
+			return a.getU() < b.getU();
+
+		return a.getV() < b.getV();
+	}
+
+	/**
+	 * newRunFile()
+	 *
+	 * @return - a new temporary file for a run.
+	 */
+	private File newRunFile() throws IOException
+	{
+		File run = File.createTempFile("mst-run", ".bin", tempDir);
+		run.deleteOnExit();
+
+		return run;
+	}
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+	/**
+	 * EdgeSink
+	 *
+	 * Receives the edges of a merge in sorted order.
+	 */
+	private interface EdgeSink {
+
+		/**
+		 * @return - false to stop the merge.
+		 */
+		boolean accept(int u, int v, int weight) throws IOException;
+
+	}
+
+	/**
+	 * Result
+	 *
+	 * The weight and size of a minimum spanning forest found by run().
+	 */
+	public static class Result {
+
+		private final int numVertices;
+		private final long numEdges;
+		private final int numRuns;
+
+		private long weight = 0;
+		private int numTreeEdges = 0;
+		private long runtime = 0;
+
+		private Result(int numVertices, long numEdges, int numRuns)
+		{
+			this.numVertices = numVertices;
+			this.numEdges = numEdges;
+			this.numRuns = numRuns;
+		}
+
+		/**
+		 * getWeight()
+		 *
+		 * @return - the total weight of the forest.
+		 */
+		public long getWeight()
+		{
+			return weight;
+		}
+
+		/**
+		 * getNumTreeEdges()
+		 *
+		 * @return - the number of edges in the forest.
+		 */
+		public int getNumTreeEdges()
+		{
+			return numTreeEdges;
+		}
+
+		/**
+		 * getNumTrees()
+		 *
+		 * @return - the number of trees in the forest (1 if the graph is
+		 * 			 connected). Vertices above the highest one named in
+		 * 			 the file aren't counted.
+		 */
+		public int getNumTrees()
+		{
+			return numVertices - numTreeEdges;
+		}
+
+		/**
+		 * getNumRuns()
+		 *
+		 * @return - the number of sorted runs the edges were split into.
+		 */
+		public int getNumRuns()
+		{
+			return numRuns;
+		}
+
+		/**
+		 * getRuntime()
+		 *
+		 * @return - how long run() took, in milliseconds.
+		 */
+		public long getRuntime()
+		{
+			return runtime;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format(
+					"EXTERNAL KRUSKAL: %d vertices, %d edges in %d runs\n"
+					+ "Total weight of MST using Kruskal: %d\n"
+					+ "Trees: %d\n"
+					+ "Runtime: %d milliseconds\n",
+					numVertices,
+					numEdges,
+					numRuns,
+					weight,
+					getNumTrees(),
+					runtime);
+		}
+
+	}
+
+}
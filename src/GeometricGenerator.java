@@ -0,0 +1,110 @@
+/**
+ * GeometricGenerator.java
+ * 
+ * Generates a random geometric graph, like a road or sensor network.
+ * The vertices are points scattered in the unit square, two of them are
+ * joined if they are within distance r, and an edge's weight is its
+ * length scaled so that r weighs n. r is chosen so that about p of the
+ * pairs are joined.
+ * 
+ * The square is cut into cells at least r wide, so only the points in a
+ * point's own and neighboring cells have to be checked.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.*;
+
+public class GeometricGenerator extends GraphGenerator {
+	
+	/**
+	 * generate()
+	 * 
+	 * Edges are added in order of their lower-numbered vertex. The
+	 * weight stream isn't used, since the weights come from the points.
+	 */
+	@Override
+	public void generate(int n, double p, Random rConnect,
+			Random wConnection, EdgeSink sink)
+	{
+		double[] x = new double[n];
+		double[] y = new double[n];
+		for (int i = 0; i < n; i++)
+		{
+			x[i] = rConnect.nextDouble();
+			y[i] = rConnect.nextDouble();
+		}
+		
+		if (p <= 0)
+			return;
+		
+		// A circle of radius r covers p of the square (ignoring the edges
+		// of the square, near which points have fewer neighbors).
+		double r = Math.sqrt(p / Math.PI);
+		
+		// Cells per side: at most 1 / r so they are at least r wide, and
+		// at most about sqrt(n) so there aren't many more cells than points.
+		int k = (int) Math.max(1, Math.min(1 / r, Math.ceil(Math.sqrt(n))));
+		
+		// Bucket the points by cell: cell c's are point[cellStart[c]] up to
+		// point[cellStart[c + 1]], in increasing order.
+		int[] cell = new int[n];
+		int[] cellStart = new int[k * k + 1];
+		for (int i = 0; i < n; i++)
+		{
+			cell[i] = cellOf(x[i], k) * k + cellOf(y[i], k);
+			cellStart[cell[i] + 1]++;
+		}
+		for (int c = 0; c < k * k; c++)
+			cellStart[c + 1] += cellStart[c];
+		
+		int[] next = Arrays.copyOf(cellStart, k * k);
+		int[] point = new int[n];
+		for (int i = 0; i < n; i++)
+			point[next[cell[i]]++] = i;
+		
+		for (int i = 0; i < n; i++)
+		{
+			int cx = cell[i] / k;
+			int cy = cell[i] % k;
+			
+			for (int ax = Math.max(cx - 1, 0); ax <= Math.min(cx + 1, k - 1); ax++)
+			{
+				for (int ay = Math.max(cy - 1, 0); ay <= Math.min(cy + 1, k - 1); ay++)
+				{
+					int c = ax * k + ay;
+					for (int t = cellStart[c]; t < cellStart[c + 1]; t++)
+					{
+						int j = point[t];
+						if (j <= i)
+							continue;
+						
+						double d = Math.hypot(x[i] - x[j], y[i] - y[j]);
+						if (d <= r)
+						{
+							// Scale the length to a weight from 1 to n.
+							int weight = 1 + (int) (d / r * (n - 1));
+							sink.addEdge(i, j, weight);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/* ---------------------- Helper Functions ---------------------- */
+	
+	/**
+	 * cellOf()
+	 * 
+	 * @param coord - a coordinate from 0 to 1.
+	 * @param k - cells per side.
+	 * @return - the row or column of the cell the coordinate is in.
+	 */
+	private static int cellOf(double coord, int k)
+	{
+		return Math.min((int) (coord * k), k - 1);
+	}
+	
+}
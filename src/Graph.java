@@ -7,12 +7,11 @@
  *
  */
 
+import java.io.*;
 import java.util.*;
 
 public class Graph {
 
-	private final int MIN = 1;
-	
 	private final String adjListRepStr = "LIST";
 	private final String matrixRepStr = "MATRIX";
 	
@@ -20,21 +19,31 @@ public class Graph {
 	private final String quickSortStr = "QUICKSORT";
 	private final String insertionSortStr = "INSERTION SORT";
 	
+	private final String pairingHeapStr = "PAIRING HEAP";
+	private final String lazyPrimStr = "LAZY HEAP";
+	
 	private int numVertices = 0;
 	private long seed = 0;
 	private double p = 0.0;
 	
 	private Vertex[] vertices;
-	private ArrayList<ArrayList<Integer>> adjList;
+	private AdjacencyList adjList;
 	private int[][] matrix;
+	private int numEdges = 0;
 	
 	private int[] predecessors;
 	
+	// The random graph model generate() draws the edges from.
+	private GraphModel model = GraphModel.ErdosRenyi;
+	
+	// If true, generate() keeps drawing edges until the graph is connected.
+	private boolean requireConnected = false;
+	
 	// Amount of time it took to generate the graph, in milliseconds.
 	private long generationTime = 0;
 	
-	private long kruskalTime = 0;
-	private long primTime = 0;
+	// Name each vertex had before reorder(), or null if never reordered.
+	private int[] originalNames = null;
 	
 	/*
 	 * Do NOT use the default constructor. Instead, use the specific
@@ -58,69 +67,510 @@ public class Graph {
 		this.p = p;
 		
 		vertices = new Vertex[this.numVertices];
-		adjList = new ArrayList<ArrayList<Integer>>();
+		adjList = new AdjacencyList(this.numVertices);
+		matrix = new int[this.numVertices][this.numVertices];
+		
+		generate();
+	}
+	
+	/**
+	 * Graph()
+	 * 
+	 * Same as Graph(numV, seed, p), except that the graph can be made to
+	 * be connected. Otherwise it may have several components, and every
+	 * MST algorithm gives a spanning forest of them.
+	 * 
+	 * @param numV - number of vertices in the graph.
+	 * @param seed - a seed number for generating random numbers.
+	 * @param p - the probability of any two vertices being connected.
+	 * @param requireConnected - true to redraw the edges until the graph
+	 * 							 is connected.
+	 */
+	public Graph(int numV, long seed, double p, boolean requireConnected)
+	{
+		this.numVertices = numV;
+		this.seed = seed;
+		this.p = p;
+		this.requireConnected = requireConnected;
+		
+		vertices = new Vertex[this.numVertices];
+		adjList = new AdjacencyList(this.numVertices);
+		matrix = new int[this.numVertices][this.numVertices];
+		
+		generate();
+	}
+	
+	/**
+	 * Graph()
+	 * 
+	 * Same as Graph(numV, seed, p), except that the edges are drawn from
+	 * the given random graph model instead of G(n, p). Every model reads
+	 * p as the edge density to aim for (see GraphGenerator).
+	 * 
+	 * @param numV - number of vertices in the graph.
+	 * @param seed - a seed number for generating random numbers.
+	 * @param p - the edge density.
+	 * @param model - the random graph model.
+	 */
+	public Graph(int numV, long seed, double p, GraphModel model)
+	{
+		this.numVertices = numV;
+		this.seed = seed;
+		this.p = p;
+		this.model = model;
+		
+		vertices = new Vertex[this.numVertices];
+		adjList = new AdjacencyList(this.numVertices);
 		matrix = new int[this.numVertices][this.numVertices];
 		
 		generate();
 	}
 	
+	/**
+	 * Graph()
+	 * 
+	 * Creates a graph with the given number of vertices and no edges,
+	 * for load() to add edges to.
+	 * 
+	 * @param numV - number of vertices in the graph.
+	 */
+	private Graph(int numV)
+	{
+		this.numVertices = numV;
+		
+		vertices = new Vertex[this.numVertices];
+		adjList = new AdjacencyList(this.numVertices);
+		matrix = new int[this.numVertices][this.numVertices];
+		
+		for (int i = 0; i < numVertices; i++)
+			vertices[i] = new Vertex(i);
+	}
+	
+	/**
+	 * Graph()
+	 * 
+	 * Same as Graph(numV, seed, p), except that the matrix passed in is
+	 * cleared and used instead of allocating a new one. This lets a
+	 * caller building many graphs of the same size reuse one buffer.
+	 * 
+	 * @param numV - number of vertices in the graph.
+	 * @param seed - a seed number for generating random numbers.
+	 * @param p - the probability of any two vertices being connected.
+	 * @param matrix - a numV x numV matrix to store the graph in.
+	 */
+	public Graph(int numV, long seed, double p, int[][] matrix)
+	{
+		this.numVertices = numV;
+		this.seed = seed;
+		this.p = p;
+		
+		if (matrix.length != numV)
+			throw new IllegalArgumentException("Matrix must be n x n.");
+		
+		vertices = new Vertex[this.numVertices];
+		adjList = new AdjacencyList(this.numVertices);
+		this.matrix = matrix;
+		
+		// generate() clears the matrix before using it.
+		generate();
+	}
+	
 	/**
 	 * generate()
 	 * 
 	 * Generates the graph based upon the variables from the input file.
+	 * The graph may be disconnected unless requireConnected is set, in
+	 * which case the edges are drawn again (carrying on with the same
+	 * random streams, so the result still depends only on the seed)
+	 * until it is connected.
 	 */
 	public void generate()
 	{
-		// Time how long it takes to generate the graph.
-		generationTime = System.currentTimeMillis();
+		if (requireConnected && p == 0 && numVertices > 1)
+			throw new IllegalArgumentException(
+					"A graph with p = 0 can never be connected");
+		
+		// GraphGenerator.generate(n, seed, p, sink) seeds the same way.
+		Random rConnect = new Random(seed);
+		Random wConnection = new Random(seed * 2);
+		generationTime = 0;
 		
+		// The DFS also records the predecessors printDFSInfo() shows.
+		do
+		{
+			resetGraphs();
+			
+			// Time how long it takes to generate the graph.
+			long start = System.currentTimeMillis();
+			generateEdges(rConnect, wConnection);
+			generationTime += System.currentTimeMillis() - start;
+		} while (!isConnectedGraph() && requireConnected);
+	}
+	
+	/**
+	 * generateEdges()
+	 * 
+	 * Creates the vertices and draws the edges from the graph's model.
+	 * 
+	 * @param rConnect - decides which vertices are connected.
+	 * @param wConnection - picks the weight of each edge.
+	 */
+	private void generateEdges(Random rConnect, Random wConnection)
+	{
 		// Generate vertices for our adjacency list
 		for (int i = 0; i < numVertices; i++)
-		{
 			vertices[i] = new Vertex(i);
-			adjList.add(new ArrayList<Integer>());
+		
+		GraphGenerator.create(model).generate(numVertices, p,
+				rConnect, wConnection, this::addGeneratedEdge);
+		
+		adjList.trimToSize();
+	}
+	
+	/**
+	 * addGeneratedEdge()
+	 * 
+	 * Adds an edge drawn by a GraphGenerator, unless it is a self loop
+	 * or a repeat.
+	 * 
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge.
+	 * @return - true if the edge was added.
+	 */
+	private boolean addGeneratedEdge(int u, int v, int weight)
+	{
+		if (u == v || matrix[u][v] != 0)
+			return false;
+		
+		// Keep the lower name on the left.
+		if (u < v)
+			addEdge(u, v, weight);
+		else
+			addEdge(v, u, weight);
+		
+		return true;
+	}
+	
+	/**
+	 * addEdge()
+	 * 
+	 * Adds an edge between Vertex u and Vertex v to every representation
+	 * of the graph.
+	 * 
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge (greater than 0).
+	 */
+	private void addEdge(int u, int v, int weight)
+	{
+		// Add the edge to both vertices in our adjacency list.
+		adjList.addEdge(u, v, weight);
+		
+		// Add the weighted edge to our matrix.
+		matrix[u][v] = weight;
+		matrix[v][u] = weight;
+		
+		numEdges++;
+	}
+	
+	/**
+	 * load()
+	 * 
+	 * Reads a graph from an edge list. The first line is the number of
+	 * vertices, and every line after it is an edge "u v weight", where
+	 * u and v are vertex names from 0 to n - 1 and weight > 0. Blank
+	 * lines and lines starting with # are ignored.
+	 * 
+	 * @param br - the reader to read the edge list from.
+	 * @return - the graph.
+	 * @throws IOException - if the edge list can't be read.
+	 * @throws IllegalArgumentException - if the edge list is invalid.
+	 */
+	public static Graph load(BufferedReader br) throws IOException
+	{
+		Graph g = null;
+		int lineNum = 0;
+		
+		String line = br.readLine();
+		while (line != null)
+		{
+			lineNum++;
+			line = line.trim();
+			
+			if (line.length() > 0 && !line.startsWith("#"))
+			{
+				String[] fields = line.split("\\s+");
+				
+				try {
+					if (g == null)
+					{
+						if (fields.length != 1 || Integer.parseInt(fields[0]) < 2)
+							throw new IllegalArgumentException(String.format(
+									"Line %d: n must be greater than 1", lineNum));
+						
+						g = new Graph(Integer.parseInt(fields[0]));
+					}
+					else
+					{
+						if (fields.length != 3)
+							throw new IllegalArgumentException(String.format(
+									"Line %d: expected \"u v weight\"", lineNum));
+						
+						g.loadEdge(
+								Integer.parseInt(fields[0]),
+								Integer.parseInt(fields[1]),
+								Integer.parseInt(fields[2]),
+								lineNum);
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(String.format(
+							"Line %d: values must be integers", lineNum));
+				}
+			}
+			
+			line = br.readLine();
 		}
 		
-		Random rConnect = new Random(seed);
-		Random wConnection = new Random(seed * 2);
-		// For each pair of vertices, determine if they are connected.
-		for (int i = 0; i < numVertices; i++)
+		if (g == null)
+			throw new IllegalArgumentException("Edge list is empty");
+		
+		g.adjList.trimToSize();
+		
+		return g;
+	}
+	
+	/**
+	 * loadEdge()
+	 * 
+	 * Checks an edge read by load() and adds it to the graph.
+	 * 
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge.
+	 * @param lineNum - the line the edge was read from.
+	 */
+	private void loadEdge(int u, int v, int weight, int lineNum)
+	{
+		if (u < 0 || u >= numVertices || v < 0 || v >= numVertices)
+			throw new IllegalArgumentException(String.format(
+					"Line %d: vertex out of range", lineNum));
+		
+		if (u == v || matrix[u][v] != 0)
+			throw new IllegalArgumentException(String.format(
+					"Line %d: self loop or duplicate edge", lineNum));
+		
+		if (weight <= 0)
+			throw new IllegalArgumentException(String.format(
+					"Line %d: weight must be greater than 0", lineNum));
+		
+		// Keep the lower name on the left, as generate() does.
+		if (u < v)
+			addEdge(u, v, weight);
+		else
+			addEdge(v, u, weight);
+	}
+	
+	/**
+	 * reorder()
+	 * 
+	 * Renumbers the vertices so that neighbors have nearby numbers,
+	 * which makes walking the graph more cache friendly (see
+	 * VertexOrder).
+	 * 
+	 * @param type - the order to renumber the vertices in.
+	 * @return - a copy of the graph with its vertices renumbered. Use
+	 * 			 toOriginal() to map its MSTs back to this graph's names.
+	 */
+	public Graph reorder(OrderType type)
+	{
+		return relabel(VertexOrder.order(this, type));
+	}
+	
+	/**
+	 * relabel()
+	 * 
+	 * Renumbers the vertices in the given order, building every
+	 * representation of the graph again under the new numbers.
+	 * 
+	 * @param order - a permutation of the vertices: order[k] is the
+	 * 				  vertex to become Vertex k.
+	 * @return - a copy of the graph with its vertices renumbered.
+	 */
+	public Graph relabel(int[] order)
+	{
+		if (order.length != numVertices)
+			throw new IllegalArgumentException("Order must have n vertices");
+		
+		int[] newName = new int[numVertices];
+		Arrays.fill(newName, -1);
+		for (int k = 0; k < numVertices; k++)
 		{
-			// j = i + 1 because we don't want to try a pair twice.
-			for (int j = i + 1; j < numVertices; j++)
+			if (order[k] < 0 || order[k] >= numVertices || newName[order[k]] != -1)
+				throw new IllegalArgumentException("Order must be a permutation");
+			
+			newName[order[k]] = k;
+		}
+		
+		long start = System.currentTimeMillis();
+		
+		Graph g = new Graph(numVertices);
+		g.seed = seed;
+		g.p = p;
+		g.originalNames = new int[numVertices];
+		
+		// Add each vertex's edges to higher numbers in increasing order,
+		// as generate() does, so the new lists are in the same order.
+		long[] edges = new long[numVertices];
+		for (int k = 0; k < numVertices; k++)
+		{
+			int u = order[k];
+			g.originalNames[k] = (originalNames == null) ? u : originalNames[u];
+			
+			int count = 0;
+			for (int i = 0; i < getDegree(u); i++)
 			{
-				double connected = rConnect.nextDouble();
-				if (connected <= p)
-				{
-					// int range = max - min + 1
-					int range = numVertices - MIN + 1;
-					int weight = MIN + wConnection.nextInt(range);
-					Edge eNew = new Edge(vertices[i], vertices[j], weight);
-					
-					// Add edges to our vertices.
-					vertices[i].addEdge(eNew);
-					vertices[j].addEdge(eNew);
-					
-					
-					// Add the edge to both vertices in our adjacency list.
-					adjList.get(i).add(j);
-					adjList.get(j).add(i);
-					
-					// Add the weighted edge to our matrix.
-					matrix[i][j] = weight;
-					matrix[j][i] = weight;
- 				}
+				int v = newName[getNeighbor(u, i)];
+				if (v > k)
+					edges[count++] = ((long) v << 32) | getNeighborWeight(u, i);
 			}
+			Arrays.sort(edges, 0, count);
+			
+			for (int i = 0; i < count; i++)
+				g.addEdge(k, (int) (edges[i] >>> 32), (int) edges[i]);
 		}
 		
-		generationTime = System.currentTimeMillis() - generationTime;
+		g.adjList.trimToSize();
+		
+		// Fills in the DFS predecessors.
+		g.isConnectedGraph();
 		
-		if (!isConnectedGraph())
+		g.generationTime = System.currentTimeMillis() - start;
+		
+		return g;
+	}
+	
+	/**
+	 * getOriginalName()
+	 * 
+	 * @param v - a vertex of this graph.
+	 * @return - the name v had in the graph this one was reordered from,
+	 * 			 or v if it was never reordered.
+	 */
+	public int getOriginalName(int v)
+	{
+		return (originalNames == null) ? v : originalNames[v];
+	}
+	
+	/**
+	 * toOriginal()
+	 * 
+	 * Maps an MST of this graph back to the vertex names of the graph it
+	 * was reordered from.
+	 * 
+	 * @param mst - the edges of an MST of this graph.
+	 * @return - the same edges under the original names, lower name on
+	 * 			 the left. If the graph was never reordered, mst itself.
+	 */
+	public Edge[] toOriginal(Edge[] mst)
+	{
+		if (originalNames == null)
+			return mst;
+		
+		Edge[] result = new Edge[mst.length];
+		for (int i = 0; i < mst.length; i++)
 		{
-			// We only want a connected graph. Try again.
-			resetGraphs();
-			generate();
+			int u = originalNames[mst[i].getLeftName()];
+			int v = originalNames[mst[i].getRightName()];
+			
+			result[i] = new Edge(
+					Math.min(u, v),
+					Math.max(u, v),
+					mst[i].getWeight());
 		}
+		
+		return result;
+	}
+	
+	/**
+	 * getWeight()
+	 * 
+	 * Gets the weight of the edge between Vertex u and Vertex v.
+	 * 
+	 * @param u - one of the vertices of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @return - the weight of the edge, or 0 if there is no edge.
+	 */
+	public int getWeight(int u, int v)
+	{
+		return matrix[u][v];
+	}
+	
+	/**
+	 * getDegree()
+	 * 
+	 * Gets the number of edges adjacent to Vertex u.
+	 * 
+	 * @param u - the vertex.
+	 * @return - the degree of u.
+	 */
+	public int getDegree(int u)
+	{
+		return adjList.getDegree(u);
+	}
+	
+	/**
+	 * getNeighbor()
+	 * 
+	 * Gets the i-th neighbor of Vertex u in the adjacency list, so a
+	 * caller can stop partway through u's edges.
+	 * 
+	 * @param u - the vertex.
+	 * @param i - an index from 0 to getDegree(u) - 1.
+	 * @return - the vertex at the other end of u's i-th edge.
+	 */
+	public int getNeighbor(int u, int i)
+	{
+		return adjList.getNeighbor(u, i);
+	}
+	
+	/**
+	 * getNeighborWeight()
+	 * 
+	 * @param u - the vertex.
+	 * @param i - an index from 0 to getDegree(u) - 1.
+	 * @return - the weight of u's i-th edge in the adjacency list.
+	 */
+	public int getNeighborWeight(int u, int i)
+	{
+		return adjList.getWeight(u, i);
+	}
+	
+	/**
+	 * getNumEdges()
+	 * 
+	 * Gets the number of edges in the graph.
+	 * 
+	 * @return - the number of edges in the graph.
+	 */
+	public int getNumEdges()
+	{
+		return numEdges;
+	}
+	
+	/**
+	 * estimateSize()
+	 * 
+	 * Roughly estimates how many bytes of heap the graph occupies.
+	 * 
+	 * @return - the estimated size of the graph in bytes.
+	 */
+	public long estimateSize()
+	{
+		// The matrix and the adjacency list, plus a Vertex per vertex.
+		return 4L * numVertices * numVertices
+				+ 24L * numVertices
+				+ adjList.estimateSize();
 	}
 	
 	/**
@@ -135,6 +585,28 @@ public class Graph {
 		return generationTime;
 	}
 	
+	/**
+	 * getNumVertices()
+	 * 
+	 * Gets the number of vertices in the graph.
+	 * 
+	 * @return - the number of vertices in the graph.
+	 */
+	public int getNumVertices()
+	{
+		return numVertices;
+	}
+	
+	/**
+	 * getModel()
+	 * 
+	 * @return - the random graph model the graph was drawn from.
+	 */
+	public GraphModel getModel()
+	{
+		return model;
+	}
+	
 	/**
 	 * isConnectedGraph()
 	 * 
@@ -156,78 +628,68 @@ public class Graph {
 	/**
 	 * countVertices()
 	 * 
-	 * Performs a DFS to count the number of vertices in the graph.
+	 * Performs a DFS to count the number of vertices in the graph
+	 * reachable from Vertex 0, then carries on into any other
+	 * components so that every vertex gets a predecessor (-1 for the
+	 * first vertex of each component).
+	 * 
+	 * The DFS keeps its own stack rather than recursing, since a long
+	 * path (a sparse graph, or a grid) would overflow the call stack.
+	 * It visits the neighbors in adjacency list order, as the recursive
+	 * version did, so the predecessors are the same.
 	 * 
-	 * @return - number of vertices in the graph.
+	 * @return - number of vertices in Vertex 0's component.
 	 */
 	private int countVertices()
 	{
 		resetDFSLists();
 		
-		int count = countVerticesHelper(vertices[0], null, 0);
-		
-		resetVertices();
+		boolean[] visited = new boolean[numVertices];
+		int[] stack = new int[numVertices];
+		int[] next = new int[numVertices]; // Next neighbor of each vertex on the stack.
+		int count = 0;
 		
-		return count;
-	}
-	
-	/**
-	 * countVerticesHelper()
-	 * 
-	 * Recursive function to do a depth-first search to count
-	 * the number of vertices.
-	 * 
-	 * @param count
-	 * @return
-	 */
-	private int countVerticesHelper(Vertex currVertex, Vertex prev, int count)
-	{
-		Vertex current = currVertex;
-		
-		// If we've already visited the vertex, skip it.
-		if (!current.isVisited())
+		for (int root = 0; root < numVertices; root++)
 		{
-			current.visit(); // Mark the vertex as visited.
-			count++; // Increment our counter
+			if (visited[root])
+				continue;
 			
-			if (prev != null)
-				predecessors[currVertex.getName()] = prev.getName();
+			predecessors[root] = -1;
+			visited[root] = true;
+			int top = 0;
+			stack[0] = root;
+			next[root] = 0;
 			
-			ArrayList<Vertex> next = getNextVertices(current);
+			if (root == 0)
+				count++;
 			
-			for (int i = 0; i < next.size(); i++)
+			while (top >= 0)
 			{
-				count = countVerticesHelper(next.get(i), currVertex, count);
+				int u = stack[top];
+				
+				if (next[u] == adjList.getDegree(u))
+				{
+					top--;
+					continue;
+				}
+				
+				int v = adjList.getNeighbor(u, next[u]++);
+				if (!visited[v])
+				{
+					visited[v] = true;
+					predecessors[v] = u;
+					next[v] = 0;
+					stack[++top] = v;
+					
+					if (root == 0)
+						count++;
+				}
 			}
 		}
 		
 		return count;
 	}
 	
-	/**
-	 * getNextVertices()
-	 * 
-	 * Gets an ArrayList of the vertices connected to the one passed in.
-	 * 
-	 * @param current - the vertex whose connected vertices you want to get.
-	 * @return - the connected vertices.
-	 */
-	private ArrayList<Vertex> getNextVertices(Vertex current)
-	{
-		ArrayList<Vertex> vNext = new ArrayList<Vertex>();
-		
-		// Map of weights by the connected node name.
-		ArrayList<Edge> edges = current.getEdges();
-//		HashMap<Integer, Long> edges = current.getEdgeMap();
-		
-		for (int i = 0; i < edges.size(); i++)
-		{
-			vNext.add(edges.get(i).getConnectedVertex(current));
-		}
-		
-		return vNext;
-	}
-	
 	/**
 	 * performEdgeSorts()
 	 * 
@@ -270,7 +732,7 @@ public class Graph {
 		// Adjacency List sorts...
 		printDivider();
 		printEdges(
-				iSort.sort(adjList, vertices), 
+				iSort.sort(adjList), 
 				actionStr,
 				adjListRepStr, 
 				insertionSortStr,
@@ -278,7 +740,7 @@ public class Graph {
 		
 		printDivider();
 		printEdges(
-				cSort.sort(adjList, vertices), 
+				cSort.sort(adjList), 
 				actionStr,
 				adjListRepStr, 
 				countSortStr,
@@ -286,7 +748,7 @@ public class Graph {
 		
 		printDivider();
 		printEdges(
-				qSort.sort(adjList, vertices), 
+				qSort.sort(adjList), 
 				actionStr,
 				adjListRepStr, 
 				quickSortStr,
@@ -302,72 +764,54 @@ public class Graph {
 	 */
 	public void performKruskal()
 	{
-		final String actionStr = "KRUSKAL";
-		
-		// Kruskal with Matrix...
-		printDivider();
-		printEdges(
-				kruskalMST(SortType.Insertion, GraphType.Matrix),
-				actionStr,
-				matrixRepStr, 
-				insertionSortStr,
-				kruskalTime);
-		
-		printDivider();
-		printEdges(
-				kruskalMST(SortType.Count, GraphType.Matrix), 
-				actionStr,
-				matrixRepStr, 
-				countSortStr,
-				kruskalTime);
-		
-		printDivider();
-		printEdges(
-				kruskalMST(SortType.Quick, GraphType.Matrix), 
-				actionStr,
-				matrixRepStr, 
-				quickSortStr,
-				kruskalTime);
+		GraphType[] gTypes = { GraphType.Matrix, GraphType.List };
+		SortType[] sTypes = { SortType.Insertion, SortType.Count, SortType.Quick };
 		
-		// Kruskal with Adjacency List...
-		printDivider();
-		printEdges(
-				kruskalMST(SortType.Insertion, GraphType.List), 
-				actionStr,
-				adjListRepStr, 
-				insertionSortStr,
-				kruskalTime);
-		
-		printDivider();
-		printEdges(
-				kruskalMST(SortType.Count, GraphType.List),  
-				actionStr,
-				adjListRepStr, 
-				countSortStr,
-				kruskalTime);
+		// Kruskal with Matrix, then with Adjacency List...
+		for (int i = 0; i < gTypes.length; i++)
+		{
+			for (int j = 0; j < sTypes.length; j++)
+			{
+				printDivider();
+				printEdges(runKruskal(sTypes[j], gTypes[i]));
+			}
+		}
+	}
+	
+	/**
+	 * runKruskal()
+	 * 
+	 * Runs and times Kruskal's algorithm. Nothing is stored on the
+	 * Graph, so this can be called from several threads at once.
+	 * 
+	 * @param sType - the sort to order the edges with.
+	 * @param gType - the representation of the Graph to use.
+	 * @return - the MST along with how it was computed and its runtime.
+	 */
+	public MSTResult runKruskal(SortType sType, GraphType gType)
+	{
+		long runtime = System.currentTimeMillis();
+		Edge[] mst = kruskalMST(sType, gType);
+		runtime = System.currentTimeMillis() - runtime;
 		
-		printDivider();
-		printEdges(
-				kruskalMST(SortType.Quick, GraphType.List), 
-				actionStr,
-				adjListRepStr, 
-				quickSortStr,
-				kruskalTime);
+		return new MSTResult(
+				"KRUSKAL",
+				getRepStr(gType),
+				getSortStr(sType),
+				mst,
+				runtime);
 	}
 	
 	/**
 	 * kruskalMST()
 	 * 
-	 * Creates an MST of the graph by using Kruskal's algorithm.
+	 * Creates an MST of the graph by using Kruskal's algorithm, or a
+	 * minimum spanning forest if the graph isn't connected.
 	 * 
 	 * @return the MST as an array of Edges.
 	 */
 	private Edge[] kruskalMST(SortType sType, GraphType gType)
 	{
-		kruskalTime = System.currentTimeMillis();
-		
-		ArrayList<Edge> mst = new ArrayList<Edge>();
-		
 		// Sort Edges in non-decreasing order by weight.
 		Edge[] sorted = null;
 		Sort iSort = new InsertionSort();
@@ -380,21 +824,21 @@ public class Graph {
 				if (gType == GraphType.Matrix)
 					sorted = iSort.sort(matrix);
 				else
-					sorted = iSort.sort(adjList, vertices);
+					sorted = iSort.sort(adjList);
 				break;
 				
 			case 1: // Count Sort
 				if (gType == GraphType.Matrix)
 					sorted = cSort.sort(matrix);
 				else
-					sorted = cSort.sort(adjList, vertices);
+					sorted = cSort.sort(adjList);
 				break;
 				
 			case 2: // Quick Sort
 				if (gType == GraphType.Matrix)
 					sorted = qSort.sort(matrix);
 				else
-					sorted = qSort.sort(adjList, vertices);
+					sorted = qSort.sort(adjList);
 				break;
 				
 			default: // Shouldn't happen unless I suck at writing code.
@@ -402,6 +846,23 @@ public class Graph {
 				break;
 		}
 		
+		return kruskalForest(numVertices, sorted);
+	}
+	
+	/**
+	 * kruskalForest()
+	 * 
+	 * Runs the union-find pass of Kruskal's algorithm over edges that
+	 * have already been sorted.
+	 * 
+	 * @param numVertices - number of vertices the edges join.
+	 * @param sorted - the edges in non-decreasing order.
+	 * @return - the minimum spanning tree, or forest, of the edges.
+	 */
+	static Edge[] kruskalForest(int numVertices, Edge[] sorted)
+	{
+		ArrayList<Edge> mst = new ArrayList<Edge>();
+		
 		// Initialize a partition structure.
 		int[] partition = new int[numVertices];
 		int[] rank = new int[numVertices];
@@ -414,14 +875,13 @@ public class Graph {
 		int includedCount = 0;
 		int index = 0;
 		
-		while (includedCount < numVertices - 1) {
-			if (index >= sorted.length)
-				MST.exitWithMessage("Index is greater than sorted array size.");
-			
+		// A spanning tree is done at n - 1 edges. If the graph isn't
+		// connected, the edges run out first, leaving a spanning forest.
+		while (includedCount < numVertices - 1 && index < sorted.length) {
 			Edge curr = sorted[index];
 			
-			int u = curr.getLeftVertex().getName();
-			int v = curr.getRightVertex().getName();
+			int u = curr.getLeftName();
+			int v = curr.getRightName();
 			
 			int root1 = find(u, partition);
 			int root2 = find(v, partition);
@@ -440,8 +900,6 @@ public class Graph {
 			index++;
 		}
 		
-		kruskalTime = System.currentTimeMillis() - kruskalTime;
-		
 		return mst.toArray(new Edge[mst.size()]);
 	}
 	
@@ -454,7 +912,7 @@ public class Graph {
 	 * @param p - the partition to use to find the root of v.
 	 * @return - the Vertex that is the root of v.
 	 */
-	private int find(int v, int[] p)
+	private static int find(int v, int[] p)
 	{		
 		// The root is where the parent is itself.
 		if (v != p[v])
@@ -475,7 +933,7 @@ public class Graph {
 	 * @param p - the partition for the Vertices.
 	 * @param rank - an array of the Vertices' ranks.
 	 */
-	private void union (int u, int v, int[] p, int[] rank)
+	private static void union (int u, int v, int[] p, int[] rank)
 	{
 		if (rank[u] > rank[v])
 		{
@@ -492,210 +950,488 @@ public class Graph {
 	/**
 	 * performPrim()
 	 * 
-	 * Performs Prim's Algorithm to generate an MST using the different
-	 * representations of the Graph (Matrix, List) and prints the results.
+	 * Performs Prim's Algorithm to generate an MST using the different
+	 * representations of the Graph (Matrix, List) and prints the results.
+	 */
+	public void performPrim()
+	{
+		GraphType[] gTypes = { GraphType.Matrix, GraphType.List };
+		PQType[] pqTypes = PQType.values();
+		
+		for (int i = 0; i < pqTypes.length; i++)
+		{
+			for (int j = 0; j < gTypes.length; j++)
+			{
+				printDivider();
+				printEdges(runPrim(gTypes[j], pqTypes[i]));
+			}
+		}
+	}
+	
+	/**
+	 * runPrim()
+	 * 
+	 * Runs and times Prim's algorithm. Nothing is stored on the
+	 * Graph, so this can be called from several threads at once.
+	 * 
+	 * @param gType - the representation of the Graph to use.
+	 * @param pqType - the priority queue to use.
+	 * @return - the MST along with how it was computed and its runtime.
+	 */
+	public MSTResult runPrim(GraphType gType, PQType pqType)
+	{
+		long runtime = System.currentTimeMillis();
+		Edge[] mst = primMST(gType, pqType);
+		runtime = System.currentTimeMillis() - runtime;
+		
+		return new MSTResult(
+				"PRIM",
+				"ADJACENCY " + getRepStr(gType),
+				getPQStr(pqType),
+				mst,
+				runtime);
+	}
+	
+	/**
+	 * primMST()
+	 * 
+	 * Creates a MST from the Graph using Prim's algorithm with the
+	 * given type of priority queue, or a minimum spanning forest if the
+	 * Graph isn't connected.
+	 * 
+	 * @param gType - the representation of the Graph to use.
+	 * @param pqType - the priority queue to use.
+	 * @return - the minimum spanning tree of the graph as an array of Edges.
+	 */
+	public Edge[] primMST(GraphType gType, PQType pqType)
+	{
+		if (pqType == PQType.Pairing)
+			return primPairingMST(gType);
+		
+		if (pqType == PQType.Lazy)
+		{
+			int[] parent = new int[numVertices];
+			int[] key = new int[numVertices];
+			primLazy(gType, parent, key);
+			
+			return toEdges(parent, key);
+		}
+		
+		return primMST(gType);
+	}
+	
+	/**
+	 * primMST()
+	 * 
+	 * Creates a MST from the Graph using Prim's algorithm.
+	 * 
+	 * @return - the minimum spanning tree of the graph as an array of Edges.
+	 */
+	private Edge[] primMST(GraphType gType)
+	{
+		ArrayList<Edge> mst = new ArrayList<Edge>();
+		
+		// Every vertex goes in the PQ, including any without edges.
+		Vertex[] verts = vertices;
+		
+		MinPQ pq = new MinPQ(verts);
+		
+		// We want to start with Vertex 0.
+		pq.setPriority(0, 0, 0);
+		
+		while (!pq.isEmpty())
+		{
+			// Remove the min element.
+			int[] min = pq.deleteMin();
+			int u = min[0];
+			
+			// If it's any Vertex other than Vertex 0, and it was reached
+			// from the tree. A vertex still at MAX_VALUE is in another
+			// component, and starts a new tree of the forest.
+			if (u != 0 && min[1] != Integer.MAX_VALUE)
+			{
+				// Add the edge between u and its parent.
+				mst.add(new Edge(
+						min[2], 
+						u, 
+						min[1]));
+			}
+			
+			// For every v adjacent to u, if v isn't in the MST already,
+			// and weight(u,v) < priority of v in PQ, update the parent
+			// and priority. Each representation gets its own loop over
+			// its own array, so nothing is called per edge but the PQ.
+			if (gType == GraphType.Matrix)
+			{
+				int[] row = matrix[u];
+				
+				for (int v = 0; v < row.length; v++)
+				{
+					// Only relax an edge if one exists (weight > 0).
+					if (row[v] > 0 && pq.contains(v) && row[v] < pq.getPriority(v))
+						pq.setPriority(v, row[v], u);
+				}
+			}
+			else
+			{
+				int[] slots = adjList.getSlots(u);
+				int end = 2 * adjList.getDegree(u);
+				
+				for (int k = 0; k < end; k += 2)
+				{
+					int v = slots[k];
+					if (pq.contains(v) && slots[k + 1] < pq.getPriority(v))
+						pq.setPriority(v, slots[k + 1], u);
+				}
+			}
+		}
+		
+		// Order the edges by the vertex they lead to.
+		Edge[] byVertex = new Edge[numVertices];
+		for (int i = 0; i < mst.size(); i++)
+		{
+			Edge e = mst.get(i);
+			byVertex[e.getRightName()] = e;
+		}
+		
+		Edge[] mstArr = new Edge[mst.size()];
+		int count = 0;
+		for (int v = 0; v < numVertices; v++)
+		{
+			if (byVertex[v] != null)
+				mstArr[count++] = byVertex[v];
+		}
+		
+		return mstArr;
+	}
+	
+	/**
+	 * primLazy()
+	 * 
+	 * Runs a lazy Prim's algorithm straight off the Graph's storage.
+	 * Neighbors are read from the matrix row or the adjacency list's
+	 * array as they're needed, the tree is recorded into the arrays passed in,
+	 * and no Edges are created. Instead of decreasing keys, an improved
+	 * (weight, vertex) pair is pushed onto a heap of longs and stale
+	 * pairs are skipped when they come off it.
+	 * 
+	 * @param gType - the representation of the Graph to use.
+	 * @param parent - filled with the parent of each Vertex in the MST
+	 * 				   (-1 for Vertex 0, the root, and for the root of
+	 * 				   each further tree if the graph isn't connected).
+	 * @param key - filled with the weight of the edge from each Vertex
+	 * 				to its parent (0 for the root).
+	 */
+	public void primLazy(GraphType gType, int[] parent, int[] key)
+	{
+		boolean[] inTree = new boolean[numVertices];
+		for (int i = 0; i < numVertices; i++)
+		{
+			parent[i] = -1;
+			key[i] = Integer.MAX_VALUE;
+		}
+		
+		// Entries are (weight << 32) | vertex, so they order by weight.
+		LongMinHeap pq = new LongMinHeap(numVertices);
+		
+		// We want to start with Vertex 0. Any vertex the tree doesn't
+		// reach roots another tree of the forest.
+		for (int root = 0; root < numVertices; root++)
+		{
+			if (inTree[root])
+				continue;
+			
+			key[root] = 0;
+			pq.insert(root);
+			
+			while (!pq.isEmpty())
+			{
+				int u = (int) pq.deleteMin();
+				
+				// Skip pairs left behind by a later, lighter edge.
+				if (inTree[u])
+					continue;
+				
+				inTree[u] = true;
+				
+				if (gType == GraphType.Matrix)
+				{
+					int[] row = matrix[u];
+					
+					for (int v = 0; v < row.length; v++)
+					{
+						int weight = row[v];
+						if (weight > 0 && !inTree[v] && weight < key[v])
+						{
+							key[v] = weight;
+							parent[v] = u;
+							pq.insert(((long) weight << 32) | v);
+						}
+					}
+				}
+				else
+				{
+					int[] slots = adjList.getSlots(u);
+					int end = 2 * adjList.getDegree(u);
+					
+					for (int k = 0; k < end; k += 2)
+					{
+						int v = slots[k];
+						int weight = slots[k + 1];
+						if (!inTree[v] && weight < key[v])
+						{
+							key[v] = weight;
+							parent[v] = u;
+							pq.insert(((long) weight << 32) | v);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * runDensePrim()
+	 * 
+	 * Runs and times the O(n^2) array version of Prim's algorithm on the
+	 * matrix.
+	 * 
+	 * @return - the MST along with how it was computed and its runtime.
+	 */
+	public MSTResult runDensePrim()
+	{
+		long runtime = System.currentTimeMillis();
+		Edge[] mst = densePrimMST();
+		runtime = System.currentTimeMillis() - runtime;
+		
+		return new MSTResult(
+				"PRIM",
+				"ADJACENCY " + matrixRepStr,
+				"DENSE " + PrimKernel.getDefault().getName(),
+				mst,
+				runtime);
+	}
+	
+	/**
+	 * densePrimMST()
+	 * 
+	 * Creates an MST from the matrix with DensePrim, which scans arrays
+	 * instead of using a priority queue.
+	 * 
+	 * @return - the minimum spanning tree (or forest) as an array of
+	 * 			 Edges, in the order primMST() returns them.
 	 */
-	public void performPrim()
+	public Edge[] densePrimMST()
 	{
-		final String actionStr = "PRIM";
-		
-		// Kruskal with Matrix...
-		printDivider();
-		printEdges(
-				primMST(GraphType.Matrix),
-				actionStr,
-				"ADJACENCY " + matrixRepStr, 
-				null,
-				primTime);
+		int[] parent = new int[numVertices];
+		int[] key = new int[numVertices];
+		new DensePrim(matrix).run(parent, key);
 		
-		printDivider();
-		printEdges(
-				primMST(GraphType.List), 
-				actionStr,
-				"ADJACENCY " + adjListRepStr, 
-				null,
-				kruskalTime);
+		return toEdges(parent, key);
 	}
 	
 	/**
-	 * primMST()
+	 * toEdges()
 	 * 
-	 * Creates a MST from the Graph using Prim's algorithm.
+	 * Materializes a tree or forest recorded as parent and key arrays
+	 * as an array of Edges in the same order primMST() returns them.
 	 * 
-	 * @return - the minimum spanning tree of the graph as an array of Edges.
+	 * @param parent - the parent of each Vertex (-1 for roots).
+	 * @param key - the weight of the edge from each Vertex to its parent.
+	 * @return - the tree as an array of Edges.
 	 */
-	private Edge[] primMST(GraphType gType)
+	public Edge[] toEdges(int[] parent, int[] key)
 	{
-		primTime = System.currentTimeMillis();
-		
-		ArrayList<Edge> mst = new ArrayList<Edge>();
-		
-		// Get Edges from the appropriate representation.
-		Edge[] edges;
-		if (gType == GraphType.List)
+		int numTreeEdges = 0;
+		for (int v = 0; v < numVertices; v++)
 		{
-			edges = getEdgesFrom(adjList, vertices);
-		}
-		else
-		{
-			edges = getEdgesFrom(matrix, vertices);
+			if (parent[v] != -1)
+				numTreeEdges++;
 		}
 		
-		Vertex[] verts = new Vertex[numVertices];
-		for (int i = 0; i < edges.length; i++)
+		Edge[] mstArr = new Edge[numTreeEdges];
+		int count = 0;
+		for (int v = 0; v < numVertices; v++)
 		{
-			verts[edges[i].getLeftVertex().getName()] = edges[i].getLeftVertex();
-			verts[edges[i].getRightVertex().getName()] = edges[i].getRightVertex();
+			if (parent[v] == -1)
+				continue;
+			
+			mstArr[count++] = new Edge(
+					parent[v],
+					v,
+					key[v]);
 		}
 		
-		MinPQ pq = new MinPQ(verts);
+		return mstArr;
+	}
+	
+	/**
+	 * primPairingMST()
+	 * 
+	 * Creates a MST from the Graph using Prim's algorithm with a
+	 * pairing heap, whose amortized O(1) decrease-key makes this
+	 * O(E + V log V). This pays off on dense graphs, where E is close
+	 * to V^2 / 2.
+	 * 
+	 * @param gType - the representation of the Graph to use.
+	 * @return - the minimum spanning tree of the graph as an array of Edges.
+	 */
+	private Edge[] primPairingMST(GraphType gType)
+	{
+		PairingHeap pq = new PairingHeap(numVertices);
+		int[] parent = new int[numVertices];
 		
 		// We want to start with Vertex 0.
-		pq.setPriority(0, 0, 0);
+		for (int i = 0; i < numVertices; i++)
+		{
+			parent[i] = -1;
+			pq.insert(i, (i == 0) ? 0 : Integer.MAX_VALUE);
+		}
 		
 		while (!pq.isEmpty())
 		{
-			// Remove the min element.
-			int[] min = pq.deleteMin();
-			Vertex u = verts[min[0]];
+			int u = pq.deleteMin();
 			
-			// If it's any Vertex other than Vertex 0...
-			if (u.getName() != 0)
+			// For every v adjacent to u, if v isn't in the MST already,
+			// and weight(u,v) < priority of v in PQ, update the parent
+			// and priority.
+			if (gType == GraphType.Matrix)
 			{
-				// Add the edge between u and its parent.
-				mst.add(new Edge(
-						verts[min[2]], 
-						verts[min[0]], 
-						min[1]));
+				int[] row = matrix[u];
+				
+				for (int v = 0; v < row.length; v++)
+				{
+					if (row[v] > 0 && pq.contains(v) && row[v] < pq.getKey(v))
+					{
+						pq.decreaseKey(v, row[v]);
+						parent[v] = u;
+					}
+				}
 			}
-			
-			ArrayList<Edge> vEdges = u.getEdges();
-			Iterator<Edge> iter = vEdges.iterator();
-			
-			// For every edge v adjacent to u...
-			while (iter.hasNext())
+			else
 			{
-				Edge currEdge = iter.next();
-				try {
-					Vertex v = currEdge.getOtherVertex(u);
-					
-					// If v isn't in the MST already, and
-					// weight(u,v) < priority of v in PQ...
-					if (pq.contains(v.getName()) && 
-							currEdge.getWeight() < pq.getPriority(v.getName()))
+				int[] slots = adjList.getSlots(u);
+				int end = 2 * adjList.getDegree(u);
+				
+				for (int k = 0; k < end; k += 2)
+				{
+					int v = slots[k];
+					if (pq.contains(v) && slots[k + 1] < pq.getKey(v))
 					{
-						// Update the parent and priority.
-						pq.setPriority(
-								v.getName(), 
-								currEdge.getWeight(), 
-								u.getName());
+						pq.decreaseKey(v, slots[k + 1]);
+						parent[v] = u;
 					}
-				
-				} catch(VertexException e) {
-					MST.exitWithError(e);
 				}
 			}
 		}
 		
-		Edge[] mstArr = new Edge[numVertices - 1];
-		for (int i = 0; i < mst.size(); i++)
-		{
-			Edge e = mst.get(i);
-			mstArr[e.getRightVertex().getName() - 1] = e;
-		}
-		
-		primTime = System.currentTimeMillis() - primTime;
+		int[] key = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+			key[v] = pq.getKey(v);
 		
-		return mstArr;
+		return toEdges(parent, key);
 	}
 	
 	/**
-	 * getEdgesFrom()
-	 * 
-	 * Gets an array of edges from an adjacency list representation
-	 * of a graph.
+	 * performKKT()
 	 * 
-	 * @param adjList - the adjacency list to get the edges from.
-	 * @return - an array of the Edges in the graph.
+	 * Performs the Karger-Klein-Tarjan algorithm to generate an MST using
+	 * the different representations of the Graph (Matrix, List) and
+	 * prints the results.
 	 */
-	private Edge[] getEdgesFrom(
-			ArrayList<ArrayList<Integer>> adjList,
-			Vertex[] vertices)
+	public void performKKT()
 	{
-		ArrayList<Edge> edges = new ArrayList<Edge>();
+		GraphType[] gTypes = { GraphType.Matrix, GraphType.List };
 		
-		for (int i = 0; i < adjList.size(); i++)
+		for (int i = 0; i < gTypes.length; i++)
 		{
-			for (int j = 0; j < adjList.get(i).size(); j++)
-			{
-				// Get the edge from each vertex...
-				Edge currEdge = vertices[i].getEdgeByVRight(adjList.get(i).get(j));
-				
-				// Add the edges to our ArrayList.
-				// This will ignore duplicate edges.
-				if (currEdge != null && !edges.contains(currEdge))
-					edges.add(currEdge);
-			}
+			printDivider();
+			printEdges(runKKT(gTypes[i]));
 		}
+	}
+	
+	/**
+	 * runKKT()
+	 * 
+	 * Runs and times the Karger-Klein-Tarjan algorithm. Nothing is stored
+	 * on the Graph, so this can be called from several threads at once.
+	 * 
+	 * @param gType - the representation of the Graph to use.
+	 * @return - the MST along with how it was computed and its runtime.
+	 */
+	public MSTResult runKKT(GraphType gType)
+	{
+		long runtime = System.currentTimeMillis();
+		Edge[] mst = kktMST(gType);
+		runtime = System.currentTimeMillis() - runtime;
 		
-		// Convert the HashSet to an array of Edges and return it.
-		return edges.toArray(new Edge[edges.size()]);
+		return new MSTResult(
+				"KKT",
+				getRepStr(gType),
+				null,
+				mst,
+				runtime);
 	}
 	
 	/**
-	 * getEdgesFrom()
+	 * kktMST()
 	 * 
-	 * Gets an array of edges from a matrix representation
-	 * of a graph.
+	 * Creates an MST of the graph with the randomized, expected linear
+	 * time algorithm of Karger, Klein and Tarjan (see KKTMST). Ties are
+	 * broken as Edge.lessThan() breaks them, so the result has the same
+	 * edges as Kruskal's algorithm with QuickSort.
 	 * 
-	 * @param matrix - the matrix to get the edges from. 
-	 * @return - an array of the Edges in the graph.
+	 * @param gType - the representation of the Graph to read the edges from.
+	 * @return - the minimum spanning tree of the graph as an array of Edges.
 	 */
-	private Edge[] getEdgesFrom(int[][] matrix, Vertex[] vertices)
+	public Edge[] kktMST(GraphType gType)
 	{
-		HashMap<Integer, HashSet<Integer>> visited = 
-			new HashMap<Integer, HashSet<Integer>>();
-		ArrayList<Edge> edges = new ArrayList<Edge>();
+		int[] u = new int[numEdges];
+		int[] v = new int[numEdges];
+		int[] weight = new int[numEdges];
+		int count = 0;
 		
-		for (int i = 0; i < matrix.length; i++)
+		// Take each edge once, from its lower vertex.
+		for (int i = 0; i < numVertices; i++)
 		{
-			for (int j = 0; j < matrix[i].length; j++)
+			if (gType == GraphType.Matrix)
 			{
-				// Check to see if we've already created the edge.
-				// We only need half of the graph because it is symmetric.
-				if (visited.containsKey(j) && visited.get(j).contains(i))
-					continue;
-				else
+				int[] row = matrix[i];
+				
+				for (int j = i + 1; j < row.length; j++)
 				{
-					int weight = matrix[i][j];
-					
-					// Only create an edge if one exists (weight > 0).
-					if (weight > 0)
+					if (row[j] > 0)
 					{
-						Vertex left = vertices[i];
-						Vertex right = vertices[j];
-												
-						// Add the new Edge.
-						edges.add(new Edge(left, right, weight));
-						
-						// Add this to our list of visited edges.
-						if (visited.containsKey(i))
-						{
-							visited.get(i).add(j);
-						}
-						else
-						{
-							HashSet<Integer> visNew = new HashSet<Integer>();
-							visNew.add(j);
-							visited.put(i, visNew);
-						}
+						u[count] = i;
+						v[count] = j;
+						weight[count++] = row[j];
+					}
+				}
+			}
+			else
+			{
+				int[] slots = adjList.getSlots(i);
+				int end = 2 * adjList.getDegree(i);
+				
+				for (int k = 0; k < end; k += 2)
+				{
+					if (i < slots[k])
+					{
+						u[count] = i;
+						v[count] = slots[k];
+						weight[count++] = slots[k + 1];
 					}
 				}
 			}
 		}
 		
-		// Convert the ArrayList of Edges to an array and return it.
-		return edges.toArray(new Edge[edges.size()]);
+		int[] ids = new KKTMST(u, v, weight, seed).minimumSpanningForest(numVertices);
+		
+		Edge[] mstArr = new Edge[ids.length];
+		for (int i = 0; i < ids.length; i++)
+			mstArr[i] = new Edge(u[ids[i]], v[ids[i]], weight[ids[i]]);
+		
+		return mstArr;
 	}
 	
 	/* ---------------- Print Functions ---------------- */
@@ -710,23 +1446,15 @@ public class Graph {
 		if (numVertices > 10)
 			return;
 		
-		System.out.println("\nThe graph as an adjacency matrix:");
-		
-		for (int i = 0; i < numVertices; i++)
+		ResultWriter out = ResultWriter.toStandardOut();
+		synchronized (out)
 		{
-			String currLine = "\n ";
-			
-			for (int j = 0; j < numVertices; j++)
-			{
-				String spacing = "   ";
-				
-				if (matrix[i][j] == 10)
-					spacing = "  ";
-				
-				currLine += spacing + Long.toString(matrix[i][j]);
+			try {
+				writeAdjacencyMatrix(out);
+				out.flush();
+			} catch (IOException e) {
+				MST.exitWithError(e);
 			}
-			
-			System.out.println(currLine);
 		}
 	}
 	
@@ -741,26 +1469,15 @@ public class Graph {
 		if (numVertices > 10)
 			return;
 		
-		System.out.println("\nThe graph as an adjacency list:");
-		for (int i = 0; i < adjList.size(); i++)
+		ResultWriter out = ResultWriter.toStandardOut();
+		synchronized (out)
 		{
-			Vertex currVertex = vertices[i];
-			
-			ArrayList<Edge> edges = currVertex.getEdges();
-			
-			String currLine = currVertex.nameToString() + "->";
-			
-			for (int j = 0; j < edges.size(); j++)
-			{
-				Edge edge = edges.get(j);
-				currLine += " " 
-					+ Integer.toString(
-							edge.getConnectedVertex(currVertex).getName()
-							) 
-					+ String.format("(%d)", edge.getWeight());
+			try {
+				writeAdjacencyList(out);
+				out.flush();
+			} catch (IOException e) {
+				MST.exitWithError(e);
 			}
-			
-			System.out.println(currLine);
 		}
 	}
 	
@@ -775,21 +1492,16 @@ public class Graph {
 		if (numVertices > 10)
 			return;
 		
-		String verticesStr = "";		
-		String predecessorsStr = "";
-		for (int i = 0; i < predecessors.length; i++)
-		{			
-			if (i > 0)
-				predecessorsStr += " ";
-			
-			verticesStr += " " + Integer.toString(i);
-			predecessorsStr += Integer.toString(predecessors[i]);
+		ResultWriter out = ResultWriter.toStandardOut();
+		synchronized (out)
+		{
+			try {
+				writeDFSInfo(out);
+				out.flush();
+			} catch (IOException e) {
+				MST.exitWithError(e);
+			}
 		}
-		
-		System.out.println("\nDepth-First Search:\nVertices:");
-		System.out.println(verticesStr);
-		System.out.println("Predecessors:");
-		System.out.println(predecessorsStr);
 	}
 	
 	/**
@@ -810,71 +1522,346 @@ public class Graph {
 			String sortName, 
 			long runtime)
 	{
+		ResultWriter out = ResultWriter.toStandardOut();
+		synchronized (out)
+		{
+			try {
+				writeEdges(a, actionStr, gRep, sortName, numVertices <= 10, out);
+				
+				// A disconnected graph gives a forest, one tree per component.
+				if (!actionStr.equals("SORTED EDGES") && a.length < numVertices - 1)
+					writeForest(a, out);
+				
+				out.writeText("Runtime: ");
+				out.writeLong(runtime);
+				out.writeText(" milliseconds\n\n");
+				out.flush();
+			} catch (IOException e) {
+				MST.exitWithError(e);
+			}
+		}
+	}
+	
+	/**
+	 * writeForest()
+	 * 
+	 * Writes the number of trees in a spanning forest and, for small
+	 * graphs, the size and weight of each tree.
+	 * 
+	 * @param a - the edges of the spanning forest.
+	 * @param out - the text writer to write to.
+	 */
+	private void writeForest(Edge[] a, ResultWriter out) throws IOException
+	{
+		SpanningForest forest = new SpanningForest(numVertices, a);
+		
+		out.writeText("Spanning forest of ");
+		out.writeInt(forest.getNumTrees());
+		out.writeText(" trees\n");
+		
+		if (numVertices <= 10)
+		{
+			for (int t = 0; t < forest.getNumTrees(); t++)
+			{
+				out.writeText("Tree ");
+				out.writeInt(t);
+				out.writeText(": ");
+				out.writeInt(forest.getTreeSize(t));
+				out.writeText(" vertices, weight = ");
+				out.writeLong(forest.getTreeWeight(t));
+				out.writeChar('\n');
+			}
+		}
+	}
+	
+	/**
+	 * printEdges()
+	 * 
+	 * Prints the edges of an MST, along with relevant info.
+	 * 
+	 * @param result - the result of a run of an MST algorithm.
+	 */
+	public void printEdges(MSTResult result)
+	{
+		printEdges(
+				result.getEdges(),
+				result.getActionStr(),
+				result.getRepresentation(),
+				result.getVariant(),
+				result.getRuntime());
+	}
+	
+	/**
+	 * printDivider()
+	 * 
+	 * Prints a divider for breaking up sections of the program output.
+	 */
+	public void printDivider()
+	{
+		ResultWriter out = ResultWriter.toStandardOut();
+		synchronized (out)
+		{
+			try {
+				out.writeText("===================================\n");
+				out.flush();
+			} catch (IOException e) {
+				MST.exitWithError(e);
+			}
+		}
+	}
+	
+	/* ---------------- Write Functions ---------------- */
+	
+	/**
+	 * writeAdjacencyMatrix()
+	 * 
+	 * Writes the adjacency matrix, whatever the size of the graph. In
+	 * Binary format that is n, then the matrix a row at a time.
+	 * 
+	 * @param out - where to write it.
+	 */
+	public void writeAdjacencyMatrix(ResultWriter out) throws IOException
+	{
+		if (!out.isText())
+		{
+			out.writeInt(numVertices);
+			for (int i = 0; i < numVertices; i++)
+				for (int j = 0; j < numVertices; j++)
+					out.writeInt(matrix[i][j]);
+			return;
+		}
+		
+		out.writeText("\nThe graph as an adjacency matrix:\n");
+		
+		for (int i = 0; i < numVertices; i++)
+		{
+			out.writeText("\n ");
+			
+			for (int j = 0; j < numVertices; j++)
+			{
+				out.writeText((matrix[i][j] == 10) ? "  " : "   ");
+				out.writeInt(matrix[i][j]);
+			}
+			
+			out.writeChar('\n');
+		}
+	}
+	
+	/**
+	 * writeAdjacencyList()
+	 * 
+	 * Writes the adjacency list, whatever the size of the graph. In
+	 * Binary format it is each edge once, in the binary edge format, so
+	 * the output can be read back by ExternalKruskal or StreamingMST.
+	 * 
+	 * @param out - where to write it.
+	 */
+	public void writeAdjacencyList(ResultWriter out) throws IOException
+	{
+		if (out.isText())
+			out.writeText("\nThe graph as an adjacency list:\n");
+		
+		for (int i = 0; i < numVertices; i++)
+		{
+			
+			if (out.isText())
+			{
+				out.writeInt(i);
+				out.writeText("->");
+			}
+			
+			for (int j = 0; j < adjList.getDegree(i); j++)
+			{
+				int other = adjList.getNeighbor(i, j);
+				int weight = adjList.getWeight(i, j);
+				
+				if (out.isText())
+				{
+					out.writeChar(' ');
+					out.writeInt(other);
+					out.writeChar('(');
+					out.writeInt(weight);
+					out.writeChar(')');
+				}
+				else if (i < other)
+					out.writeEdge(i, other, weight);
+			}
+			
+			out.writeChar('\n');
+		}
+	}
+	
+	/**
+	 * writeDFSInfo()
+	 * 
+	 * Writes the predecessors found by the depth-first search, whatever
+	 * the size of the graph. In Binary format that is one int per vertex.
+	 * 
+	 * @param out - where to write them.
+	 */
+	public void writeDFSInfo(ResultWriter out) throws IOException
+	{
+		if (!out.isText())
+		{
+			for (int i = 0; i < predecessors.length; i++)
+				out.writeInt(predecessors[i]);
+			return;
+		}
+		
+		out.writeText("\nDepth-First Search:\nVertices:\n");
+		for (int i = 0; i < predecessors.length; i++)
+		{
+			out.writeChar(' ');
+			out.writeInt(i);
+		}
+		
+		out.writeText("\nPredecessors:\n");
+		for (int i = 0; i < predecessors.length; i++)
+		{
+			if (i > 0)
+				out.writeChar(' ');
+			
+			out.writeInt(predecessors[i]);
+		}
+		out.writeChar('\n');
+	}
+	
+	/**
+	 * writeEdges()
+	 * 
+	 * Writes every edge of an MST, whatever the size of the graph, as
+	 * printEdges() prints them. In Binary format it is just the edges,
+	 * in the binary edge format.
+	 * 
+	 * @param result - the result of a run of an MST algorithm.
+	 * @param out - where to write it.
+	 */
+	public void writeEdges(MSTResult result, ResultWriter out) throws IOException
+	{
+		if (!out.isText())
+		{
+			out.writeEdges(result.getEdges());
+			return;
+		}
+		
+		writeEdges(
+				result.getEdges(),
+				result.getActionStr(),
+				result.getRepresentation(),
+				result.getVariant(),
+				true,
+				out);
+	}
+	
+	/**
+	 * writeEdges()
+	 * 
+	 * Writes the heading, edges and total weight of printEdges() as text.
+	 * 
+	 * @param listEdges - false to leave out the edges themselves.
+	 */
+	private void writeEdges(
+			Edge[] a,
+			String actionStr,
+			String gRep,
+			String sortName,
+			boolean listEdges,
+			ResultWriter out) throws IOException
+	{
+		out.writeText(actionStr);
+		out.writeText(" WITH ");
+		out.writeText(gRep);
 		if (sortName != null)
-			System.out.printf("%s WITH %s USING %s\n",
-					actionStr,
-					gRep,
-					sortName);
-		else
-			System.out.printf("%s WITH %s\n",
-					actionStr,
-					gRep);
+		{
+			out.writeText(" USING ");
+			out.writeText(sortName);
+		}
+		out.writeChar('\n');
 		
-		int totalWeight = 0;
+		// A long, as the weights of a large graph can add up past an int.
+		long totalWeight = 0;
 		for (int i = 0; i < a.length; i++)
 		{
 			totalWeight += a[i].getWeight();
 			
-			if (numVertices <= 10)
+			if (listEdges)
 			{
-				System.out.printf("%d %d weight = %d\n", 
-						a[i].getLeftVertex().getName(), 
-						a[i].getRightVertex().getName(), 
+				out.writeEdge(
+						a[i].getLeftName(), 
+						a[i].getRightName(), 
 						a[i].getWeight());
 			}
 		}
 		
 		if (actionStr.equals("KRUSKAL"))
-		{
-			System.out.printf("\nTotal weight of MST using Kruskal: %d\n", 
-					totalWeight);			
-		}
+			out.writeText("\nTotal weight of MST using Kruskal: ");
 		else if (actionStr.equals("PRIM"))
-		{
-			System.out.printf("\nTotal weight of MST using Prim: %d\n", 
-					totalWeight);
-		}
+			out.writeText("\nTotal weight of MST using Prim: ");
+		else if (actionStr.equals("KKT"))
+			out.writeText("\nTotal weight of MST using KKT: ");
+		else if (actionStr.equals("PARTITIONED"))
+			out.writeText("\nTotal weight of MST using partitioned Kruskal: ");
 		else
-			System.out.printf("\nTotal weight = %d\n", totalWeight);
+			out.writeText("\nTotal weight = ");
 		
-		System.out.printf("Runtime: %d milliseconds\n\n", runtime);
+		out.writeLong(totalWeight);
+		out.writeChar('\n');
 	}
 	
+	/* ---------------- Name Functions ---------------- */
+	
 	/**
-	 * printDivider()
+	 * getRepStr()
 	 * 
-	 * Prints a divider for breaking up sections of the program output.
+	 * @param gType - a representation of the Graph.
+	 * @return - the name of the representation as printed.
 	 */
-	private void printDivider()
+	private String getRepStr(GraphType gType)
 	{
-		System.out.println("===================================");
+		return (gType == GraphType.Matrix) ? matrixRepStr : adjListRepStr;
 	}
 	
-	/* ---------------- Reset Functions ---------------- */
+	/**
+	 * getSortStr()
+	 * 
+	 * @param sType - a sort type.
+	 * @return - the name of the sort as printed.
+	 */
+	private String getSortStr(SortType sType)
+	{
+		switch (sType)
+		{
+			case Insertion:
+				return insertionSortStr;
+			case Count:
+				return countSortStr;
+			default:
+				return quickSortStr;
+		}
+	}
 	
 	/**
-	 * resetVertices()
+	 * getPQStr()
 	 * 
-	 * Sets each of the vertices to unvisited.
+	 * @param pqType - a priority queue type.
+	 * @return - the name of the priority queue as printed (null for
+	 * 			 the plain binary heap).
 	 */
-	private void resetVertices()
+	private String getPQStr(PQType pqType)
 	{
-		for (int i = 0; i < adjList.size(); i++)
+		switch (pqType)
 		{
-			vertices[i].reset();
+			case Pairing:
+				return pairingHeapStr;
+			case Lazy:
+				return lazyPrimStr;
+			default:
+				return null;
 		}
 	}
 	
+	/* ---------------- Reset Functions ---------------- */
+	
 	/**
 	 * resetGraphs()
 	 * 
@@ -883,15 +1870,13 @@ public class Graph {
 	private void resetGraphs()
 	{
 		// Reset the adjacency list.
-		adjList = new ArrayList<ArrayList<Integer>>();
+		adjList.clear();
+		numEdges = 0;
 		
 		// Reset the matrix.
 		for (int i = 0; i < numVertices; i++)
 		{
-			for (int j = 0; j < numVertices; j++)
-			{
-				matrix[i][j] = 0;
-			}
+			Arrays.fill(matrix[i], 0);
 		}
 	}
 	
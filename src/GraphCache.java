@@ -0,0 +1,222 @@
+/**
+ * GraphCache.java
+ *
+ * The purpose of this class is to keep recently used graphs in memory
+ * so they don't have to be regenerated or reloaded for every request.
+ * Graphs are evicted least recently used first once their estimated
+ * total size goes over the limit. All methods are thread safe, and a
+ * graph requested by several threads at once is only built once.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class GraphCache {
+
+	private long maxBytes;
+	private long bytes = 0;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	// Iterates from least to most recently used.
+	private LinkedHashMap<String, Graph> graphs =
+		new LinkedHashMap<String, Graph>(16, 0.75f, true);
+
+	// Graphs being built by getOrCreate(), for other requests to wait on.
+	private HashMap<String, FutureTask<Graph>> building =
+		new HashMap<String, FutureTask<Graph>>();
+
+	/**
+	 * GraphCache()
+	 *
+	 * @param maxBytes - the estimated size the cached graphs may take up.
+	 */
+	public GraphCache(long maxBytes)
+	{
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * getMaxBytes()
+	 *
+	 * @return - the estimated size the cached graphs may take up.
+	 */
+	public long getMaxBytes()
+	{
+		return maxBytes;
+	}
+
+	/**
+	 * generatedKey()
+	 *
+	 * Gets the key of a graph generated from the given parameters.
+	 *
+	 * @param n - number of vertices in the graph.
+	 * @param seed - the seed the graph was generated with.
+	 * @param p - the probability of any two vertices being connected.
+	 * @return - the cache key.
+	 */
+	public static String generatedKey(int n, long seed, double p)
+	{
+		return String.format("gen:%d:%d:%s", n, seed, Double.toString(p));
+	}
+
+	/**
+	 * fileKey()
+	 *
+	 * Gets the key of a graph loaded from a file with the given hash.
+	 *
+	 * @param hash - a hash of the file's contents.
+	 * @return - the cache key.
+	 */
+	public static String fileKey(String hash)
+	{
+		return "file:" + hash;
+	}
+
+	/**
+	 * get()
+	 *
+	 * Gets the graph cached under key, marking it as recently used.
+	 *
+	 * @param key - the key of the graph.
+	 * @return - the graph, or null if it isn't cached.
+	 */
+	public synchronized Graph get(String key)
+	{
+		Graph g = graphs.get(key);
+
+		if (g == null)
+			misses++;
+		else
+			hits++;
+
+		return g;
+	}
+
+	/**
+	 * put()
+	 *
+	 * Caches a graph under key, then evicts the least recently used
+	 * graphs until the cache fits in its limit again. The graph just
+	 * added is never evicted.
+	 *
+	 * @param key - the key of the graph.
+	 * @param g - the graph.
+	 */
+	public synchronized void put(String key, Graph g)
+	{
+		Graph old = graphs.put(key, g);
+		if (old != null)
+			bytes -= old.estimateSize();
+
+		bytes += g.estimateSize();
+
+		Iterator<Map.Entry<String, Graph>> iter = graphs.entrySet().iterator();
+		while (bytes > maxBytes && graphs.size() > 1)
+		{
+			Map.Entry<String, Graph> eldest = iter.next();
+			bytes -= eldest.getValue().estimateSize();
+			iter.remove();
+		}
+	}
+
+	/**
+	 * getOrCreate()
+	 *
+	 * Gets the graph cached under key, or creates and caches it. The
+	 * graph is created outside of the cache's lock, so requests for
+	 * other graphs aren't held up while it's built. Requests for a graph
+	 * that is already being built wait for that build rather than
+	 * starting their own. A build that fails isn't cached, so the next
+	 * request tries again.
+	 *
+	 * @param key - the key of the graph.
+	 * @param create - creates the graph if it isn't cached.
+	 * @return - the graph.
+	 */
+	public Graph getOrCreate(String key, Callable<Graph> create) throws Exception
+	{
+		FutureTask<Graph> task;
+		boolean isBuilder = false;
+
+		synchronized (this)
+		{
+			Graph g = get(key);
+			if (g != null)
+				return g;
+
+			task = building.get(key);
+			if (task == null)
+			{
+				task = new FutureTask<Graph>(create);
+				building.put(key, task);
+				isBuilder = true;
+			}
+		}
+
+		// Someone else is building it; wait outside the lock, which the
+		// builder needs to cache it.
+		if (!isBuilder)
+			return await(task);
+
+		// Cached before it stops being built, so it is always in one.
+		try {
+			task.run();
+			Graph g = await(task);
+			put(key, g);
+
+			return g;
+		} finally {
+			synchronized (this)
+			{
+				building.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * getStats()
+	 *
+	 * Describes the current state of the cache.
+	 *
+	 * @return - the number of graphs, their size, hits and misses.
+	 */
+	public synchronized String getStats()
+	{
+		return String.format(
+				"graphs = %d\nbytes = %d\nmaxBytes = %d\nhits = %d\nmisses = %d\n",
+				graphs.size(), bytes, maxBytes, hits, misses);
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * await()
+	 *
+	 * Waits for a graph to be built.
+	 *
+	 * @param task - the build.
+	 * @return - the graph.
+	 * @throws Exception - whatever the build threw.
+	 */
+	private static Graph await(FutureTask<Graph> task) throws Exception
+	{
+		try {
+			return task.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception)
+				throw (Exception) e.getCause();
+
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+
+			throw e;
+		}
+	}
+
+}
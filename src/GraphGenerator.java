@@ -0,0 +1,120 @@
+/**
+ * GraphGenerator.java
+ * 
+ * An abstract class to standardize the random graph models a Graph can
+ * be generated from. A generator draws its edges from the two random
+ * streams it is given, one for the structure and one for the weights,
+ * so a graph depends only on its n, p, seed and model. Edges are handed
+ * straight to the Graph's storage as they are drawn.
+ * 
+ * Every model reads p as the edge density it should aim for, so the
+ * same input file gives graphs of about the same size under any model.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.*;
+
+public abstract class GraphGenerator {
+	
+	/**
+	 * An EdgeSink receives the edges a generator draws.
+	 */
+	public interface EdgeSink {
+		
+		/**
+		 * addEdge()
+		 * 
+		 * @param u - one vertex of the edge.
+		 * @param v - the other vertex of the edge.
+		 * @param weight - the weight of the edge (greater than 0).
+		 * @return - false if the edge was a self loop or joined two
+		 * 			 vertices that are already joined, and was dropped.
+		 */
+		boolean addEdge(int u, int v, int weight);
+	}
+	
+	/**
+	 * create()
+	 * 
+	 * @param model - a random graph model.
+	 * @return - a generator for the model.
+	 */
+	public static GraphGenerator create(GraphModel model)
+	{
+		switch (model)
+		{
+			case RMAT:
+				return new RMATGenerator();
+			case Geometric:
+				return new GeometricGenerator();
+			case Grid:
+				return new GridGenerator();
+			case BarabasiAlbert:
+				return new BarabasiAlbertGenerator();
+			default:
+				return new ErdosRenyiGenerator();
+		}
+	}
+	
+	/**
+	 * generate()
+	 * 
+	 * Draws the edges of a graph.
+	 * 
+	 * @param n - number of vertices.
+	 * @param p - the edge density to aim for.
+	 * @param rConnect - decides which vertices are connected.
+	 * @param wConnection - picks the weight of each edge.
+	 * @param sink - where to put the edges.
+	 */
+	public abstract void generate(int n, double p, Random rConnect,
+			Random wConnection, EdgeSink sink);
+	
+	/**
+	 * generate()
+	 * 
+	 * Draws the edges of a graph from the random streams a Graph seeds,
+	 * so they are the edges Graph(n, seed, p) draws first. Callers that
+	 * never hold a Graph (ExternalKruskal, DensePrim) use this to get the
+	 * same graph for the same input.
+	 * 
+	 * @param n - number of vertices.
+	 * @param seed - a seed number for generating random numbers.
+	 * @param p - the edge density to aim for.
+	 * @param sink - where to put the edges.
+	 */
+	public void generate(int n, long seed, double p, EdgeSink sink)
+	{
+		generate(n, p, new Random(seed), new Random(seed * 2), sink);
+	}
+	
+	/* ---------------------- Helper Functions ---------------------- */
+	
+	/**
+	 * targetEdges()
+	 * 
+	 * @param n - number of vertices.
+	 * @param p - an edge density.
+	 * @return - the number of edges a graph of density p on n vertices
+	 * 			 has.
+	 */
+	protected static long targetEdges(int n, double p)
+	{
+		return Math.round(p * n * (n - 1L) / 2);
+	}
+	
+	/**
+	 * randomWeight()
+	 * 
+	 * @param n - number of vertices.
+	 * @param wConnection - the weight stream.
+	 * @return - a weight from 1 to n, as G(n, p) draws them.
+	 */
+	protected static int randomWeight(int n, Random wConnection)
+	{
+		return 1 + wConnection.nextInt(n);
+	}
+	
+}
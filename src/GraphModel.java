@@ -0,0 +1,42 @@
+/**
+ * GraphModel.java
+ * 
+ * An enumerable to represent the random graph models a Graph can be
+ * generated from, each with the keyword that selects it in the input
+ * file.
+ * 
+ * @author MikeYeaple
+ *
+ */
+public enum GraphModel {
+	ErdosRenyi("gnp"),
+	RMAT("rmat"),
+	Geometric("geometric"),
+	Grid("grid"),
+	BarabasiAlbert("ba");
+	
+	private final String keyword;
+    private GraphModel(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+    
+    /**
+     * fromKeyword()
+     * 
+     * @param keyword - a model's keyword, in any case.
+     * @return - the model, or null if no model has that keyword.
+     */
+    public static GraphModel fromKeyword(String keyword) {
+        for (GraphModel model : values())
+        {
+            if (model.keyword.equalsIgnoreCase(keyword.trim()))
+                return model;
+        }
+        
+        return null;
+    }
+}
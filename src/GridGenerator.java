@@ -0,0 +1,45 @@
+/**
+ * GridGenerator.java
+ * 
+ * Generates a 2D grid graph, like a mesh or an image: the vertices are
+ * laid out row by row in a grid about sqrt(n) wide, and each is joined
+ * to the vertex to its right and the one below it with probability p,
+ * with a weight from 1 to n. At p = 1 it is the whole grid.
+ * 
+ * Unlike the other models, p here is the density of the grid's edges,
+ * as a grid can't have more than about 2n edges.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.*;
+
+public class GridGenerator extends GraphGenerator {
+	
+	/**
+	 * generate()
+	 * 
+	 * Edges are added in order of their lower-numbered vertex, the edge
+	 * to the right before the one below.
+	 */
+	@Override
+	public void generate(int n, double p, Random rConnect,
+			Random wConnection, EdgeSink sink)
+	{
+		int cols = (int) Math.ceil(Math.sqrt(n));
+		
+		for (int u = 0; u < n; u++)
+		{
+			// The vertex to the right, unless u ends a row.
+			if ((u + 1) % cols != 0 && u + 1 < n
+					&& rConnect.nextDouble() <= p)
+				sink.addEdge(u, u + 1, randomWeight(n, wConnection));
+			
+			// The vertex below, unless u is in the last row.
+			if (u + cols < n && rConnect.nextDouble() <= p)
+				sink.addEdge(u, u + cols, randomWeight(n, wConnection));
+		}
+	}
+	
+}
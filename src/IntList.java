@@ -0,0 +1,130 @@
+/**
+ * IntList.java
+ *
+ * A growable list of primitive ints, for building up results without
+ * boxing every element into an ArrayList<Integer>.
+ *
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.Arrays;
+
+public class IntList {
+
+	private int[] a;
+	private int N;
+
+	/**
+	 * IntList()
+	 *
+	 * Initializes an empty list with a small capacity.
+	 */
+	public IntList()
+	{
+		this(8);
+	}
+
+	/**
+	 * IntList()
+	 *
+	 * Initializes an empty list with the given capacity.
+	 *
+	 * @param capacity - the initial capacity of the list.
+	 */
+	public IntList(int capacity)
+	{
+		a = new int[Math.max(capacity, 1)];
+		N = 0;
+	}
+
+	/**
+	 * add()
+	 *
+	 * Appends x to the end of the list.
+	 *
+	 * @param x - the value to append.
+	 */
+	public void add(int x)
+	{
+		if (N == a.length)
+			a = Arrays.copyOf(a, 2 * a.length);
+
+		a[N++] = x;
+	}
+
+	/**
+	 * addAll()
+	 *
+	 * Appends every value of another list.
+	 *
+	 * @param other - the list to append.
+	 */
+	public void addAll(IntList other)
+	{
+		if (N + other.N > a.length)
+			a = Arrays.copyOf(a, Math.max(2 * a.length, N + other.N));
+
+		System.arraycopy(other.a, 0, a, N, other.N);
+		N += other.N;
+	}
+
+	/**
+	 * get()
+	 *
+	 * @param i - an index from 0 to size() - 1.
+	 * @return - the value at index i.
+	 */
+	public int get(int i)
+	{
+		if (i >= N)
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + N);
+
+		return a[i];
+	}
+
+	/**
+	 * set()
+	 *
+	 * @param i - an index from 0 to size() - 1.
+	 * @param x - the new value at index i.
+	 */
+	public void set(int i, int x)
+	{
+		if (i >= N)
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + N);
+
+		a[i] = x;
+	}
+
+	/**
+	 * size()
+	 *
+	 * @return - the number of values in the list.
+	 */
+	public int size()
+	{
+		return N;
+	}
+
+	/**
+	 * clear()
+	 *
+	 * Removes every value, keeping the allocated capacity.
+	 */
+	public void clear()
+	{
+		N = 0;
+	}
+
+	/**
+	 * toArray()
+	 *
+	 * @return - a copy of the values in the list.
+	 */
+	public int[] toArray()
+	{
+		return Arrays.copyOf(a, N);
+	}
+
+}
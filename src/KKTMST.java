@@ -0,0 +1,501 @@
+/**
+ * KKTMST.java
+ *
+ * The randomized minimum spanning forest algorithm of Karger, Klein and
+ * Tarjan, which runs in expected O(V + E) time. Each level of recursion
+ *
+ * 	1. runs two Boruvka steps, keeping the edges they pick and
+ * 	   contracting them, which at least quarters the vertices;
+ * 	2. recursively finds the forest F of a random half of the edges;
+ * 	3. throws away every F-heavy edge, one heavier than the heaviest
+ * 	   edge on the path in F between its endpoints (expected to leave
+ * 	   only O(V) edges); and
+ * 	4. recursively finds the forest of the edges that are left.
+ *
+ * Small subproblems are finished with Kruskal's algorithm instead.
+ *
+ * Edges are compared the way Edge.lessThan() compares them (weight,
+ * then left vertex, then right vertex), so the forest is unique and the
+ * same one Kruskal's algorithm finds with that order.
+ *
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.Random;
+
+public class KKTMST {
+
+	// Subproblems with at most this many edges are left to Kruskal.
+	private static final int CUTOFF = 64;
+
+	private final int NONE = -1;
+
+	// The original edges, by id.
+	private int[] left;
+	private int[] right;
+	private int[] weight;
+
+	private Random random;
+
+	// Position of each edge id in the sample of the current level.
+	private int[] samplePos;
+
+	/**
+	 * KKTMST()
+	 *
+	 * @param u - one vertex of each edge.
+	 * @param v - the other vertex of each edge.
+	 * @param weight - the weight of each edge.
+	 * @param seed - seed for the random sampling. The result doesn't
+	 * 				 depend on it, only the running time does.
+	 */
+	public KKTMST(int[] u, int[] v, int[] weight, long seed)
+	{
+		int m = u.length;
+
+		this.left = new int[m];
+		this.right = new int[m];
+		this.weight = weight;
+
+		// Keep the lower name on the left, as Edge.lessThan() expects.
+		for (int i = 0; i < m; i++)
+		{
+			left[i] = Math.min(u[i], v[i]);
+			right[i] = Math.max(u[i], v[i]);
+		}
+
+		random = new Random(seed);
+		samplePos = new int[m];
+	}
+
+	/**
+	 * minimumSpanningForest()
+	 *
+	 * @param numVertices - number of vertices in the graph.
+	 * @return - the ids (indices into the arrays passed to the
+	 * 			 constructor) of the edges of the minimum spanning forest.
+	 */
+	public int[] minimumSpanningForest(int numVertices)
+	{
+		int m = left.length;
+		int[] ids = new int[m];
+		for (int i = 0; i < m; i++)
+			ids[i] = i;
+
+		return solve(numVertices, left.clone(), right.clone(), ids, m).toArray();
+	}
+
+	/* ---------------- Recursion ---------------- */
+
+	/**
+	 * solve()
+	 *
+	 * Finds the minimum spanning forest of a (contracted) graph. The
+	 * arrays are overwritten.
+	 *
+	 * @param n - number of vertices, named 0 to n - 1.
+	 * @param eu - one vertex of each edge.
+	 * @param ev - the other vertex of each edge.
+	 * @param eid - the original id of each edge.
+	 * @param m - number of edges.
+	 * @return - the original ids of the forest's edges.
+	 */
+	private IntList solve(int n, int[] eu, int[] ev, int[] eid, int m)
+	{
+		IntList forest = new IntList();
+
+		if (m <= CUTOFF)
+		{
+			kruskal(n, eu, ev, eid, m, forest);
+			return forest;
+		}
+
+		// 1. Two Boruvka steps.
+		int[] size = { n, m };
+		boruvka(size, eu, ev, eid, forest);
+		boruvka(size, eu, ev, eid, forest);
+		n = size[0];
+		m = size[1];
+
+		if (m == 0)
+			return forest;
+
+		// 2. Forest of a random half of the edges.
+		int[] su = new int[m];
+		int[] sv = new int[m];
+		int[] sid = new int[m];
+		int h = 0;
+		for (int i = 0; i < m; i++)
+		{
+			if (random.nextBoolean())
+			{
+				su[h] = eu[i];
+				sv[h] = ev[i];
+				sid[h++] = eid[i];
+			}
+		}
+
+		IntList sampleForest = solve(n, su.clone(), sv.clone(), sid.clone(), h);
+
+		// 3. Keep only the F-light edges.
+		for (int i = 0; i < h; i++)
+			samplePos[sid[i]] = i;
+
+		ForestPathMax f = new ForestPathMax(n, sampleForest, su, sv);
+
+		int light = 0;
+		for (int i = 0; i < m; i++)
+		{
+			int heaviest = f.pathMax(eu[i], ev[i]);
+
+			if (heaviest == NONE || !less(heaviest, eid[i]))
+			{
+				eu[light] = eu[i];
+				ev[light] = ev[i];
+				eid[light++] = eid[i];
+			}
+		}
+
+		// 4. Forest of the F-light edges.
+		forest.addAll(solve(n, eu, ev, eid, light));
+
+		return forest;
+	}
+
+	/**
+	 * boruvka()
+	 *
+	 * Adds the lightest edge at every vertex to the forest, contracts
+	 * them, and relabels the remaining edges, dropping self loops and
+	 * vertices left without edges.
+	 *
+	 * @param size - {n, m}, updated to the contracted graph.
+	 */
+	private void boruvka(int[] size, int[] eu, int[] ev, int[] eid, IntList forest)
+	{
+		int n = size[0];
+		int m = size[1];
+
+		int[] best = new int[n];
+		for (int x = 0; x < n; x++)
+			best[x] = NONE;
+
+		for (int i = 0; i < m; i++)
+		{
+			if (best[eu[i]] == NONE || less(eid[i], eid[best[eu[i]]]))
+				best[eu[i]] = i;
+
+			if (best[ev[i]] == NONE || less(eid[i], eid[best[ev[i]]]))
+				best[ev[i]] = i;
+		}
+
+		int[] partition = new int[n];
+		for (int x = 0; x < n; x++)
+			partition[x] = x;
+
+		for (int x = 0; x < n; x++)
+		{
+			int i = best[x];
+			if (i == NONE)
+				continue;
+
+			int root1 = find(eu[i], partition);
+			int root2 = find(ev[i], partition);
+
+			// The edge is picked at both ends if it is lightest at both.
+			if (root1 != root2)
+			{
+				partition[root1] = root2;
+				forest.add(eid[i]);
+			}
+		}
+
+		int[] label = best;
+		for (int x = 0; x < n; x++)
+			label[x] = NONE;
+
+		int newN = 0;
+		int newM = 0;
+		for (int i = 0; i < m; i++)
+		{
+			int a = find(eu[i], partition);
+			int b = find(ev[i], partition);
+
+			if (a == b)
+				continue;
+
+			if (label[a] == NONE)
+				label[a] = newN++;
+
+			if (label[b] == NONE)
+				label[b] = newN++;
+
+			eu[newM] = label[a];
+			ev[newM] = label[b];
+			eid[newM++] = eid[i];
+		}
+
+		size[0] = newN;
+		size[1] = newM;
+	}
+
+	/**
+	 * kruskal()
+	 *
+	 * Kruskal's algorithm, for small subproblems.
+	 */
+	private void kruskal(int n, int[] eu, int[] ev, int[] eid, int m, IntList forest)
+	{
+		int[] order = new int[m];
+		for (int i = 0; i < m; i++)
+			order[i] = i;
+
+		// Insertion sort by edge order; m is at most CUTOFF.
+		for (int i = 1; i < m; i++)
+		{
+			for (int j = i; j > 0 && less(eid[order[j]], eid[order[j - 1]]); j--)
+			{
+				int exch = order[j];
+				order[j] = order[j - 1];
+				order[j - 1] = exch;
+			}
+		}
+
+		int[] partition = new int[n];
+		for (int x = 0; x < n; x++)
+			partition[x] = x;
+
+		for (int k = 0; k < m; k++)
+		{
+			int i = order[k];
+			int root1 = find(eu[i], partition);
+			int root2 = find(ev[i], partition);
+
+			if (root1 != root2)
+			{
+				partition[root1] = root2;
+				forest.add(eid[i]);
+			}
+		}
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * less()
+	 *
+	 * Compares two original edges the way Edge.lessThan() does.
+	 *
+	 * @return - true if edge a comes before edge b.
+	 */
+	private boolean less(int a, int b)
+	{
+		if (weight[a] != weight[b])
+			return weight[a] < weight[b];
+
+		if (left[a] != left[b])
+			return left[a] < left[b];
+
+		return right[a] < right[b];
+	}
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+	/**
+	 * ForestPathMax
+	 *
+	 * Finds the heaviest edge (in edge order) on the path between two
+	 * vertices of the sampled forest F, by binary lifting.
+	 */
+	private class ForestPathMax {
+
+		private int n;
+		private int levels;
+		private int[] depth;
+		private int[] component;
+		private int[] parentEdge;	// Original id of the edge to the parent.
+		private int[] up;			// [level * n + v]
+		private int[] heaviest;		// [level * n + v], a vertex or NONE
+
+		/**
+		 * ForestPathMax()
+		 *
+		 * @param n - number of vertices.
+		 * @param forest - original ids of the forest's edges.
+		 * @param su - endpoints of the sampled edges, by samplePos.
+		 * @param sv - other endpoints of the sampled edges, by samplePos.
+		 */
+		ForestPathMax(int n, IntList forest, int[] su, int[] sv)
+		{
+			this.n = n;
+
+			levels = 1;
+			while ((1 << levels) < n)
+				levels++;
+
+			depth = new int[n];
+			component = new int[n];
+			parentEdge = new int[n];
+			up = new int[levels * n];
+			heaviest = new int[levels * n];
+
+			// Adjacency of the forest in compressed rows.
+			int size = forest.size();
+			int[] start = new int[n + 1];
+			for (int k = 0; k < size; k++)
+			{
+				int pos = samplePos[forest.get(k)];
+				start[su[pos] + 1]++;
+				start[sv[pos] + 1]++;
+			}
+			for (int x = 0; x < n; x++)
+				start[x + 1] += start[x];
+
+			int[] next = new int[n];
+			System.arraycopy(start, 0, next, 0, n);
+			int[] adj = new int[2 * size];
+			int[] adjEdge = new int[2 * size];
+			for (int k = 0; k < size; k++)
+			{
+				int id = forest.get(k);
+				int a = su[samplePos[id]];
+				int b = sv[samplePos[id]];
+				adj[next[a]] = b;
+				adjEdge[next[a]++] = id;
+				adj[next[b]] = a;
+				adjEdge[next[b]++] = id;
+			}
+
+			// Root every tree with a breadth-first search.
+			boolean[] visited = new boolean[n];
+			int[] queue = new int[n];
+			for (int root = 0; root < n; root++)
+			{
+				if (visited[root])
+					continue;
+
+				visited[root] = true;
+				up[root] = root;
+				heaviest[root] = NONE;
+				component[root] = root;
+
+				int head = 0;
+				int tail = 0;
+				queue[tail++] = root;
+				while (head < tail)
+				{
+					int x = queue[head++];
+					for (int k = start[x]; k < start[x + 1]; k++)
+					{
+						int y = adj[k];
+						if (visited[y])
+							continue;
+
+						visited[y] = true;
+						up[y] = x;
+						heaviest[y] = y;
+						parentEdge[y] = adjEdge[k];
+						depth[y] = depth[x] + 1;
+						component[y] = root;
+						queue[tail++] = y;
+					}
+				}
+			}
+
+			for (int k = 1; k < levels; k++)
+			{
+				int row = k * n;
+				int prevRow = (k - 1) * n;
+				for (int x = 0; x < n; x++)
+				{
+					int mid = up[prevRow + x];
+					up[row + x] = up[prevRow + mid];
+					heaviest[row + x] = heavier(heaviest[prevRow + x], heaviest[prevRow + mid]);
+				}
+			}
+		}
+
+		/**
+		 * pathMax()
+		 *
+		 * @return - the original id of the heaviest edge on the path
+		 * 			 from u to v, or NONE if there is no path.
+		 */
+		int pathMax(int u, int v)
+		{
+			if (u == v || component[u] != component[v])
+				return NONE;
+
+			if (depth[u] < depth[v])
+			{
+				int exch = u;
+				u = v;
+				v = exch;
+			}
+
+			int best = NONE;
+			int diff = depth[u] - depth[v];
+			for (int k = 0; diff > 0; k++, diff >>= 1)
+			{
+				if ((diff & 1) != 0)
+				{
+					best = heavier(best, heaviest[k * n + u]);
+					u = up[k * n + u];
+				}
+			}
+
+			if (u != v)
+			{
+				for (int k = levels - 1; k >= 0; k--)
+				{
+					int row = k * n;
+					if (up[row + u] != up[row + v])
+					{
+						best = heavier(best, heaviest[row + u]);
+						best = heavier(best, heaviest[row + v]);
+						u = up[row + u];
+						v = up[row + v];
+					}
+				}
+
+				best = heavier(best, u);
+				best = heavier(best, v);
+			}
+
+			return parentEdge[best];
+		}
+
+		/**
+		 * heavier()
+		 *
+		 * @return - whichever of vertices a and b has the heavier parent edge.
+		 */
+		private int heavier(int a, int b)
+		{
+			if (a == NONE)
+				return b;
+
+			if (b == NONE)
+				return a;
+
+			return less(parentEdge[a], parentEdge[b]) ? b : a;
+		}
+
+	}
+
+}
@@ -0,0 +1,369 @@
+/**
+ * LinkCutTree.java
+ *
+ * A link-cut tree over a forest of nodes 0 to N-1, each with a long
+ * key. It supports linking and cutting trees and finding the node
+ * with the largest key on the path between two nodes, each in
+ * amortized O(log N) time.
+ *
+ * To find the heaviest edge on a tree path, give every edge its own
+ * node, keyed by the edge's weight and linked between its endpoints,
+ * and key the vertex nodes with NO_KEY. Where ties must be broken the
+ * same way every time, pack the weight and a tie-breaker into the key.
+ *
+ * The nodes are pooled in primitive arrays instead of being allocated
+ * one object per node.
+ *
+ * @author MikeYeaple
+ *
+ */
+
+public class LinkCutTree {
+
+	public static final long NO_KEY = Long.MIN_VALUE;
+
+	private final int NIL = -1;
+
+	private int[] left;		// Left child in the splay tree.
+	private int[] right;	// Right child in the splay tree.
+	private int[] parent;	// Splay parent, or path parent for a splay root.
+	private boolean[] flip;	// Children of the node still need swapping.
+	private long[] key;
+	private int[] maxNode;	// Node with the largest key in the splay subtree.
+	private int[] stack;	// Work space for splay().
+
+	/**
+	 * LinkCutTree()
+	 *
+	 * Initializes a forest of single nodes, all keyed NO_KEY.
+	 *
+	 * @param capacity - the number of nodes.
+	 */
+	public LinkCutTree(int capacity)
+	{
+		left = new int[capacity];
+		right = new int[capacity];
+		parent = new int[capacity];
+		flip = new boolean[capacity];
+		key = new long[capacity];
+		maxNode = new int[capacity];
+		stack = new int[capacity];
+
+		for (int i = 0; i < capacity; i++)
+			reset(i, NO_KEY);
+	}
+
+	/**
+	 * reset()
+	 *
+	 * Makes x a single node tree with the given key. x must already
+	 * have been cut from every other node.
+	 *
+	 * @param x - the node to reset.
+	 * @param k - the new key of x.
+	 */
+	public void reset(int x, long k)
+	{
+		left[x] = NIL;
+		right[x] = NIL;
+		parent[x] = NIL;
+		flip[x] = false;
+		key[x] = k;
+		maxNode[x] = x;
+	}
+
+	/**
+	 * getKey()
+	 *
+	 * @param x - a node.
+	 * @return - the key of x.
+	 */
+	public long getKey(int x)
+	{
+		return key[x];
+	}
+
+	/**
+	 * setKey()
+	 *
+	 * Changes the key of x.
+	 *
+	 * @param x - a node.
+	 * @param k - the new key of x.
+	 */
+	public void setKey(int x, long k)
+	{
+		// Once accessed, x is the root of its splay tree, so only its
+		// own maximum needs recomputing.
+		access(x);
+		key[x] = k;
+		pushUp(x);
+	}
+
+	/**
+	 * link()
+	 *
+	 * Links the trees of x and y with an edge between x and y. They
+	 * must be in different trees.
+	 *
+	 * @param x - a node.
+	 * @param y - a node in another tree.
+	 */
+	public void link(int x, int y)
+	{
+		makeRoot(x);
+		parent[x] = y;
+	}
+
+	/**
+	 * cut()
+	 *
+	 * Removes the edge between x and y, which must be adjacent.
+	 *
+	 * @param x - a node.
+	 * @param y - a node adjacent to x.
+	 */
+	public void cut(int x, int y)
+	{
+		makeRoot(x);
+		access(y);
+		splay(y);
+
+		// x is now the only node before y on the path, so it's y's
+		// left child.
+		left[y] = NIL;
+		parent[x] = NIL;
+		pushUp(y);
+	}
+
+	/**
+	 * connected()
+	 *
+	 * @param x - a node.
+	 * @param y - a node.
+	 * @return - true if x and y are in the same tree.
+	 */
+	public boolean connected(int x, int y)
+	{
+		return x == y || findRoot(x) == findRoot(y);
+	}
+
+	/**
+	 * pathMax()
+	 *
+	 * Finds the node with the largest key on the path from x to y,
+	 * which must be in the same tree.
+	 *
+	 * @param x - one end of the path.
+	 * @param y - the other end of the path.
+	 * @return - the node with the largest key on the path.
+	 */
+	public int pathMax(int x, int y)
+	{
+		makeRoot(x);
+		access(y);
+		splay(y);
+
+		return maxNode[y];
+	}
+
+	/* Link-Cut Tree Helper Functions */
+
+	/**
+	 * access()
+	 *
+	 * Makes the path from the root of x's tree to x preferred, so it
+	 * is held in a single splay tree.
+	 *
+	 * @param x - the node to access.
+	 */
+	private void access(int x)
+	{
+		int last = NIL;
+		for (int y = x; y != NIL; y = parent[y])
+		{
+			splay(y);
+			right[y] = last;
+			pushUp(y);
+			last = y;
+		}
+		splay(x);
+	}
+
+	/**
+	 * makeRoot()
+	 *
+	 * Makes x the root of its tree.
+	 *
+	 * @param x - the new root.
+	 */
+	private void makeRoot(int x)
+	{
+		access(x);
+		flip[x] = !flip[x];
+	}
+
+	/**
+	 * findRoot()
+	 *
+	 * @param x - a node.
+	 * @return - the root of x's tree.
+	 */
+	private int findRoot(int x)
+	{
+		access(x);
+
+		int r = x;
+		pushDown(r);
+		while (left[r] != NIL)
+		{
+			r = left[r];
+			pushDown(r);
+		}
+		splay(r);
+
+		return r;
+	}
+
+	/* Splay Tree Helper Functions */
+
+	/**
+	 * isSplayRoot()
+	 *
+	 * @param x - a node.
+	 * @return - true if x is the root of its splay tree.
+	 */
+	private boolean isSplayRoot(int x)
+	{
+		int p = parent[x];
+		return p == NIL || (left[p] != x && right[p] != x);
+	}
+
+	/**
+	 * pushUp()
+	 *
+	 * Recomputes the largest key in x's splay subtree.
+	 *
+	 * @param x - the node to update.
+	 */
+	private void pushUp(int x)
+	{
+		int m = x;
+
+		if (left[x] != NIL && key[maxNode[left[x]]] > key[m])
+			m = maxNode[left[x]];
+
+		if (right[x] != NIL && key[maxNode[right[x]]] > key[m])
+			m = maxNode[right[x]];
+
+		maxNode[x] = m;
+	}
+
+	/**
+	 * pushDown()
+	 *
+	 * Applies a pending reversal of x's subtree to its children.
+	 *
+	 * @param x - the node to update.
+	 */
+	private void pushDown(int x)
+	{
+		if (!flip[x])
+			return;
+
+		int exch = left[x];
+		left[x] = right[x];
+		right[x] = exch;
+
+		if (left[x] != NIL)
+			flip[left[x]] = !flip[left[x]];
+
+		if (right[x] != NIL)
+			flip[right[x]] = !flip[right[x]];
+
+		flip[x] = false;
+	}
+
+	/**
+	 * rotate()
+	 *
+	 * Rotates x above its parent.
+	 *
+	 * @param x - the node to rotate.
+	 */
+	private void rotate(int x)
+	{
+		int p = parent[x];
+		int g = parent[p];
+
+		// Attach x to its grandparent first, if p isn't a splay root.
+		if (!isSplayRoot(p))
+		{
+			if (left[g] == p)
+				left[g] = x;
+			else
+				right[g] = x;
+		}
+		parent[x] = g;
+
+		if (left[p] == x)
+		{
+			left[p] = right[x];
+			if (right[x] != NIL)
+				parent[right[x]] = p;
+			right[x] = p;
+		}
+		else
+		{
+			right[p] = left[x];
+			if (left[x] != NIL)
+				parent[left[x]] = p;
+			left[x] = p;
+		}
+		parent[p] = x;
+
+		pushUp(p);
+		pushUp(x);
+	}
+
+	/**
+	 * splay()
+	 *
+	 * Splays x to the root of its splay tree.
+	 *
+	 * @param x - the node to splay.
+	 */
+	private void splay(int x)
+	{
+		// Apply pending reversals from the top of the splay tree down.
+		int top = 0;
+		int y = x;
+		stack[top++] = y;
+		while (!isSplayRoot(y))
+		{
+			y = parent[y];
+			stack[top++] = y;
+		}
+		while (top > 0)
+			pushDown(stack[--top]);
+
+		while (!isSplayRoot(x))
+		{
+			int p = parent[x];
+
+			if (!isSplayRoot(p))
+			{
+				int g = parent[p];
+
+				// Zig-zig rotates the parent first, zig-zag x twice.
+				if ((left[g] == p) == (left[p] == x))
+					rotate(p);
+				else
+					rotate(x);
+			}
+
+			rotate(x);
+		}
+	}
+
+}
@@ -0,0 +1,391 @@
+/**
+ * LongEdgeList.java
+ *
+ * The purpose of this class is to hold the edges of a graph whose
+ * weights don't fit in an int, such as 64-bit costs, and to find its
+ * minimum spanning forest with Kruskal's or Prim's algorithm. Edges
+ * are kept in parallel primitive arrays rather than as Edge objects,
+ * so there is no boxing and an edge costs 16 bytes.
+ *
+ * Edges are sorted by (weight, left, right), as Edge.lessThan() orders
+ * them, with a radix sort (see RadixSort), so Kruskal's algorithm finds
+ * the same forest Graph's does for the same weights. Totals are longs.
+ *
+ * DoubleEdgeList is the same for double weights. Graph keeps int
+ * weights, so its own algorithms don't pay for either.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.util.*;
+
+public class LongEdgeList {
+
+	private int numVertices;
+	private int numEdges = 0;
+
+	// Edge i joins left[i] and right[i], the lower name on the left.
+	private int[] left;
+	private int[] right;
+	private long[] weight;
+
+	/**
+	 * LongEdgeList()
+	 *
+	 * Creates an empty edge list.
+	 *
+	 * @param numVertices - number of vertices; edges must join vertices
+	 * 						from 0 to numVertices - 1.
+	 */
+	public LongEdgeList(int numVertices)
+	{
+		this(numVertices, 16);
+	}
+
+	/**
+	 * LongEdgeList()
+	 *
+	 * Creates an empty edge list with room for the given number of
+	 * edges.
+	 *
+	 * @param numVertices - number of vertices.
+	 * @param capacity - number of edges to make room for.
+	 */
+	public LongEdgeList(int numVertices, int capacity)
+	{
+		if (numVertices < 1)
+			throw new IllegalArgumentException("n must be at least 1");
+
+		this.numVertices = numVertices;
+
+		capacity = Math.max(capacity, 1);
+		left = new int[capacity];
+		right = new int[capacity];
+		weight = new long[capacity];
+	}
+
+	/**
+	 * load()
+	 *
+	 * Reads an edge list in the format Graph.load() reads: the number of
+	 * vertices, then an edge "u v weight" per line, except that weights
+	 * may be any long. Blank lines and lines starting with # are ignored.
+	 *
+	 * @param br - the reader to read the edge list from.
+	 * @return - the edge list.
+	 * @throws IOException - if the edge list can't be read.
+	 * @throws IllegalArgumentException - if the edge list is invalid.
+	 */
+	public static LongEdgeList load(BufferedReader br) throws IOException
+	{
+		LongEdgeList list = null;
+		int lineNum = 0;
+
+		String line = br.readLine();
+		while (line != null)
+		{
+			lineNum++;
+			line = line.trim();
+
+			if (line.length() > 0 && !line.startsWith("#"))
+			{
+				String[] fields = line.split("\\s+");
+
+				try {
+					if (list == null)
+					{
+						if (fields.length != 1)
+							throw new IllegalArgumentException(String.format(
+									"Line %d: expected the number of vertices", lineNum));
+
+						list = new LongEdgeList(Integer.parseInt(fields[0]));
+					}
+					else
+					{
+						if (fields.length != 3)
+							throw new IllegalArgumentException(String.format(
+									"Line %d: expected u v weight", lineNum));
+
+						list.add(
+								Integer.parseInt(fields[0]),
+								Integer.parseInt(fields[1]),
+								Long.parseLong(fields[2]));
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(String.format(
+							"Line %d: values must be integers", lineNum));
+				}
+			}
+
+			line = br.readLine();
+		}
+
+		if (list == null)
+			throw new IllegalArgumentException("Edge list is empty");
+
+		return list;
+	}
+
+	/**
+	 * add()
+	 *
+	 * Adds an edge.
+	 *
+	 * @param u - one vertex of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param w - the weight of the edge.
+	 */
+	public void add(int u, int v, long w)
+	{
+		if (u < 0 || u >= numVertices || v < 0 || v >= numVertices)
+			throw new IllegalArgumentException(
+					"Edge (" + u + ", " + v + ") has a vertex outside 0 to "
+					+ (numVertices - 1));
+
+		if (numEdges == left.length)
+		{
+			int capacity = 2 * numEdges;
+			left = Arrays.copyOf(left, capacity);
+			right = Arrays.copyOf(right, capacity);
+			weight = Arrays.copyOf(weight, capacity);
+		}
+
+		left[numEdges] = Math.min(u, v);
+		right[numEdges] = Math.max(u, v);
+		weight[numEdges] = w;
+		numEdges++;
+	}
+
+	/**
+	 * getNumVertices()
+	 *
+	 * @return - the number of vertices.
+	 */
+	public int getNumVertices()
+	{
+		return numVertices;
+	}
+
+	/**
+	 * size()
+	 *
+	 * @return - the number of edges.
+	 */
+	public int size()
+	{
+		return numEdges;
+	}
+
+	/**
+	 * getLeft()
+	 *
+	 * @param i - an edge from 0 to size() - 1.
+	 * @return - the lower vertex of edge i.
+	 */
+	public int getLeft(int i)
+	{
+		return left[i];
+	}
+
+	/**
+	 * getRight()
+	 *
+	 * @param i - an edge from 0 to size() - 1.
+	 * @return - the higher vertex of edge i.
+	 */
+	public int getRight(int i)
+	{
+		return right[i];
+	}
+
+	/**
+	 * getWeight()
+	 *
+	 * @param i - an edge from 0 to size() - 1.
+	 * @return - the weight of edge i.
+	 */
+	public long getWeight(int i)
+	{
+		return weight[i];
+	}
+
+	/**
+	 * getTotalWeight()
+	 *
+	 * @return - the sum of the weights of the edges.
+	 */
+	public long getTotalWeight()
+	{
+		long total = 0;
+		for (int i = 0; i < numEdges; i++)
+			total += weight[i];
+
+		return total;
+	}
+
+	/**
+	 * sort()
+	 *
+	 * Sorts the edges by (weight, left, right).
+	 */
+	public void sort()
+	{
+		long[] keys = new long[numEdges];
+
+		// By the endpoints first, then stably by weight.
+		for (int i = 0; i < numEdges; i++)
+			keys[i] = ((long) left[i] << 32) | right[i];
+		int[] order = RadixSort.sortIndexes(keys, numEdges);
+
+		for (int i = 0; i < numEdges; i++)
+			keys[i] = RadixSort.signedKey(weight[i]);
+		RadixSort.sortIndexes(keys, order);
+
+		int[] l = new int[left.length];
+		int[] r = new int[right.length];
+		long[] w = new long[weight.length];
+		for (int i = 0; i < numEdges; i++)
+		{
+			l[i] = left[order[i]];
+			r[i] = right[order[i]];
+			w[i] = weight[order[i]];
+		}
+
+		left = l;
+		right = r;
+		weight = w;
+	}
+
+	/**
+	 * kruskalForest()
+	 *
+	 * Finds a minimum spanning forest with Kruskal's algorithm. The
+	 * edges are sorted first, in place.
+	 *
+	 * @return - the edges of the forest, in the order they were added.
+	 */
+	public LongEdgeList kruskalForest()
+	{
+		sort();
+
+		LongEdgeList forest = new LongEdgeList(numVertices, numVertices - 1);
+
+		int[] partition = new int[numVertices];
+		for (int i = 0; i < numVertices; i++)
+			partition[i] = i;
+
+		for (int i = 0; i < numEdges && forest.size() < numVertices - 1; i++)
+		{
+			int root1 = find(left[i], partition);
+			int root2 = find(right[i], partition);
+
+			if (root1 != root2)
+			{
+				partition[root1] = root2;
+				forest.add(left[i], right[i], weight[i]);
+			}
+		}
+
+		return forest;
+	}
+
+	/**
+	 * primForest()
+	 *
+	 * Finds a minimum spanning forest with Prim's algorithm, growing a
+	 * tree from each vertex not yet reached in turn.
+	 *
+	 * @return - the edges of the forest, each from the tree to the
+	 * 			 vertex it reached, in the order they were added.
+	 */
+	public LongEdgeList primForest()
+	{
+		// Index the edges by vertex: vertex u's are
+		// adjEdge[adjStart[u]] up to adjEdge[adjStart[u + 1]].
+		int[] adjStart = new int[numVertices + 1];
+		for (int i = 0; i < numEdges; i++)
+		{
+			adjStart[left[i] + 1]++;
+			adjStart[right[i] + 1]++;
+		}
+		for (int u = 0; u < numVertices; u++)
+			adjStart[u + 1] += adjStart[u];
+
+		int[] next = Arrays.copyOf(adjStart, numVertices);
+		int[] adjEdge = new int[2 * numEdges];
+		for (int i = 0; i < numEdges; i++)
+		{
+			adjEdge[next[left[i]]++] = i;
+			adjEdge[next[right[i]]++] = i;
+		}
+
+		LongEdgeList forest = new LongEdgeList(numVertices, numVertices - 1);
+		LongIndexMinPQ pq = new LongIndexMinPQ(numVertices);
+		int[] parentEdge = new int[numVertices];
+		boolean[] inTree = new boolean[numVertices];
+
+		for (int root = 0; root < numVertices; root++)
+		{
+			if (inTree[root])
+				continue;
+
+			pq.insert(root, 0);
+			parentEdge[root] = -1;
+
+			while (!pq.isEmpty())
+			{
+				int u = pq.deleteMin();
+				inTree[u] = true;
+
+				if (parentEdge[u] != -1)
+				{
+					int e = parentEdge[u];
+					forest.add(left[e], right[e], weight[e]);
+				}
+
+				for (int k = adjStart[u]; k < adjStart[u + 1]; k++)
+				{
+					int e = adjEdge[k];
+					int v = left[e] ^ right[e] ^ u;
+
+					if (inTree[v])
+						continue;
+
+					if (!pq.contains(v))
+					{
+						pq.insert(v, weight[e]);
+						parentEdge[v] = e;
+					}
+					else if (weight[e] < pq.getKey(v))
+					{
+						pq.decreaseKey(v, weight[e]);
+						parentEdge[v] = e;
+					}
+				}
+			}
+		}
+
+		return forest;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+}
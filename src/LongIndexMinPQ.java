@@ -0,0 +1,169 @@
+/**
+ * LongIndexMinPQ.java
+ * 
+ * A minimum priority queue of the vertices 0 to n - 1 keyed by long
+ * priorities, implemented as a binary heap of primitive arrays, for
+ * Prim's Algorithm on long weights (see LongEdgeList). MinPQ is the
+ * same for int weights.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.NoSuchElementException;
+
+public class LongIndexMinPQ {
+
+	private int[] pq;		// Vertices in the PQ, stored from indices 1 to N
+	private int[] qp;		// Location of vertex i in pq, or 0 if not in it.
+	private long[] keys;	// Priority of vertex i.
+	private int N;			// Number of items in the priority queue
+	
+	/**
+	 * LongIndexMinPQ()
+	 * 
+	 * Initializes an empty priority queue for the vertices 0 to n - 1.
+	 * 
+	 * @param n - number of vertices.
+	 */
+	public LongIndexMinPQ(int n) {
+		pq = new int[n + 1];
+		qp = new int[n];
+		keys = new long[n];
+		N = 0;
+	}
+	
+	/**
+	 * isEmpty()
+	 * 
+	 * @return - true if there are no vertices in the PQ.
+	 */
+	public boolean isEmpty() {
+		return N == 0;
+	}
+	
+	/**
+	 * size()
+	 * 
+	 * @return - the number of vertices in the PQ.
+	 */
+	public int size() {
+		return N;
+	}
+	
+	/**
+	 * contains()
+	 * 
+	 * @param v - a vertex.
+	 * @return - true if v is in the PQ.
+	 */
+	public boolean contains(int v) {
+		return qp[v] != 0;
+	}
+	
+	/**
+	 * insert()
+	 * 
+	 * Adds a vertex that isn't in the PQ.
+	 * 
+	 * @param v - the vertex.
+	 * @param key - its priority.
+	 */
+	public void insert(int v, long key) {
+		N++;
+		pq[N] = v;
+		qp[v] = N;
+		keys[v] = key;
+		swim(N);
+	}
+	
+	/**
+	 * decreaseKey()
+	 * 
+	 * Lowers the priority of a vertex in the PQ.
+	 * 
+	 * @param v - the vertex.
+	 * @param key - its new priority, no higher than its old one.
+	 */
+	public void decreaseKey(int v, long key) {
+		keys[v] = key;
+		swim(qp[v]);
+	}
+	
+	/**
+	 * getKey()
+	 * 
+	 * @param v - a vertex in the PQ.
+	 * @return - its priority.
+	 */
+	public long getKey(int v) {
+		return keys[v];
+	}
+	
+	/**
+	 * deleteMin()
+	 * 
+	 * Removes the vertex with the lowest priority.
+	 * 
+	 * @return - the vertex.
+	 */
+	public int deleteMin() {
+		if (isEmpty())
+			throw new NoSuchElementException("Priority queue has no elements!");
+		
+		int min = pq[1];
+		swap(1, N--);
+		sink(1);
+		qp[min] = 0;
+		
+		return min;
+	}
+	
+	/* Binary Heap Helper Functions */
+	
+	/**
+	 * swim()
+	 * 
+	 * The standard swim function for the heap.
+	 */
+	private void swim(int k) {
+		while (k > 1 && keys[pq[k/2]] > keys[pq[k]]) {
+			swap(k, k/2);
+			k = k/2;
+		}
+	}
+	
+	/**
+	 * sink()
+	 * 
+	 * The standard sink function for the heap.
+	 */
+	private void sink(int k) {
+		while (2*k <= N) {
+			int j = 2*k;
+			
+			if (j < N && keys[pq[j]] > keys[pq[j+1]])
+				j++;
+			
+			if (keys[pq[k]] <= keys[pq[j]])
+				break;
+			
+			swap(k, j);
+			k = j;
+		}
+	}
+	
+	/**
+	 * swap()
+	 * 
+	 * Swaps the vertices at two places in the heap.
+	 */
+	private void swap(int i, int j) {
+		int t = pq[i];
+		pq[i] = pq[j];
+		pq[j] = t;
+		qp[pq[i]] = i;
+		qp[pq[j]] = j;
+	}
+	
+}
@@ -0,0 +1,143 @@
+/**
+ * LongMinHeap.java
+ *
+ * A minimum binary heap of primitive longs. Callers pack a priority
+ * into the high bits and an id into the low bits, so a single long
+ * comparison orders the entries without allocating a node per entry.
+ *
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.NoSuchElementException;
+
+public class LongMinHeap {
+
+	private long[] pq;	// Items in the heap, stored from indices 1 to N
+	private int N;		// Number of items in the heap
+
+	/**
+	 * LongMinHeap()
+	 *
+	 * Initializes an empty heap with the given capacity.
+	 *
+	 * @param capacity - the initial capacity of the heap.
+	 */
+	public LongMinHeap(int capacity)
+	{
+		pq = new long[Math.max(capacity, 1) + 1];
+		N = 0;
+	}
+
+	/**
+	 * isEmpty()
+	 *
+	 * Returns true if the heap has no elements.
+	 *
+	 * @return - true if there are no elements in the heap.
+	 */
+	public boolean isEmpty()
+	{
+		return N == 0;
+	}
+
+	/**
+	 * size()
+	 *
+	 * Returns the number of elements in the heap.
+	 *
+	 * @return - the number of elements in the heap.
+	 */
+	public int size()
+	{
+		return N;
+	}
+
+	/**
+	 * clear()
+	 *
+	 * Removes every element, keeping the allocated capacity.
+	 */
+	public void clear()
+	{
+		N = 0;
+	}
+
+	/**
+	 * min()
+	 *
+	 * Returns the minimum element in the heap.
+	 *
+	 * @return - the minimum element in the heap.
+	 */
+	public long min()
+	{
+		if (isEmpty())
+			throw new NoSuchElementException("No elements in heap!");
+
+		return pq[1];
+	}
+
+	/**
+	 * insert()
+	 *
+	 * Inserts a new element into the heap.
+	 *
+	 * @param x - the element to insert.
+	 */
+	public void insert(long x)
+	{
+		// If we're out of space, double the heap.
+		if (N == pq.length - 1)
+		{
+			long[] temp = new long[2 * pq.length];
+			System.arraycopy(pq, 1, temp, 1, N);
+			pq = temp;
+		}
+
+		// Swim the new element up to an appropriate position.
+		int k = ++N;
+		while (k > 1 && pq[k/2] > x)
+		{
+			pq[k] = pq[k/2];
+			k = k/2;
+		}
+		pq[k] = x;
+	}
+
+	/**
+	 * deleteMin()
+	 *
+	 * Deletes the minimum element from the heap and returns it.
+	 *
+	 * @return - the minimum element in the heap.
+	 */
+	public long deleteMin()
+	{
+		if (isEmpty())
+			throw new NoSuchElementException("Heap has no elements!");
+
+		long min = pq[1];
+		long x = pq[N--];
+
+		// Sink the last element down from the front.
+		int k = 1;
+		while (2*k <= N)
+		{
+			int j = 2*k;
+
+			if (j < N && pq[j] > pq[j+1])
+				j++;
+
+			if (x <= pq[j])
+				break;
+
+			pq[k] = pq[j];
+			k = j;
+		}
+		pq[k] = x;
+
+		return min;
+	}
+
+}
@@ -0,0 +1,121 @@
+/**
+ * LoopbackTransport.java
+ *
+ * A Transport whose workers are threads in this JVM, each running a
+ * PartitionWorker. Messages are handed over through in-memory queues,
+ * so a PartitionedMST can be run on one machine without a network.
+ * The messages are still the same bytes a networked transport would
+ * carry, so the whole protocol is exercised.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.util.concurrent.*;
+
+public class LoopbackTransport implements Transport {
+
+	private Link[] coordinatorEnds;
+	private Thread[] workers;
+
+	/**
+	 * LoopbackTransport()
+	 *
+	 * Starts the worker threads.
+	 *
+	 * @param numWorkers - the number of workers.
+	 */
+	public LoopbackTransport(int numWorkers)
+	{
+		if (numWorkers < 1)
+			throw new IllegalArgumentException("There must be at least 1 worker");
+
+		coordinatorEnds = new Link[numWorkers];
+		workers = new Thread[numWorkers];
+
+		for (int i = 0; i < numWorkers; i++)
+		{
+			BlockingQueue<byte[]> toWorker = new LinkedBlockingQueue<byte[]>();
+			BlockingQueue<byte[]> toCoordinator = new LinkedBlockingQueue<byte[]>();
+
+			coordinatorEnds[i] = new QueueLink(toWorker, toCoordinator);
+
+			workers[i] = new Thread(
+					new PartitionWorker(new QueueLink(toCoordinator, toWorker)),
+					"loopback-worker-" + i);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+
+	@Override
+	public int getNumWorkers()
+	{
+		return workers.length;
+	}
+
+	@Override
+	public Link getLink(int worker)
+	{
+		return coordinatorEnds[worker];
+	}
+
+	/**
+	 * close()
+	 *
+	 * Tells every worker to stop and waits for them to.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		for (int i = 0; i < workers.length; i++)
+			coordinatorEnds[i].send(new byte[0]);
+
+		try {
+			for (int i = 0; i < workers.length; i++)
+				workers[i].join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for workers");
+		}
+	}
+
+	/**
+	 * One end of a pair of queues.
+	 */
+	private static class QueueLink implements Link {
+
+		private BlockingQueue<byte[]> out;
+		private BlockingQueue<byte[]> in;
+
+		public QueueLink(BlockingQueue<byte[]> out, BlockingQueue<byte[]> in)
+		{
+			this.out = out;
+			this.in = in;
+		}
+
+		@Override
+		public void send(byte[] message) throws IOException
+		{
+			try {
+				out.put(message);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted sending a message");
+			}
+		}
+
+		@Override
+		public byte[] receive() throws IOException
+		{
+			try {
+				return in.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted receiving a message");
+			}
+		}
+	}
+
+}
@@ -10,18 +10,143 @@
  */
 
 import java.io.*;
+import java.util.Arrays;
 
 public class MST {
 	
+	private static final String CONCURRENT_FLAG = "-concurrent";
+	private static final String KKT_FLAG = "-kkt";
+	private static final String ESTIMATE_FLAG = "-estimate";
+	private static final String BATCH_FLAG = "-batch";
+	private static final String SERVE_FLAG = "-serve";
+	private static final String EXTERNAL_FLAG = "-external";
+	private static final String STREAM_FLAG = "-stream";
+	private static final String EUCLIDEAN_FLAG = "-euclidean";
+	private static final String WEIGHTED_FLAG = "-weighted";
+	private static final String PARTITION_FLAG = "-partitioned";
+	private static final String WRITE_FLAG = "-write";
+	
+	// -estimate also finds the exact weight, to show the error, for
+	// graphs with at most this many edges.
+	private static final long MAX_EXACT_EDGES = 1000000;
+	
 	/**
-	 * @param args - only arg should be arg[0], the input file name
+	 * @param args - arg[0] should be the input file name, optionally
+	 * 				 followed by -concurrent to run the MST variants
+	 * 				 (KKT among them) on a thread pool, or -kkt to
+	 * 				 run KKT after Kruskal and Prim, or -estimate
+	 * 				 [epsilon [confidence]] to only estimate the MST
+	 * 				 weight by sampling (0.1 and 0.95 by default), or
+	 * 				 -partitioned k to split Kruskal's algorithm across
+	 * 				 k local workers, or -write outFile [text|binary]
+	 * 				 to write the whole graph, DFS and MST to a file,
+	 * 				 with no size limit.
+	 * 				 Alternatively, -batch followed by the BatchRunner
+	 * 				 parameters, -serve followed by the MSTServer
+	 * 				 parameters, -external followed by the
+	 * 				 ExternalKruskal parameters, -stream followed by
+	 * 				 the StreamingMST parameters, -euclidean followed
+	 * 				 by the EuclideanMST parameters, or -weighted
+	 * 				 followed by the WeightedMST parameters.
 	 */
 	public static void main(String[] args) {
 		int numVertices = 0;
 		long seed = 0;
 		double p = 0.0;
+		GraphModel model = GraphModel.ErdosRenyi;
+		boolean concurrent = false;
+		boolean kkt = false;
+		boolean estimate = false;
+		double epsilon = MSTWeightEstimator.DEFAULT_EPSILON;
+		double confidence = MSTWeightEstimator.DEFAULT_CONFIDENCE;
+		int numWorkers = 0;
+		String outFileName = null;
+		OutputFormat outFormat = OutputFormat.Text;
+		
+		if (args.length > 0 && args[0].equals(BATCH_FLAG))
+		{
+			BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
 		
-		if (args.length != 1)
+		if (args.length > 0 && args[0].equals(SERVE_FLAG))
+		{
+			MSTServer.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		
+		if (args.length > 0 && args[0].equals(EXTERNAL_FLAG))
+		{
+			ExternalKruskal.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		
+		if (args.length > 0 && args[0].equals(STREAM_FLAG))
+		{
+			StreamingMST.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		
+		if (args.length > 0 && args[0].equals(EUCLIDEAN_FLAG))
+		{
+			EuclideanMST.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		
+		if (args.length > 0 && args[0].equals(WEIGHTED_FLAG))
+		{
+			WeightedMST.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		
+		if (args.length == 2 && args[1].equals(CONCURRENT_FLAG))
+		{
+			concurrent = true;
+		}
+		else if (args.length == 2 && args[1].equals(KKT_FLAG))
+		{
+			kkt = true;
+		}
+		else if (args.length >= 2 && args.length <= 4 && args[1].equals(ESTIMATE_FLAG))
+		{
+			estimate = true;
+			
+			try {
+				if (args.length >= 3)
+					epsilon = Double.parseDouble(args[2]);
+				if (args.length == 4)
+					confidence = Double.parseDouble(args[3]);
+			} catch (NumberFormatException e) {
+				exitWithMessage("epsilon and confidence must be real numbers");
+			}
+			
+			if (epsilon <= 0 || epsilon >= 1)
+				exitWithMessage("epsilon must be between 0 and 1");
+			
+			if (confidence <= 0 || confidence >= 1)
+				exitWithMessage("confidence must be between 0 and 1");
+		}
+		else if (args.length == 3 && args[1].equals(PARTITION_FLAG))
+		{
+			try {
+				numWorkers = Integer.parseInt(args[2]);
+			} catch (NumberFormatException e) {
+				exitWithMessage("The number of workers must be an integer");
+			}
+			
+			if (numWorkers < 1)
+				exitWithMessage("The number of workers must be at least 1");
+		}
+		else if ((args.length == 3 || args.length == 4) && args[1].equals(WRITE_FLAG))
+		{
+			outFileName = args[2];
+			
+			if (args.length == 4 && args[3].equals("binary"))
+				outFormat = OutputFormat.Binary;
+			else if (args.length == 4 && !args[3].equals("text"))
+				exitWithMessage("The output format must be text or binary");
+		}
+		else if (args.length != 1)
 		{
 			System.err.println("Error: Invalid number of parameters provided.");
 			System.exit(1);
@@ -56,6 +181,14 @@ public class MST {
 					case(2): 
 						p = Double.parseDouble(line);
 						break;
+						
+					// Optional random graph model (G(n, p) by default)
+					case(3):
+						model = GraphModel.fromKeyword(line);
+						if (model == null)
+							exitWithMessage("The model must be gnp, rmat, "
+									+ "geometric, grid or ba");
+						break;
 				}
 				
 				// Read next line
@@ -92,12 +225,14 @@ public class MST {
 			exitWithMessage("p must be between 0 and 1");
 		
 		// Build the graph
-		Graph g = new Graph(numVertices, seed, p);
+		Graph g = new Graph(numVertices, seed, p, model);
 		
 		System.out.println(String.format("\nTEST: n=%s, seed=%s, p=%s",
 					Integer.toString(numVertices),
 					Long.toString(seed),
 					Double.toString(p))
+				+ ((model == GraphModel.ErdosRenyi)
+						? "" : ", model=" + model.getKeyword())
 				);
 		
 		System.out.println(String.format(
@@ -105,16 +240,104 @@ public class MST {
 				Long.toString(g.getGenerationTime())
 				));
 		
+		if (outFileName != null)
+		{
+			writeResults(g, outFileName, outFormat);
+			return;
+		}
+		
 		g.printAdjacencyMatrix();
 		g.printAdjacencyList();
 		g.printDFSInfo();
 		
 		//g.performEdgeSorts();
 		
-		g.performKruskal();
+		if (estimate)
+		{
+			g.printDivider();
+			MSTWeightEstimator.Estimate estimated =
+					new MSTWeightEstimator(g, seed).estimate(epsilon, confidence);
+			System.out.print(estimated);
+			
+			if (g.getNumEdges() <= MAX_EXACT_EDGES)
+			{
+				long exact = g.runKruskal(SortType.Quick, GraphType.List).getTotalWeight();
+				System.out.printf("Exact weight of MST: %d (estimate off by %.1f%%)\n",
+						exact, 100 * Math.abs(estimated.getWeight() - exact) / Math.max(exact, 1));
+			}
+		}
+		else if (numWorkers > 0)
+		{
+			g.printDivider();
+			try {
+				LoopbackTransport transport = new LoopbackTransport(numWorkers);
+				PartitionedMST partitioned = new PartitionedMST(transport);
+				
+				g.printEdges(partitioned.run(g));
+				System.out.printf("Cut edges: %d, worker forest edges: %d\n",
+						partitioned.getNumCutEdges(),
+						partitioned.getNumLocalEdges());
+				
+				transport.close();
+			} catch (IOException e) {
+				exitWithError(e);
+			}
+		}
+		else if (concurrent)
+		{
+			MSTRunner runner = new MSTRunner(g,
+					Runtime.getRuntime().availableProcessors());
+			runner.printReport(runner.runAll());
+		}
+		else
+		{
+			g.performKruskal();
+			
+			g.performPrim();
+			
+			if (kkt)
+				g.performKKT();
+		}
+		
+	}
+	
+	/**
+	 * writeResults()
+	 * 
+	 * Writes the adjacency list, the DFS predecessors and the MST found
+	 * by Kruskal's algorithm to a file. In binary format only the MST is
+	 * written, in the binary edge format.
+	 * 
+	 * @param g - the graph.
+	 * @param outFileName - the file to write.
+	 * @param format - text or binary.
+	 */
+	private static void writeResults(Graph g, String outFileName, OutputFormat format)
+	{
+		MSTResult result = g.runKruskal(SortType.Quick, GraphType.List);
 		
-		g.performPrim();
+		long runtime = System.currentTimeMillis();
+		try {
+			ResultWriter out = ResultWriter.create(new File(outFileName), format);
+			
+			if (out.isText())
+			{
+				g.writeAdjacencyList(out);
+				g.writeDFSInfo(out);
+				out.writeChar('\n');
+			}
+			g.writeEdges(result, out);
+			
+			out.close();
+		} catch (IOException e) {
+			exitWithError(e);
+		}
+		runtime = System.currentTimeMillis() - runtime;
 		
+		System.out.printf("Wrote %d MST edges to %s in %d milliseconds\n",
+				result.getEdges().length,
+				outFileName,
+				runtime);
 	}
 	
 	/**
@@ -0,0 +1,126 @@
+/**
+ * MSTResult.java
+ *
+ * The purpose of this class is to hold the outcome of one run of an
+ * MST algorithm: the tree itself, how it was computed and how long it
+ * took. Each run gets its own result, so runs can happen concurrently
+ * on the same Graph.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+public class MSTResult {
+
+	private String actionStr;
+	private String gRep;
+	private String variant;
+	private Edge[] edges;
+	private long runtime;
+
+	/**
+	 * MSTResult()
+	 *
+	 * @param actionStr - the algorithm run (i.e. KRUSKAL, PRIM).
+	 * @param gRep - graph representation the algorithm ran on.
+	 * @param variant - the sort or priority queue used (may be null).
+	 * @param edges - the edges of the MST.
+	 * @param runtime - runtime of the algorithm in milliseconds.
+	 */
+	public MSTResult(
+			String actionStr,
+			String gRep,
+			String variant,
+			Edge[] edges,
+			long runtime)
+	{
+		this.actionStr = actionStr;
+		this.gRep = gRep;
+		this.variant = variant;
+		this.edges = edges;
+		this.runtime = runtime;
+	}
+
+	/**
+	 * getActionStr()
+	 *
+	 * @return - the algorithm run (i.e. KRUSKAL, PRIM).
+	 */
+	public String getActionStr()
+	{
+		return actionStr;
+	}
+
+	/**
+	 * getRepresentation()
+	 *
+	 * @return - the graph representation the algorithm ran on.
+	 */
+	public String getRepresentation()
+	{
+		return gRep;
+	}
+
+	/**
+	 * getVariant()
+	 *
+	 * @return - the sort or priority queue used, or null if none.
+	 */
+	public String getVariant()
+	{
+		return variant;
+	}
+
+	/**
+	 * getEdges()
+	 *
+	 * @return - the edges of the MST.
+	 */
+	public Edge[] getEdges()
+	{
+		return edges;
+	}
+
+	/**
+	 * getRuntime()
+	 *
+	 * @return - runtime of the algorithm in milliseconds.
+	 */
+	public long getRuntime()
+	{
+		return runtime;
+	}
+
+	/**
+	 * getTotalWeight()
+	 *
+	 * Sums the weights of the edges in the MST.
+	 *
+	 * @return - the total weight of the MST.
+	 */
+	public long getTotalWeight()
+	{
+		long total = 0;
+		for (int i = 0; i < edges.length; i++)
+			total += edges[i].getWeight();
+
+		return total;
+	}
+
+	/**
+	 * getName()
+	 *
+	 * Describes the run the same way printEdges() heads it.
+	 *
+	 * @return - e.g. "KRUSKAL WITH MATRIX USING QUICKSORT".
+	 */
+	public String getName()
+	{
+		if (variant != null)
+			return String.format("%s WITH %s USING %s",
+					actionStr, gRep, variant);
+
+		return String.format("%s WITH %s", actionStr, gRep);
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * MSTRunner.java
+ *
+ * The purpose of this class is to run every variant of Kruskal's and
+ * Prim's algorithms (representation x sort or priority queue) on one
+ * Graph concurrently. The variants only read the Graph, so they are
+ * run on a thread pool and the wall time of the whole set becomes
+ * roughly that of the slowest variant instead of the sum of them.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class MSTRunner {
+
+	private Graph g;
+	private int numThreads;
+
+	// Wall time of the last runAll(), in milliseconds.
+	private long wallTime = 0;
+
+	/**
+	 * MSTRunner()
+	 *
+	 * @param g - the graph to run the algorithms on.
+	 * @param numThreads - the number of threads in the pool.
+	 */
+	public MSTRunner(Graph g, int numThreads)
+	{
+		this.g = g;
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * runAll()
+	 *
+	 * Runs every Kruskal, Prim and KKT variant on the thread pool and
+	 * waits for all of them to finish.
+	 *
+	 * @return - the results, in the order performKruskal(), performPrim()
+	 * 			 and performKKT() would print them.
+	 */
+	public ArrayList<MSTResult> runAll()
+	{
+		ArrayList<Callable<MSTResult>> tasks = createTasks(g);
+
+		ArrayList<MSTResult> results = new ArrayList<MSTResult>();
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+
+		wallTime = System.currentTimeMillis();
+		try {
+			List<Future<MSTResult>> futures = pool.invokeAll(tasks);
+
+			for (int i = 0; i < futures.size(); i++)
+				results.add(futures.get(i).get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			MST.exitWithError(e);
+		} catch (ExecutionException e) {
+			MST.exitWithError(e);
+		} finally {
+			pool.shutdown();
+		}
+		wallTime = System.currentTimeMillis() - wallTime;
+
+		return results;
+	}
+
+	/**
+	 * createTasks()
+	 *
+	 * Creates one task per Kruskal, Prim and KKT variant on the given Graph.
+	 *
+	 * @param g - the graph to run the algorithms on.
+	 * @return - the tasks, in the order performKruskal(), performPrim()
+	 * 			 and performKKT() would print them.
+	 */
+	public static ArrayList<Callable<MSTResult>> createTasks(final Graph g)
+	{
+		GraphType[] gTypes = { GraphType.Matrix, GraphType.List };
+		SortType[] sTypes = { SortType.Insertion, SortType.Count, SortType.Quick };
+		PQType[] pqTypes = PQType.values();
+
+		ArrayList<Callable<MSTResult>> tasks = new ArrayList<Callable<MSTResult>>();
+
+		for (int i = 0; i < gTypes.length; i++)
+		{
+			for (int j = 0; j < sTypes.length; j++)
+			{
+				final GraphType gType = gTypes[i];
+				final SortType sType = sTypes[j];
+				tasks.add(() -> g.runKruskal(sType, gType));
+			}
+		}
+
+		for (int i = 0; i < pqTypes.length; i++)
+		{
+			for (int j = 0; j < gTypes.length; j++)
+			{
+				final GraphType gType = gTypes[j];
+				final PQType pqType = pqTypes[i];
+				tasks.add(() -> g.runPrim(gType, pqType));
+			}
+		}
+
+		for (int i = 0; i < gTypes.length; i++)
+		{
+			final GraphType gType = gTypes[i];
+			tasks.add(() -> g.runKKT(gType));
+		}
+
+		return tasks;
+	}
+
+	/**
+	 * getWallTime()
+	 *
+	 * Gets the time the last runAll() took from start to finish.
+	 *
+	 * @return - wall time of the last runAll() in milliseconds.
+	 */
+	public long getWallTime()
+	{
+		return wallTime;
+	}
+
+	/**
+	 * printReport()
+	 *
+	 * Prints every result the way performKruskal() and performPrim()
+	 * do, followed by a summary of weights and runtimes.
+	 *
+	 * @param results - the results returned by runAll().
+	 */
+	public void printReport(ArrayList<MSTResult> results)
+	{
+		long runtimeSum = 0;
+
+		for (int i = 0; i < results.size(); i++)
+		{
+			g.printDivider();
+			g.printEdges(results.get(i));
+			runtimeSum += results.get(i).getRuntime();
+		}
+
+		g.printDivider();
+		System.out.println("SUMMARY");
+
+		MSTVerifier verifier = new MSTVerifier(g);
+		for (int i = 0; i < results.size(); i++)
+		{
+			MSTResult result = results.get(i);
+			boolean verified = verifier.verify(result.getEdges());
+
+			System.out.printf("%-50s weight = %d, runtime = %d ms, %s\n",
+					result.getName(),
+					result.getTotalWeight(),
+					result.getRuntime(),
+					verified ? "verified" : "NOT AN MST: " + verifier.getFailure());
+		}
+
+		System.out.printf("\nSum of runtimes: %d milliseconds\n", runtimeSum);
+		System.out.printf("Wall time on %d threads: %d milliseconds\n\n",
+				numThreads,
+				wallTime);
+	}
+
+}
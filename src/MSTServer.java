@@ -0,0 +1,557 @@
+/**
+ * MSTServer.java
+ *
+ * The purpose of this class is to answer MST requests over HTTP on
+ * localhost, keeping graphs in a GraphCache between requests so that
+ * repeated requests against the same graph don't regenerate it.
+ *
+ * A graph is picked either by n, seed and p, as in the MST input file,
+ * or by file=path for an edge list in the format Graph.load() reads
+ * (cached by a hash of its contents). Requests:
+ *
+ *     GET /kruskal?n=&seed=&p=[&rep=list|matrix][&sort=insertion|count|quick][&edges=true]
+ *     GET /prim?n=&seed=&p=[&rep=list|matrix][&pq=binary|pairing|lazy][&edges=true]
+ *     GET /weight?n=&seed=&p=[&algorithm=kruskal|prim]
+ *     GET /cluster?n=&seed=&p=&k=k1[,k2,...]
+ *     GET /stats
+ *
+ * A graph's adjacency matrix takes 4n^2 bytes, so a graph too big to
+ * fit in the cache is refused with a 400 rather than built.
+ *
+ * Requests are served on virtual threads when the JVM has them (Java
+ * 21+), and on a cached thread pool otherwise.
+ *
+ * Usage: java MST -serve port [cacheMB]
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.sun.net.httpserver.*;
+
+public class MSTServer {
+
+	private static final long DEFAULT_CACHE_MB = 256;
+
+	private HttpServer server;
+	private ExecutorService executor;
+	private GraphCache cache;
+
+	/**
+	 * @param args - the port to listen on (0 for any free port), and
+	 * 				 optionally the cache size in megabytes.
+	 */
+	public static void main(String[] args) {
+		int port = 0;
+		long cacheMB = DEFAULT_CACHE_MB;
+
+		if (args.length < 1 || args.length > 2)
+			MST.exitWithMessage("Usage: java MST -serve port [cacheMB]");
+
+		try {
+			port = Integer.parseInt(args[0]);
+
+			if (args.length > 1)
+				cacheMB = Long.parseLong(args[1]);
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("port and cacheMB must be integers");
+		}
+
+		try {
+			MSTServer mstServer = new MSTServer(port, cacheMB << 20);
+			mstServer.start();
+
+			System.out.printf("Serving MST requests on http://localhost:%d/\n",
+					mstServer.getPort());
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+	}
+
+	/**
+	 * MSTServer()
+	 *
+	 * Binds the server to the loopback address. It doesn't answer
+	 * requests until start() is called.
+	 *
+	 * @param port - the port to listen on (0 for any free port).
+	 * @param cacheBytes - the estimated size the cached graphs may take up.
+	 */
+	public MSTServer(int port, long cacheBytes) throws IOException
+	{
+		cache = new GraphCache(cacheBytes);
+		executor = newExecutor();
+
+		server = HttpServer.create(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+	}
+
+	/**
+	 * start()
+	 *
+	 * Starts answering requests.
+	 */
+	public void start()
+	{
+		server.start();
+	}
+
+	/**
+	 * stop()
+	 *
+	 * Stops the server and its threads.
+	 */
+	public void stop()
+	{
+		server.stop(0);
+		executor.shutdown();
+	}
+
+	/**
+	 * getPort()
+	 *
+	 * @return - the port the server is listening on.
+	 */
+	public int getPort()
+	{
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * getCache()
+	 *
+	 * @return - the cache of graphs the server answers from.
+	 */
+	public GraphCache getCache()
+	{
+		return cache;
+	}
+
+	/* ---------------- Request Functions ---------------- */
+
+	/**
+	 * handle()
+	 *
+	 * Answers one request with a plain text body.
+	 *
+	 * @param exchange - the request and its response.
+	 */
+	private void handle(HttpExchange exchange) throws IOException
+	{
+		int status = 200;
+		String body;
+
+		try {
+			if (!exchange.getRequestMethod().equals("GET"))
+				throw new IllegalArgumentException("Only GET is supported");
+
+			Map<String, String> params = parseQuery(exchange.getRequestURI());
+			String path = exchange.getRequestURI().getPath();
+
+			if (path.equals("/kruskal"))
+				body = handleKruskal(params);
+			else if (path.equals("/prim"))
+				body = handlePrim(params);
+			else if (path.equals("/weight"))
+				body = handleWeight(params);
+			else if (path.equals("/cluster"))
+				body = handleCluster(params);
+			else if (path.equals("/stats"))
+				body = cache.getStats();
+			else
+			{
+				status = 404;
+				body = "Unknown request: " + path + "\n";
+			}
+		} catch (IllegalArgumentException e) {
+			status = 400;
+			body = "Error: " + e.getMessage() + "\n";
+		} catch (Throwable e) {
+			// Including errors such as OutOfMemoryError, so the request
+			// is still answered.
+			status = 500;
+			body = "Error: " + e + "\n";
+		}
+
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+
+		OutputStream out = exchange.getResponseBody();
+		out.write(bytes);
+		out.close();
+	}
+
+	/**
+	 * handleKruskal()
+	 *
+	 * Runs Kruskal's algorithm on the requested graph.
+	 *
+	 * @param params - the request parameters.
+	 * @return - the response body.
+	 */
+	private String handleKruskal(Map<String, String> params) throws Exception
+	{
+		Graph g = resolveGraph(params);
+		GraphType gType = parseEnum(GraphType.class, params.get("rep"), GraphType.List);
+		SortType sType = parseEnum(SortType.class, params.get("sort"), SortType.Quick);
+
+		return formatResult(g.runKruskal(sType, gType),
+				Boolean.parseBoolean(params.get("edges")));
+	}
+
+	/**
+	 * handlePrim()
+	 *
+	 * Runs Prim's algorithm on the requested graph.
+	 *
+	 * @param params - the request parameters.
+	 * @return - the response body.
+	 */
+	private String handlePrim(Map<String, String> params) throws Exception
+	{
+		Graph g = resolveGraph(params);
+		GraphType gType = parseEnum(GraphType.class, params.get("rep"), GraphType.List);
+		PQType pqType = parseEnum(PQType.class, params.get("pq"), PQType.Binary);
+
+		return formatResult(g.runPrim(gType, pqType),
+				Boolean.parseBoolean(params.get("edges")));
+	}
+
+	/**
+	 * handleWeight()
+	 *
+	 * Gets the total weight of the MST of the requested graph.
+	 *
+	 * @param params - the request parameters.
+	 * @return - the response body.
+	 */
+	private String handleWeight(Map<String, String> params) throws Exception
+	{
+		Graph g = resolveGraph(params);
+		String algorithm = params.get("algorithm");
+
+		MSTResult result;
+		if (algorithm == null || algorithm.equalsIgnoreCase("kruskal"))
+			result = g.runKruskal(SortType.Quick, GraphType.List);
+		else if (algorithm.equalsIgnoreCase("prim"))
+			result = g.runPrim(GraphType.List, PQType.Pairing);
+		else
+			throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+
+		return result.getTotalWeight() + "\n";
+	}
+
+	/**
+	 * handleCluster()
+	 *
+	 * Clusters the requested graph by single linkage into each of the
+	 * requested numbers of clusters.
+	 *
+	 * @param params - the request parameters.
+	 * @return - the response body, one "k: label label ..." line per k.
+	 */
+	private String handleCluster(Map<String, String> params) throws Exception
+	{
+		Graph g = resolveGraph(params);
+
+		String[] fields = required(params, "k").split(",");
+		int[] ks = new int[fields.length];
+		try {
+			for (int i = 0; i < fields.length; i++)
+				ks[i] = Integer.parseInt(fields[i].trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("k must be a list of integers");
+		}
+
+		int[][] labels = new SingleLinkage(g).clusterLabels(ks);
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < ks.length; i++)
+		{
+			sb.append(ks[i]).append(':');
+			for (int v = 0; v < labels[i].length; v++)
+				sb.append(' ').append(labels[i][v]);
+			sb.append('\n');
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * resolveGraph()
+	 *
+	 * Gets the requested graph from the cache, generating or loading it
+	 * if it isn't there.
+	 *
+	 * @param params - the request parameters.
+	 * @return - the graph.
+	 */
+	private Graph resolveGraph(Map<String, String> params) throws Exception
+	{
+		final String fileName = params.get("file");
+
+		if (fileName != null)
+		{
+			String hash = hashFile(fileName);
+			checkSize(readNumVertices(fileName));
+
+			return cache.getOrCreate(
+					GraphCache.fileKey(hash),
+					() -> {
+						BufferedReader br = new BufferedReader(new FileReader(fileName));
+						try {
+							return Graph.load(br);
+						} finally {
+							br.close();
+						}
+					});
+		}
+
+		final int n;
+		final long seed;
+		final double p;
+		try {
+			n = Integer.parseInt(required(params, "n"));
+			seed = Long.parseLong(required(params, "seed"));
+			p = Double.parseDouble(required(params, "p"));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+					"n and seed must be integers and p a real number");
+		}
+
+		if (n < 2)
+			throw new IllegalArgumentException("n must be greater than 1");
+
+		if (p < 0 || p > 1)
+			throw new IllegalArgumentException("p must be between 0 and 1");
+
+		checkSize(n);
+
+		return cache.getOrCreate(
+				GraphCache.generatedKey(n, seed, p),
+				() -> new Graph(n, seed, p));
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * checkSize()
+	 *
+	 * Refuses a graph whose adjacency matrix alone is bigger than the
+	 * cache, before it is built and runs the server out of heap.
+	 *
+	 * @param n - number of vertices in the graph.
+	 */
+	private void checkSize(int n)
+	{
+		long matrixBytes = 4L * n * n;
+
+		if (matrixBytes > cache.getMaxBytes())
+			throw new IllegalArgumentException(String.format(
+					"n = %d needs a %d byte matrix, more than the %d byte cache",
+					n, matrixBytes, cache.getMaxBytes()));
+	}
+
+	/**
+	 * readNumVertices()
+	 *
+	 * Reads the number of vertices from the top of an edge list, which
+	 * is its first line that isn't blank or a comment.
+	 *
+	 * @param fileName - the edge list.
+	 * @return - the number of vertices, or 0 if the file doesn't start
+	 * 			 with one (Graph.load() reports that).
+	 */
+	private static int readNumVertices(String fileName) throws IOException
+	{
+		BufferedReader br = new BufferedReader(new FileReader(fileName));
+		try {
+			String line = br.readLine();
+			while (line != null)
+			{
+				line = line.trim();
+				if (line.length() > 0 && !line.startsWith("#"))
+					return Integer.parseInt(line);
+
+				line = br.readLine();
+			}
+		} catch (NumberFormatException e) {
+			return 0;
+		} finally {
+			br.close();
+		}
+
+		return 0;
+	}
+
+	/**
+	 * formatResult()
+	 *
+	 * @param result - the result of a run of an MST algorithm.
+	 * @param withEdges - true to list the edges, one "u v weight" per line.
+	 * @return - the result as a response body.
+	 */
+	private String formatResult(MSTResult result, boolean withEdges)
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(result.getName()).append('\n');
+		sb.append("weight = ").append(result.getTotalWeight()).append('\n');
+		sb.append("runtime = ").append(result.getRuntime()).append(" ms\n");
+
+		if (withEdges)
+		{
+			Edge[] edges = result.getEdges();
+			for (int i = 0; i < edges.length; i++)
+			{
+				sb.append(edges[i].getLeftName()).append(' ')
+					.append(edges[i].getRightName()).append(' ')
+					.append(edges[i].getWeight()).append('\n');
+			}
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * parseQuery()
+	 *
+	 * @param uri - the request URI.
+	 * @return - the decoded query parameters.
+	 */
+	private static Map<String, String> parseQuery(URI uri)
+	{
+		Map<String, String> params = new HashMap<String, String>();
+		String query = uri.getRawQuery();
+
+		if (query == null)
+			return params;
+
+		String[] pairs = query.split("&");
+		for (int i = 0; i < pairs.length; i++)
+		{
+			int eq = pairs[i].indexOf('=');
+			if (eq > 0)
+				params.put(
+						URLDecoder.decode(pairs[i].substring(0, eq), StandardCharsets.UTF_8),
+						URLDecoder.decode(pairs[i].substring(eq + 1), StandardCharsets.UTF_8));
+		}
+
+		return params;
+	}
+
+	/**
+	 * required()
+	 *
+	 * @param params - the request parameters.
+	 * @param name - the name of a required parameter.
+	 * @return - the value of the parameter.
+	 */
+	private static String required(Map<String, String> params, String name)
+	{
+		String value = params.get(name);
+
+		if (value == null)
+			throw new IllegalArgumentException("Missing parameter: " + name);
+
+		return value;
+	}
+
+	/**
+	 * parseEnum()
+	 *
+	 * Finds the constant of an enum whose name matches value, ignoring case.
+	 *
+	 * @param type - the enum class.
+	 * @param value - the name to look for (null for the default).
+	 * @param defaultValue - returned when value is null.
+	 * @return - the matching constant.
+	 */
+	private static <E extends Enum<E>> E parseEnum(
+			Class<E> type,
+			String value,
+			E defaultValue)
+	{
+		if (value == null)
+			return defaultValue;
+
+		E[] constants = type.getEnumConstants();
+		for (int i = 0; i < constants.length; i++)
+		{
+			if (constants[i].name().equalsIgnoreCase(value))
+				return constants[i];
+		}
+
+		throw new IllegalArgumentException(String.format(
+				"Unknown %s: %s", type.getSimpleName(), value));
+	}
+
+	/**
+	 * hashFile()
+	 *
+	 * @param fileName - the file to hash.
+	 * @return - the SHA-256 of the file's contents, in hex.
+	 */
+	private static String hashFile(String fileName) throws IOException
+	{
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		InputStream in;
+		try {
+			in = new FileInputStream(fileName);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("File not found: " + fileName);
+		}
+
+		try {
+			byte[] buffer = new byte[1 << 16];
+			int read;
+			while ((read = in.read(buffer)) > 0)
+				digest.update(buffer, 0, read);
+		} finally {
+			in.close();
+		}
+
+		StringBuilder hex = new StringBuilder();
+		byte[] hash = digest.digest();
+		for (int i = 0; i < hash.length; i++)
+			hex.append(String.format("%02x", hash[i]));
+
+		return hex.toString();
+	}
+
+	/**
+	 * newExecutor()
+	 *
+	 * Creates an executor that starts a virtual thread per request if
+	 * the JVM supports them. This is looked up at runtime so the server
+	 * still builds and runs on Java versions without virtual threads.
+	 *
+	 * @return - the executor to serve requests on.
+	 */
+	private static ExecutorService newExecutor()
+	{
+		try {
+			return (ExecutorService) Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor")
+					.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+}
@@ -0,0 +1,381 @@
+/**
+ * MSTVerifier.java
+ *
+ * The purpose of this class is to check that a candidate set of edges
+ * is a minimum spanning tree of a Graph, in near-linear time, so it can
+ * be left on for large runs.
+ *
+ * The candidate must be a spanning tree made of edges of the graph (or
+ * a spanning forest, one tree per component, if the graph isn't
+ * connected), and by the cycle property it is minimum exactly when no
+ * graph edge (u, v) is lighter than the heaviest tree edge on the path
+ * from u to v. The
+ * path maxima of all E edges are found in one depth-first pass over the
+ * tree with Tarjan's offline lowest common ancestor algorithm, whose
+ * union-find also tracks the heaviest edge from each vertex up to its
+ * set's root. That is O((V + E) log V) worst case with path compression
+ * alone, and close to linear in practice.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+public class MSTVerifier {
+
+	private final int NONE = -1;
+
+	private Graph g;
+	private int numVertices;
+
+	private String failure = null;
+
+	/**
+	 * MSTVerifier()
+	 *
+	 * @param g - the graph candidates are checked against.
+	 */
+	public MSTVerifier(Graph g)
+	{
+		this.g = g;
+		this.numVertices = g.getNumVertices();
+	}
+
+	/**
+	 * verify()
+	 *
+	 * Checks whether the candidate is a minimum spanning tree (or forest)
+	 * of the graph.
+	 *
+	 * @param mst - the candidate edges.
+	 * @return - true if it is; otherwise getFailure() says why not.
+	 */
+	public boolean verify(Edge[] mst)
+	{
+		failure = null;
+
+		// A spanning forest has one edge fewer than vertices per tree.
+		int expectedEdges = numVertices - countComponents();
+		if (mst.length != expectedEdges)
+			return fail(String.format("Expected %d edges but got %d",
+					expectedEdges, mst.length));
+
+		// Every edge must be in the graph, and they mustn't form a cycle.
+		// That many edges without a cycle span every component.
+		int[] partition = new int[numVertices];
+		for (int i = 0; i < numVertices; i++)
+			partition[i] = i;
+
+		for (int i = 0; i < mst.length; i++)
+		{
+			int u = mst[i].getLeftName();
+			int v = mst[i].getRightName();
+			int weight = mst[i].getWeight();
+
+			if (u < 0 || u >= numVertices || v < 0 || v >= numVertices
+					|| weight <= 0 || g.getWeight(u, v) != weight)
+				return fail("Not an edge of the graph: " + mst[i]);
+
+			int root1 = find(u, partition);
+			int root2 = find(v, partition);
+			if (root1 == root2)
+				return fail("Edges form a cycle at: " + mst[i]);
+
+			partition[root1] = root2;
+		}
+
+		return checkPathMaxima(mst);
+	}
+
+	/**
+	 * getFailure()
+	 *
+	 * @return - why the last candidate failed verification, or null.
+	 */
+	public String getFailure()
+	{
+		return failure;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * checkPathMaxima()
+	 *
+	 * Checks that no graph edge is lighter than the heaviest tree edge
+	 * on the tree path between its endpoints.
+	 *
+	 * @param mst - a spanning tree of the graph.
+	 * @return - true if the tree is minimum.
+	 */
+	private boolean checkPathMaxima(Edge[] mst)
+	{
+		int[] treeStart = new int[numVertices + 1];
+		int[] treeAdj = new int[2 * mst.length];
+		int[] treeWeight = new int[2 * mst.length];
+		buildTree(mst, treeStart, treeAdj, treeWeight);
+
+		// Every graph edge is a query, listed at both of its endpoints.
+		int numQueries = g.getNumEdges();
+		int[] queryU = new int[numQueries];
+		int[] queryV = new int[numQueries];
+		int[] queryWeight = new int[numQueries];
+		int count = 0;
+
+		for (int u = 0; u < numVertices; u++)
+		{
+			for (int i = 0; i < g.getDegree(u); i++)
+			{
+				int v = g.getNeighbor(u, i);
+				if (u < v)
+				{
+					queryU[count] = u;
+					queryV[count] = v;
+					queryWeight[count++] = g.getNeighborWeight(u, i);
+				}
+			}
+		}
+
+		int[] queryStart = new int[numVertices + 1];
+		int[] queryAt = new int[2 * numQueries];
+		for (int q = 0; q < numQueries; q++)
+		{
+			queryStart[queryU[q] + 1]++;
+			queryStart[queryV[q] + 1]++;
+		}
+		for (int v = 0; v < numVertices; v++)
+			queryStart[v + 1] += queryStart[v];
+
+		int[] next = new int[numVertices];
+		System.arraycopy(queryStart, 0, next, 0, numVertices);
+		for (int q = 0; q < numQueries; q++)
+		{
+			queryAt[next[queryU[q]]++] = q;
+			queryAt[next[queryV[q]]++] = q;
+		}
+
+		// Queries waiting at their lowest common ancestor, as linked lists.
+		int[] waitingHead = new int[numVertices];
+		int[] waitingNext = new int[numQueries];
+		for (int v = 0; v < numVertices; v++)
+			waitingHead[v] = NONE;
+
+		// Union-find whose roots are the vertices on the DFS stack.
+		// maxUp[x] is the heaviest edge from x up to its parent in it.
+		int[] ufParent = new int[numVertices];
+		int[] maxUp = new int[numVertices];
+		int[] findPath = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+			ufParent[v] = v;
+
+		boolean[] finished = new boolean[numVertices];
+
+		// Iterative DFS from the lowest vertex of each tree.
+		int[] stack = new int[numVertices];
+		int[] stackEdge = new int[numVertices];	// Next tree edge to try.
+		int[] treeParent = new int[numVertices];
+		int[] treeParentWeight = new int[numVertices];
+		int top = -1;
+		int nextRoot = 0;
+
+		while (top >= 0 || nextRoot < numVertices)
+		{
+			if (top < 0)
+			{
+				// Every tree so far is finished; start the next one.
+				if (finished[nextRoot])
+				{
+					nextRoot++;
+					continue;
+				}
+
+				top = 0;
+				stack[top] = nextRoot;
+				stackEdge[top] = treeStart[nextRoot];
+				treeParent[nextRoot] = NONE;
+			}
+
+
+			int x = stack[top];
+
+			if (stackEdge[top] < treeStart[x + 1])
+			{
+				int i = stackEdge[top]++;
+				int c = treeAdj[i];
+
+				if (c != treeParent[x])
+				{
+					treeParent[c] = x;
+					treeParentWeight[c] = treeWeight[i];
+					stack[++top] = c;
+					stackEdge[top] = treeStart[c];
+				}
+				continue;
+			}
+
+			// All of x's children are finished and merged into x.
+			finished[x] = true;
+
+			// Queries whose other end is already finished meet at the
+			// root of that end's set.
+			for (int i = queryStart[x]; i < queryStart[x + 1]; i++)
+			{
+				int q = queryAt[i];
+				int other = (queryU[q] == x) ? queryV[q] : queryU[q];
+
+				if (finished[other])
+				{
+					int lca = find(other, ufParent, maxUp, findPath);
+					waitingNext[q] = waitingHead[lca];
+					waitingHead[lca] = q;
+				}
+			}
+
+			// Both ends of the queries waiting here now have x as root.
+			for (int q = waitingHead[x]; q != NONE; q = waitingNext[q])
+			{
+				find(queryU[q], ufParent, maxUp, findPath);
+				find(queryV[q], ufParent, maxUp, findPath);
+
+				int pathMax = Math.max(
+						(queryU[q] == x) ? 0 : maxUp[queryU[q]],
+						(queryV[q] == x) ? 0 : maxUp[queryV[q]]);
+
+				if (queryWeight[q] < pathMax)
+					return fail(String.format(
+							"Edge %d %d weight = %d is lighter than the "
+							+ "heaviest tree edge (%d) on its path",
+							queryU[q], queryV[q], queryWeight[q], pathMax));
+			}
+
+			// Merge x into its parent.
+			if (treeParent[x] != NONE)
+			{
+				ufParent[x] = treeParent[x];
+				maxUp[x] = treeParentWeight[x];
+			}
+
+			top--;
+		}
+
+		return true;
+	}
+
+	/**
+	 * find()
+	 *
+	 * Finds the root of x's set, compressing the path and folding the
+	 * heaviest edge along it into maxUp.
+	 *
+	 * @return - the root of x's set.
+	 */
+	private int find(int x, int[] ufParent, int[] maxUp, int[] path)
+	{
+		int length = 0;
+		while (ufParent[x] != x)
+		{
+			path[length++] = x;
+			x = ufParent[x];
+		}
+		int root = x;
+
+		// The last vertex on the path already points at the root.
+		for (int i = length - 2; i >= 0; i--)
+		{
+			int y = path[i];
+			maxUp[y] = Math.max(maxUp[y], maxUp[ufParent[y]]);
+			ufParent[y] = root;
+		}
+
+		return root;
+	}
+
+	/**
+	 * find()
+	 *
+	 * Plain union-find with path halving.
+	 */
+	private int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+	/**
+	 * countComponents()
+	 *
+	 * @return - the number of connected components of the graph.
+	 */
+	private int countComponents()
+	{
+		int[] partition = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+			partition[v] = v;
+
+		for (int u = 0; u < numVertices; u++)
+		{
+			for (int i = 0; i < g.getDegree(u); i++)
+			{
+				int root1 = find(u, partition);
+				int root2 = find(g.getNeighbor(u, i), partition);
+				if (root1 != root2)
+					partition[root1] = root2;
+			}
+		}
+
+		int components = 0;
+		for (int v = 0; v < numVertices; v++)
+		{
+			if (partition[v] == v)
+				components++;
+		}
+
+		return components;
+	}
+
+	/**
+	 * buildTree()
+	 *
+	 * Builds the adjacency of the tree in compressed rows.
+	 */
+	private void buildTree(Edge[] mst, int[] start, int[] adj, int[] weight)
+	{
+		for (int i = 0; i < mst.length; i++)
+		{
+			start[mst[i].getLeftName() + 1]++;
+			start[mst[i].getRightName() + 1]++;
+		}
+		for (int v = 0; v < numVertices; v++)
+			start[v + 1] += start[v];
+
+		int[] next = new int[numVertices];
+		System.arraycopy(start, 0, next, 0, numVertices);
+		for (int i = 0; i < mst.length; i++)
+		{
+			int a = mst[i].getLeftName();
+			int b = mst[i].getRightName();
+			adj[next[a]] = b;
+			weight[next[a]++] = mst[i].getWeight();
+			adj[next[b]] = a;
+			weight[next[b]++] = mst[i].getWeight();
+		}
+	}
+
+	/**
+	 * fail()
+	 *
+	 * Records why verification failed.
+	 *
+	 * @return - false.
+	 */
+	private boolean fail(String message)
+	{
+		failure = message;
+		return false;
+	}
+
+}
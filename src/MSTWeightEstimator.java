@@ -0,0 +1,454 @@
+/**
+ * MSTWeightEstimator.java
+ *
+ * The purpose of this class is to estimate the total weight of a
+ * Graph's minimum spanning tree without finding the tree, in time that
+ * doesn't grow with the number of edges, after Chazelle, Rubinfeld and
+ * Trevisan.
+ *
+ * If every weight is an integer in [1, W] and c(i) is the number of
+ * connected components of the subgraph of edges weighing at most i,
+ * the minimum spanning forest weighs
+ *
+ * 		n - W * c(W) + c(1) + c(2) + ... + c(W - 1),
+ *
+ * where c(W) is the number of components of the graph itself, so a
+ * connected graph's MST weighs n - W + c(1) + ... + c(W - 1).
+ *
+ * Each c(i) is estimated by sampling vertices and exploring a few
+ * vertices of each one's component: a vertex in a component of s
+ * vertices is counted when s <= X, for a random X with P(X >= k) = 1/k,
+ * so it is counted with probability 1/s and the expected count of a
+ * sample is c(i) / n. The exploration stops after X vertices, so on
+ * average it visits only about ln(s) of them. Rather than every
+ * threshold from 1 to W - 1, only a geometric ladder of thresholds
+ * (each about 1 + epsilon times the last) is estimated, and the sum
+ * between two rungs is interpolated; c(W) is the ladder's last rung.
+ *
+ * Every rung is estimated from the same sampled vertices and X's. A
+ * component at a higher threshold holds the one below it, so a sample
+ * counted at one rung is counted at every rung below, and the large
+ * W * c(W) term mostly cancels against the others sample by sample
+ * rather than adding its own variance. The error bound is the normal
+ * approximation to the variance of the per-sample estimates plus the
+ * interpolation error.
+ *
+ * Weights are assumed to lie in [1, n], the range generate() uses,
+ * unless a maximum weight is given.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class MSTWeightEstimator {
+
+	public static final double DEFAULT_EPSILON = 0.1;
+	public static final double DEFAULT_CONFIDENCE = 0.95;
+
+	private Graph g;
+	private int numVertices;
+	private int maxWeight;
+	private Random random;
+
+	// Components with more vertices than this are not counted.
+	private int exploreCap;
+
+	// Scratch space for the explorations, reused between samples.
+	private int[] mark;
+	private int markStamp = 0;
+	private int[] queue;
+
+	/**
+	 * MSTWeightEstimator()
+	 *
+	 * Creates an estimator for a graph whose weights are in [1, n], as
+	 * generated by Graph.generate().
+	 *
+	 * @param g - the graph to estimate the MST weight of.
+	 * @param seed - seed for the vertex sampling.
+	 */
+	public MSTWeightEstimator(Graph g, long seed)
+	{
+		this(g, g.getNumVertices(), seed);
+	}
+
+	/**
+	 * MSTWeightEstimator()
+	 *
+	 * @param g - the graph to estimate the MST weight of.
+	 * @param maxWeight - the largest weight any edge may have.
+	 * @param seed - seed for the vertex sampling.
+	 */
+	public MSTWeightEstimator(Graph g, int maxWeight, long seed)
+	{
+		if (maxWeight < 1)
+			throw new IllegalArgumentException("maxWeight must be at least 1");
+
+		this.g = g;
+		this.numVertices = g.getNumVertices();
+		this.maxWeight = maxWeight;
+		this.random = new Random(seed);
+
+		mark = new int[numVertices];
+		queue = new int[numVertices];
+	}
+
+	/**
+	 * estimate()
+	 *
+	 * Estimates the weight of the MST.
+	 *
+	 * @param epsilon - the accuracy wanted, between 0 and 1. Smaller
+	 * 					values use more thresholds and samples.
+	 * @param confidence - probability, between 0 and 1, that the true
+	 * 					   weight is within the returned bound.
+	 * @return - the estimate and its error bound.
+	 */
+	public Estimate estimate(double epsilon, double confidence)
+	{
+		if (epsilon <= 0 || epsilon >= 1)
+			throw new IllegalArgumentException("epsilon must be between 0 and 1");
+
+		if (confidence <= 0 || confidence >= 1)
+			throw new IllegalArgumentException("confidence must be between 0 and 1");
+
+		long runtime = System.currentTimeMillis();
+
+		int[] thresholds = ladder(epsilon);
+		int numThresholds = thresholds.length;
+		int samples = (int) Math.ceil(1 / (epsilon * epsilon));
+		exploreCap = Math.min(numVertices, samples);
+
+		// The rungs, with W at the end for c(W).
+		int[] rungs = Arrays.copyOf(thresholds, numThresholds + 1);
+		rungs[numThresholds] = maxWeight;
+		boolean[][] counted = countSamples(rungs, samples);
+
+		// Estimated component counts. There is always at least one
+		// component.
+		double[] components = new double[numThresholds + 1];
+		for (int j = 0; j <= numThresholds; j++)
+		{
+			int count = 0;
+			for (int k = 0; k < samples; k++)
+			{
+				if (counted[j][k])
+					count++;
+			}
+
+			components[j] = Math.max(1, numVertices * (double) count / samples);
+		}
+
+		// c(i) is non-increasing, so between two rungs it lies between
+		// their counts. Interpolate, and add half the gap to the bound.
+		// coefficient[j] is how much the estimate of c(rung j) counts.
+		double[] coefficient = new double[numThresholds + 1];
+		double weight = numVertices - (double) maxWeight * components[numThresholds];
+		coefficient[numThresholds] = -maxWeight;
+		double interpolationError = 0;
+		for (int j = 0; j < numThresholds; j++)
+		{
+			int next = (j + 1 < numThresholds) ? thresholds[j + 1] : maxWeight;
+			int between = next - thresholds[j] - 1;
+
+			weight += components[j] + between * (components[j] + components[j + 1]) / 2;
+			coefficient[j] += 1 + between / 2.0;
+			coefficient[j + 1] += between / 2.0;
+			interpolationError += between * Math.abs(components[j] - components[j + 1]) / 2;
+		}
+
+		// The estimate is n plus n times the mean of each sample's
+		// coefficient-weighted counts, so its variance is n^2 / samples
+		// times theirs.
+		double[] perSample = new double[samples];
+		double mean = 0;
+		for (int k = 0; k < samples; k++)
+		{
+			for (int j = 0; j <= numThresholds; j++)
+			{
+				if (counted[j][k])
+					perSample[k] += coefficient[j];
+			}
+
+			mean += perSample[k] / samples;
+		}
+
+		double sampleVariance = 0;
+		for (int k = 0; k < samples; k++)
+			sampleVariance += (perSample[k] - mean) * (perSample[k] - mean);
+		sampleVariance /= Math.max(samples - 1, 1);
+
+		double totalVariance = (double) numVertices * numVertices * sampleVariance / samples;
+		double error = normalQuantile((1 + confidence) / 2) * Math.sqrt(totalVariance)
+				+ interpolationError;
+
+		// A spanning forest of c(W) trees weighs at least n - c(W).
+		weight = Math.max(weight, numVertices - components[numThresholds]);
+
+		runtime = System.currentTimeMillis() - runtime;
+
+		return new Estimate(weight, error, confidence, numThresholds, samples, runtime);
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * ladder()
+	 *
+	 * @param epsilon - how far apart the thresholds are.
+	 * @return - increasing thresholds from 1 to below maxWeight, each
+	 * 			 about 1 + epsilon times the last.
+	 */
+	private int[] ladder(double epsilon)
+	{
+		IntList thresholds = new IntList();
+
+		double t = 1;
+		while (t < maxWeight)
+		{
+			int threshold = (int) t;
+			if (thresholds.size() == 0 || threshold != thresholds.get(thresholds.size() - 1))
+				thresholds.add(threshold);
+
+			t *= 1 + epsilon;
+		}
+
+		return thresholds.toArray();
+	}
+
+	/**
+	 * countSamples()
+	 *
+	 * Samples vertices and explores each one's component at every rung.
+	 * The expected number counted at rung j is samples * c(rungs[j]) / n.
+	 *
+	 * @param rungs - increasing thresholds, the heaviest edge weights
+	 * 				  to use.
+	 * @param samples - the number of vertices to sample.
+	 * @return - result[j][k] is true if sample k was counted at rung j.
+	 */
+	private boolean[][] countSamples(int[] rungs, int samples)
+	{
+		boolean[][] counted = new boolean[rungs.length][samples];
+
+		for (int k = 0; k < samples; k++)
+		{
+			int u = random.nextInt(numVertices);
+
+			// P(X >= s) = 1 / s for s <= exploreCap.
+			double uniform = 1 - random.nextDouble();
+			int x = (int) Math.min(exploreCap, Math.floor(1 / uniform));
+
+			// u's component only grows with the threshold, so once it is
+			// too big it stays too big.
+			for (int j = 0; j < rungs.length; j++)
+			{
+				if (!componentSizeAtMost(u, rungs[j], x))
+					break;
+
+				counted[j][k] = true;
+			}
+		}
+
+		return counted;
+	}
+
+	/**
+	 * componentSizeAtMost()
+	 *
+	 * Explores the component of u, stopping as soon as it has more than
+	 * limit vertices.
+	 *
+	 * @param u - the vertex to start from.
+	 * @param threshold - the heaviest edge weight to follow.
+	 * @param limit - the largest component size to accept.
+	 * @return - true if u's component has at most limit vertices.
+	 */
+	private boolean componentSizeAtMost(int u, int threshold, int limit)
+	{
+		// A new stamp unmarks every vertex at once.
+		if (++markStamp == Integer.MAX_VALUE)
+		{
+			Arrays.fill(mark, 0);
+			markStamp = 1;
+		}
+
+		int head = 0;
+		int tail = 0;
+		mark[u] = markStamp;
+		queue[tail++] = u;
+
+		while (head < tail)
+		{
+			int x = queue[head++];
+			int degree = g.getDegree(x);
+
+			for (int i = 0; i < degree; i++)
+			{
+				int y = g.getNeighbor(x, i);
+				if (mark[y] == markStamp || g.getNeighborWeight(x, i) > threshold)
+					continue;
+
+				if (tail == limit)
+					return false;
+
+				mark[y] = markStamp;
+				queue[tail++] = y;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * normalQuantile()
+	 *
+	 * @param probability - a probability between 0 and 1.
+	 * @return - the z with P(Z <= z) = probability for a standard
+	 * 			 normal Z, found by bisection.
+	 */
+	private static double normalQuantile(double probability)
+	{
+		double low = -10;
+		double high = 10;
+		for (int i = 0; i < 60; i++)
+		{
+			double mid = (low + high) / 2;
+			if (normalCdf(mid) < probability)
+				low = mid;
+			else
+				high = mid;
+		}
+
+		return (low + high) / 2;
+	}
+
+	/**
+	 * normalCdf()
+	 *
+	 * The standard normal distribution function, using Abramowitz and
+	 * Stegun's approximation 7.1.26 of erf (accurate to about 1e-7).
+	 */
+	private static double normalCdf(double z)
+	{
+		double x = Math.abs(z) / Math.sqrt(2);
+		double t = 1 / (1 + 0.3275911 * x);
+		double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+				+ t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+
+		return (z >= 0) ? (1 + erf) / 2 : (1 - erf) / 2;
+	}
+
+	/**
+	 * Estimate
+	 *
+	 * An estimated MST weight along with how far off it may be.
+	 */
+	public static class Estimate {
+
+		private final double weight;
+		private final double error;
+		private final double confidence;
+		private final int numThresholds;
+		private final int samples;
+		private final long runtime;
+
+		public Estimate(
+				double weight,
+				double error,
+				double confidence,
+				int numThresholds,
+				int samples,
+				long runtime)
+		{
+			this.weight = weight;
+			this.error = error;
+			this.confidence = confidence;
+			this.numThresholds = numThresholds;
+			this.samples = samples;
+			this.runtime = runtime;
+		}
+
+		/**
+		 * getWeight()
+		 *
+		 * @return - the estimated MST weight.
+		 */
+		public double getWeight()
+		{
+			return weight;
+		}
+
+		/**
+		 * getError()
+		 *
+		 * @return - the true weight is within this much of getWeight()
+		 * 			 with probability getConfidence().
+		 */
+		public double getError()
+		{
+			return error;
+		}
+
+		/**
+		 * getConfidence()
+		 *
+		 * @return - the probability the error bound holds.
+		 */
+		public double getConfidence()
+		{
+			return confidence;
+		}
+
+		/**
+		 * getNumThresholds()
+		 *
+		 * @return - the number of weight thresholds estimated.
+		 */
+		public int getNumThresholds()
+		{
+			return numThresholds;
+		}
+
+		/**
+		 * getSamples()
+		 *
+		 * @return - the number of vertices sampled, each explored at
+		 * 			 every threshold.
+		 */
+		public int getSamples()
+		{
+			return samples;
+		}
+
+		/**
+		 * getRuntime()
+		 *
+		 * @return - how long the estimate took, in milliseconds.
+		 */
+		public long getRuntime()
+		{
+			return runtime;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format(
+					"Estimated weight of MST: %.1f +/- %.1f (%s%% confidence)\n"
+					+ "Thresholds: %d, samples (each at every threshold): %d\n"
+					+ "Runtime: %d milliseconds\n",
+					weight,
+					error,
+					Double.toString(100 * confidence),
+					numThresholds,
+					samples,
+					runtime);
+		}
+
+	}
+
+}
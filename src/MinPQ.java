@@ -237,11 +237,14 @@ public class MinPQ {
 	public void setPriority(int vertex, int weight, int parent)
 	{
 		// Set the new values.
-		pq[qp[vertex]][WEIGHT_PROP] = weight;
-		pq[qp[vertex]][PARENT_PROP] = parent;
+		int k = qp[vertex];
+		pq[k][WEIGHT_PROP] = weight;
+		pq[k][PARENT_PROP] = parent;
 		
-		// Re-heapify.
-		heapify();
+		// Only the updated element can be out of place, so restore
+		// the heap order around it instead of re-heapifying.
+		swim(k);
+		sink(qp[vertex]);
 	}
 	
 	/**
@@ -0,0 +1,14 @@
+/**
+ * OrderType.java
+ * 
+ * An enumerable to represent the orders Graph.reorder() can renumber
+ * the vertices in.
+ * 
+ * @author MikeYeaple
+ *
+ */
+public enum OrderType {
+	BFS,
+	RCM,
+	Degree
+}
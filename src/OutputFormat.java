@@ -0,0 +1,13 @@
+/**
+ * OutputFormat.java
+ * 
+ * An enumerable to represent the formats a ResultWriter can write:
+ * readable text, or big-endian ints in the binary edge format.
+ * 
+ * @author MikeYeaple
+ *
+ */
+public enum OutputFormat {
+	Text,
+	Binary
+}
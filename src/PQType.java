@@ -0,0 +1,14 @@
+/**
+ * PQType.java
+ * 
+ * An enumerable to represent the priority queues Prim's Algorithm
+ * can be run with.
+ * 
+ * @author MikeYeaple
+ *
+ */
+public enum PQType {
+	Binary,
+	Pairing,
+	Lazy
+}
@@ -0,0 +1,244 @@
+/**
+ * PairingHeap.java
+ *
+ * This is an indexed minimum pairing heap over the vertices 0 to N-1.
+ * Like MinPQ, it only has the functions needed for Prim's Algorithm,
+ * but decreaseKey() runs in amortized O(1) time, so Prim runs in
+ * O(E + V log V) instead of O(E log V).
+ *
+ * The nodes are pooled in primitive arrays indexed by vertex name
+ * instead of being allocated one object per vertex.
+ *
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.NoSuchElementException;
+
+public class PairingHeap {
+
+	private final int NONE = -1;
+
+	private int[] key;		// Priority of Vertex i.
+	private int[] child;	// Leftmost child of Vertex i.
+	private int[] sibling;	// Right sibling of Vertex i.
+	private int[] prev;		// Left sibling of Vertex i, or its parent
+							// if it is the leftmost child.
+	private boolean[] inHeap;
+	private int[] scratch;	// Work space for the two-pass merge.
+
+	private int root;
+	private int N;			// Number of items in the heap.
+
+	/**
+	 * PairingHeap()
+	 *
+	 * Initializes an empty heap able to hold the vertices
+	 * 0 to capacity - 1.
+	 *
+	 * @param capacity - the number of vertices.
+	 */
+	public PairingHeap(int capacity)
+	{
+		key = new int[capacity];
+		child = new int[capacity];
+		sibling = new int[capacity];
+		prev = new int[capacity];
+		inHeap = new boolean[capacity];
+		scratch = new int[capacity];
+
+		root = NONE;
+		N = 0;
+	}
+
+	/**
+	 * isEmpty()
+	 *
+	 * Returns true if the heap has no elements.
+	 *
+	 * @return - true if there are no elements in the heap.
+	 */
+	public boolean isEmpty()
+	{
+		return N == 0;
+	}
+
+	/**
+	 * size()
+	 *
+	 * Returns the number of elements in the heap.
+	 *
+	 * @return - the number of elements in the heap.
+	 */
+	public int size()
+	{
+		return N;
+	}
+
+	/**
+	 * contains()
+	 *
+	 * Returns true if the heap contains Vertex v.
+	 *
+	 * @param v - the name of the Vertex to check for.
+	 * @return - true if Vertex v is in the heap.
+	 */
+	public boolean contains(int v)
+	{
+		return inHeap[v];
+	}
+
+	/**
+	 * getKey()
+	 *
+	 * Gets the priority of Vertex v. This is still valid after v has
+	 * been removed, and is then the priority v had when removed.
+	 *
+	 * @param v - the Vertex whose priority you want to retrieve.
+	 * @return - the priority of Vertex v.
+	 */
+	public int getKey(int v)
+	{
+		return key[v];
+	}
+
+	/**
+	 * insert()
+	 *
+	 * Inserts Vertex v into the heap with the given priority.
+	 *
+	 * @param v - the Vertex to insert.
+	 * @param k - the priority of v.
+	 */
+	public void insert(int v, int k)
+	{
+		key[v] = k;
+		child[v] = NONE;
+		sibling[v] = NONE;
+		prev[v] = NONE;
+		inHeap[v] = true;
+		N++;
+
+		root = (root == NONE) ? v : link(root, v);
+	}
+
+	/**
+	 * decreaseKey()
+	 *
+	 * Lowers the priority of Vertex v. The subtree rooted at v is cut
+	 * from its parent and linked back in with the root.
+	 *
+	 * @param v - the Vertex to update.
+	 * @param k - the new priority, which must not be greater than
+	 * 			  the current one.
+	 */
+	public void decreaseKey(int v, int k)
+	{
+		key[v] = k;
+
+		if (v == root)
+			return;
+
+		// Detach v from its parent or left sibling.
+		int p = prev[v];
+		if (child[p] == v)
+			child[p] = sibling[v];
+		else
+			sibling[p] = sibling[v];
+
+		if (sibling[v] != NONE)
+			prev[sibling[v]] = p;
+
+		sibling[v] = NONE;
+		prev[v] = NONE;
+
+		root = link(root, v);
+	}
+
+	/**
+	 * deleteMin()
+	 *
+	 * Deletes the minimum element from the heap and returns it.
+	 *
+	 * @return - the name of the Vertex with the lowest priority.
+	 */
+	public int deleteMin()
+	{
+		if (isEmpty())
+			throw new NoSuchElementException("Pairing heap has no elements!");
+
+		int min = root;
+		inHeap[min] = false;
+		N--;
+
+		// Detach the children of the old root.
+		int count = 0;
+		int c = child[min];
+		while (c != NONE)
+		{
+			int next = sibling[c];
+			sibling[c] = NONE;
+			prev[c] = NONE;
+			scratch[count++] = c;
+			c = next;
+		}
+		child[min] = NONE;
+
+		if (count == 0)
+		{
+			root = NONE;
+			return min;
+		}
+
+		// First pass: link the children in pairs, left to right.
+		int paired = 0;
+		int i = 0;
+		for (; i + 1 < count; i += 2)
+			scratch[paired++] = link(scratch[i], scratch[i + 1]);
+
+		if (i < count)
+			scratch[paired++] = scratch[i];
+
+		// Second pass: merge the pairs right to left.
+		int r = scratch[paired - 1];
+		for (int j = paired - 2; j >= 0; j--)
+			r = link(scratch[j], r);
+
+		root = r;
+
+		return min;
+	}
+
+	/* Helper Functions */
+
+	/**
+	 * link()
+	 *
+	 * Links two heap-ordered trees whose roots have no siblings,
+	 * making the root with the larger priority the leftmost child
+	 * of the other.
+	 *
+	 * @param a - root of the first tree.
+	 * @param b - root of the second tree.
+	 * @return - the root of the linked tree.
+	 */
+	private int link(int a, int b)
+	{
+		if (key[b] < key[a])
+		{
+			int exch = a;
+			a = b;
+			b = exch;
+		}
+
+		sibling[b] = child[a];
+		if (child[a] != NONE)
+			prev[child[a]] = b;
+
+		prev[b] = a;
+		child[a] = b;
+
+		return a;
+	}
+
+}
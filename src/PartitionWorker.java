@@ -0,0 +1,97 @@
+/**
+ * PartitionWorker.java
+ *
+ * A worker of a PartitionedMST. It waits on its Link for a partition
+ * of the graph, finds the partition's minimum spanning forest with
+ * Kruskal's algorithm, sends the forest back, and waits for the next
+ * partition, until it is sent an empty message.
+ *
+ * A partition is sent as its number of vertices (a big-endian int)
+ * followed by its edges in the binary edge format (see EdgeReader),
+ * with the vertices numbered from 0 within the partition. The forest
+ * comes back as edges in the same format.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.nio.channels.Channels;
+
+public class PartitionWorker implements Runnable {
+
+	// Buffer size for encoding and decoding messages.
+	public static final int MESSAGE_BUFFER_BYTES = 1 << 16;
+
+	private Transport.Link link;
+
+	/**
+	 * PartitionWorker()
+	 *
+	 * @param link - the worker's end of its link to the coordinator.
+	 */
+	public PartitionWorker(Transport.Link link)
+	{
+		this.link = link;
+	}
+
+	/**
+	 * run()
+	 *
+	 * Answers partitions until told to stop.
+	 */
+	@Override
+	public void run()
+	{
+		try {
+			byte[] task = link.receive();
+
+			while (task.length > 0)
+			{
+				link.send(solve(task));
+				task = link.receive();
+			}
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+	}
+
+	/**
+	 * solve()
+	 *
+	 * Finds the minimum spanning forest of one partition.
+	 *
+	 * @param task - the partition, as the coordinator sent it.
+	 * @return - the forest, as the reply to send back.
+	 */
+	public static byte[] solve(byte[] task) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(task));
+		int numVertices = in.readInt();
+
+		Edge[] edges = new Edge[(task.length - 4) / EdgeReader.RECORD_BYTES];
+		EdgeReader reader = new EdgeReader(Channels.newChannel(in), MESSAGE_BUFFER_BYTES);
+		for (int i = 0; i < edges.length && reader.next(); i++)
+		{
+			edges[i] = new Edge(reader.getU(), reader.getV(), reader.getWeight());
+		}
+
+		// Same sort and union-find as Graph's Kruskal with QuickSort.
+		Edge[] forest = Graph.kruskalForest(numVertices, new QuickSort().sort(edges));
+
+		ByteArrayOutputStream reply = new ByteArrayOutputStream(
+				forest.length * EdgeReader.RECORD_BYTES);
+		EdgeWriter out = new EdgeWriter(Channels.newChannel(reply), MESSAGE_BUFFER_BYTES);
+		for (int i = 0; i < forest.length; i++)
+		{
+			out.write(
+					forest[i].getLeftName(),
+					forest[i].getRightName(),
+					forest[i].getWeight());
+		}
+		out.close();
+
+		return reply.toByteArray();
+	}
+
+}
@@ -0,0 +1,173 @@
+/**
+ * PartitionedMST.java
+ *
+ * The purpose of this class is to find the minimum spanning forest of
+ * a Graph by splitting the work across workers, as a coordinator:
+ *
+ * 	1. The vertices are split into one contiguous range per worker.
+ * 	   Each worker is sent the edges with both ends in its range.
+ * 	2. The workers find the minimum spanning forests of their ranges
+ * 	   with Kruskal's algorithm (see PartitionWorker), all at once.
+ * 	3. An edge a worker leaves out is the heaviest on a cycle, so it is
+ * 	   in no MST. The coordinator runs Kruskal's algorithm once more
+ * 	   over just the workers' forests and the cut edges between ranges.
+ *
+ * Every pass orders edges as Edge.lessThan() does, and renumbering the
+ * vertices of a range from 0 keeps that order, so the result is the
+ * same forest Kruskal's algorithm with QuickSort finds on the whole
+ * Graph.
+ *
+ * Workers are reached through a Transport, so they can be threads in
+ * this JVM (LoopbackTransport) or other processes.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+
+public class PartitionedMST {
+
+	private Transport transport;
+
+	// Sizes of the last run.
+	private int numCutEdges = 0;
+	private int numLocalEdges = 0;
+
+	/**
+	 * PartitionedMST()
+	 *
+	 * @param transport - the links to the workers.
+	 */
+	public PartitionedMST(Transport transport)
+	{
+		this.transport = transport;
+	}
+
+	/**
+	 * run()
+	 *
+	 * Runs and times the partitioned MST.
+	 *
+	 * @param g - the graph.
+	 * @return - the MST along with how it was computed and its runtime.
+	 */
+	public MSTResult run(Graph g) throws IOException
+	{
+		long runtime = System.currentTimeMillis();
+		Edge[] mst = minimumSpanningForest(g);
+		runtime = System.currentTimeMillis() - runtime;
+
+		return new MSTResult(
+				"PARTITIONED",
+				"LIST",
+				transport.getNumWorkers() + " WORKERS",
+				mst,
+				runtime);
+	}
+
+	/**
+	 * minimumSpanningForest()
+	 *
+	 * @param g - the graph.
+	 * @return - the MST, or minimum spanning forest if g isn't connected.
+	 */
+	public Edge[] minimumSpanningForest(Graph g) throws IOException
+	{
+		int n = g.getNumVertices();
+		int numWorkers = transport.getNumWorkers();
+
+		int[] start = new int[numWorkers + 1];
+		int[] range = new int[n];
+		for (int i = 0; i <= numWorkers; i++)
+			start[i] = (int) ((long) i * n / numWorkers);
+		for (int i = 0; i < numWorkers; i++)
+		{
+			for (int v = start[i]; v < start[i + 1]; v++)
+				range[v] = i;
+		}
+
+		// Split the edges into the workers' tasks and the cut edges.
+		ByteArrayOutputStream[] tasks = new ByteArrayOutputStream[numWorkers];
+		EdgeWriter[] writers = new EdgeWriter[numWorkers];
+		for (int i = 0; i < numWorkers; i++)
+		{
+			tasks[i] = new ByteArrayOutputStream();
+			new DataOutputStream(tasks[i]).writeInt(start[i + 1] - start[i]);
+			writers[i] = new EdgeWriter(Channels.newChannel(tasks[i]),
+					PartitionWorker.MESSAGE_BUFFER_BYTES);
+		}
+
+		ArrayList<Edge> candidates = new ArrayList<Edge>();
+		for (int u = 0; u < n; u++)
+		{
+			for (int j = 0; j < g.getDegree(u); j++)
+			{
+				int v = g.getNeighbor(u, j);
+				if (v < u)
+					continue;
+
+				int w = g.getNeighborWeight(u, j);
+				if (range[u] == range[v])
+					writers[range[u]].write(u - start[range[u]], v - start[range[u]], w);
+				else
+					candidates.add(new Edge(u, v, w));
+			}
+		}
+		numCutEdges = candidates.size();
+
+		// Hand out every task before waiting, so the workers overlap.
+		for (int i = 0; i < numWorkers; i++)
+		{
+			writers[i].close();
+			transport.getLink(i).send(tasks[i].toByteArray());
+			tasks[i] = null;
+		}
+
+		for (int i = 0; i < numWorkers; i++)
+		{
+			byte[] reply = transport.getLink(i).receive();
+			EdgeReader reader = new EdgeReader(
+					Channels.newChannel(new ByteArrayInputStream(reply)),
+					PartitionWorker.MESSAGE_BUFFER_BYTES);
+
+			while (reader.next())
+			{
+				candidates.add(new Edge(
+						start[i] + reader.getU(),
+						start[i] + reader.getV(),
+						reader.getWeight()));
+			}
+		}
+		numLocalEdges = candidates.size() - numCutEdges;
+
+		Edge[] sorted = new QuickSort().sort(
+				candidates.toArray(new Edge[candidates.size()]));
+
+		return Graph.kruskalForest(n, sorted);
+	}
+
+	/**
+	 * getNumCutEdges()
+	 *
+	 * @return - the number of edges between ranges in the last run.
+	 */
+	public int getNumCutEdges()
+	{
+		return numCutEdges;
+	}
+
+	/**
+	 * getNumLocalEdges()
+	 *
+	 * @return - the number of edges the workers' forests had in the last
+	 * 			 run.
+	 */
+	public int getNumLocalEdges()
+	{
+		return numLocalEdges;
+	}
+
+}
@@ -0,0 +1,290 @@
+/**
+ * PathMaxIndex.java
+ *
+ * The purpose of this class is to answer "what is the heaviest edge on
+ * the tree path between u and v?" for a computed MST (or spanning
+ * forest). It is built once by binary lifting in O(n log n) time and
+ * space, after which each query takes O(log n).
+ *
+ * This answers bottleneck queries, and tells whether a candidate edge
+ * (u, v, w) would improve the tree: it would if w is less than the
+ * heaviest edge on the path from u to v.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+public class PathMaxIndex {
+
+	public static final int NO_PATH = -1;
+
+	private final int NONE = -1;
+
+	private int numVertices;
+	private int levels;
+
+	private int[] depth;
+	private int[] component;	// Root of the vertex's tree.
+	private int[] parentWeight;	// Weight of the edge to the parent.
+
+	// Flattened [level * numVertices + v] tables:
+	// up - the 2^level-th ancestor of v (the root if there are fewer).
+	// heaviest - the vertex whose parent edge is the heaviest of the
+	// 			  2^level edges above v, or NONE if there are none.
+	private int[] up;
+	private int[] heaviest;
+
+	/**
+	 * PathMaxIndex()
+	 *
+	 * Builds the index from the edges of an MST or spanning forest.
+	 *
+	 * @param numVertices - number of vertices in the graph.
+	 * @param mst - the edges of the tree or forest.
+	 */
+	public PathMaxIndex(int numVertices, Edge[] mst)
+	{
+		this.numVertices = numVertices;
+
+		levels = 1;
+		while ((1 << levels) < numVertices)
+			levels++;
+
+		depth = new int[numVertices];
+		component = new int[numVertices];
+		parentWeight = new int[numVertices];
+		up = new int[levels * numVertices];
+		heaviest = new int[levels * numVertices];
+
+		buildParents(mst);
+
+		for (int k = 1; k < levels; k++)
+		{
+			int row = k * numVertices;
+			int prevRow = (k - 1) * numVertices;
+
+			for (int v = 0; v < numVertices; v++)
+			{
+				int mid = up[prevRow + v];
+				up[row + v] = up[prevRow + mid];
+				heaviest[row + v] = heavier(
+						heaviest[prevRow + v],
+						heaviest[prevRow + mid]);
+			}
+		}
+	}
+
+	/**
+	 * maxWeight()
+	 *
+	 * @param u - one end of the path.
+	 * @param v - the other end of the path.
+	 * @return - the weight of the heaviest edge on the tree path from u
+	 * 			 to v, or NO_PATH if u == v or they aren't connected.
+	 */
+	public int maxWeight(int u, int v)
+	{
+		int x = query(u, v);
+
+		return (x == NONE) ? NO_PATH : parentWeight[x];
+	}
+
+	/**
+	 * maxEdge()
+	 *
+	 * @param u - one end of the path.
+	 * @param v - the other end of the path.
+	 * @return - the heaviest edge on the tree path from u to v, lower
+	 * 			 vertex name on the left, or null if there is none.
+	 */
+	public Edge maxEdge(int u, int v)
+	{
+		int x = query(u, v);
+
+		if (x == NONE)
+			return null;
+
+		int p = up[x];
+		return new Edge(
+				Math.min(x, p),
+				Math.max(x, p),
+				parentWeight[x]);
+	}
+
+	/**
+	 * maxWeights()
+	 *
+	 * Answers a batch of queries.
+	 *
+	 * @param us - one end of each path.
+	 * @param vs - the other end of each path.
+	 * @param result - filled with maxWeight(us[i], vs[i]) for each i.
+	 */
+	public void maxWeights(int[] us, int[] vs, int[] result)
+	{
+		for (int i = 0; i < us.length; i++)
+			result[i] = maxWeight(us[i], vs[i]);
+	}
+
+	/**
+	 * wouldImprove()
+	 *
+	 * @param u - one of the vertices of a candidate edge.
+	 * @param v - the other vertex of the candidate edge.
+	 * @param weight - the weight of the candidate edge.
+	 * @return - true if adding the edge would give a lighter spanning
+	 * 			 tree (or join two trees of a forest).
+	 */
+	public boolean wouldImprove(int u, int v, int weight)
+	{
+		if (u == v)
+			return false;
+
+		if (component[u] != component[v])
+			return true;
+
+		return weight < maxWeight(u, v);
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * query()
+	 *
+	 * @return - the vertex whose parent edge is the heaviest on the
+	 * 			 path from u to v, or NONE.
+	 */
+	private int query(int u, int v)
+	{
+		if (u == v || component[u] != component[v])
+			return NONE;
+
+		if (depth[u] < depth[v])
+		{
+			int exch = u;
+			u = v;
+			v = exch;
+		}
+
+		// Lift u to the depth of v.
+		int best = NONE;
+		int diff = depth[u] - depth[v];
+		for (int k = 0; diff > 0; k++, diff >>= 1)
+		{
+			if ((diff & 1) != 0)
+			{
+				best = heavier(best, heaviest[k * numVertices + u]);
+				u = up[k * numVertices + u];
+			}
+		}
+
+		if (u == v)
+			return best;
+
+		// Lift both to just below their lowest common ancestor.
+		for (int k = levels - 1; k >= 0; k--)
+		{
+			int row = k * numVertices;
+			if (up[row + u] != up[row + v])
+			{
+				best = heavier(best, heaviest[row + u]);
+				best = heavier(best, heaviest[row + v]);
+				u = up[row + u];
+				v = up[row + v];
+			}
+		}
+
+		best = heavier(best, u);
+		return heavier(best, v);
+	}
+
+	/**
+	 * heavier()
+	 *
+	 * @return - whichever of a and b has the heavier parent edge.
+	 */
+	private int heavier(int a, int b)
+	{
+		if (a == NONE)
+			return b;
+
+		if (b == NONE)
+			return a;
+
+		return (parentWeight[a] >= parentWeight[b]) ? a : b;
+	}
+
+	/**
+	 * buildParents()
+	 *
+	 * Roots every tree of the forest at its lowest vertex with a
+	 * breadth-first search, filling in level 0 of the tables.
+	 *
+	 * @param mst - the edges of the tree or forest.
+	 */
+	private void buildParents(Edge[] mst)
+	{
+		// Adjacency of the forest in compressed rows.
+		int[] start = new int[numVertices + 1];
+		for (int i = 0; i < mst.length; i++)
+		{
+			start[mst[i].getLeftName() + 1]++;
+			start[mst[i].getRightName() + 1]++;
+		}
+		for (int v = 0; v < numVertices; v++)
+			start[v + 1] += start[v];
+
+		int[] next = new int[numVertices];
+		System.arraycopy(start, 0, next, 0, numVertices);
+		int[] adj = new int[2 * mst.length];
+		int[] adjWeight = new int[2 * mst.length];
+		for (int i = 0; i < mst.length; i++)
+		{
+			int a = mst[i].getLeftName();
+			int b = mst[i].getRightName();
+			adj[next[a]] = b;
+			adjWeight[next[a]++] = mst[i].getWeight();
+			adj[next[b]] = a;
+			adjWeight[next[b]++] = mst[i].getWeight();
+		}
+
+		boolean[] visited = new boolean[numVertices];
+		int[] queue = new int[numVertices];
+
+		for (int root = 0; root < numVertices; root++)
+		{
+			if (visited[root])
+				continue;
+
+			visited[root] = true;
+			up[root] = root;
+			heaviest[root] = NONE;
+			component[root] = root;
+
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = root;
+
+			while (head < tail)
+			{
+				int u = queue[head++];
+
+				for (int i = start[u]; i < start[u + 1]; i++)
+				{
+					int v = adj[i];
+					if (visited[v])
+						continue;
+
+					visited[v] = true;
+					up[v] = u;
+					heaviest[v] = v;
+					parentWeight[v] = adjWeight[i];
+					depth[v] = depth[u] + 1;
+					component[v] = root;
+					queue[tail++] = v;
+				}
+			}
+		}
+	}
+
+}
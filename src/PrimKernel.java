@@ -0,0 +1,82 @@
+/**
+ * PrimKernel.java
+ * 
+ * An abstract class for the two loops the dense version of Prim's
+ * algorithm (see DensePrim) spends all its time in, so that they can
+ * be swapped for faster implementations on machines that have them.
+ * 
+ * Keys are ints: the weight of the lightest edge from each vertex to
+ * the tree, Integer.MAX_VALUE for none yet, and IN_TREE for vertices
+ * already in the tree. A matrix entry of 0 means no edge.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+public abstract class PrimKernel {
+
+	public static final int IN_TREE = Integer.MIN_VALUE;
+	
+	// Found once, the first time a kernel is asked for.
+	private static PrimKernel defaultKernel = null;
+	
+	/**
+	 * relax()
+	 * 
+	 * Lowers the key of every vertex that the new tree vertex u has a
+	 * lighter edge to, making u its parent. Vertices in the tree are
+	 * never lowered, since nothing is lighter than IN_TREE.
+	 * 
+	 * @param row - u's row of the adjacency matrix.
+	 * @param key - the key of each vertex.
+	 * @param parent - the parent of each vertex.
+	 * @param u - the vertex just added to the tree.
+	 */
+	public abstract void relax(int[] row, int[] key, int[] parent, int u);
+	
+	/**
+	 * argMin()
+	 * 
+	 * Finds the vertex to add to the tree next: the lowest numbered one
+	 * with the smallest key, not counting vertices already in the tree.
+	 * Keys are compared after subtracting 1, which wraps IN_TREE around
+	 * to the largest int, after every vertex that isn't in the tree.
+	 * 
+	 * @param key - the key of each vertex.
+	 * @return - the next vertex. Its key is Integer.MAX_VALUE if no
+	 * 			 vertex outside the tree has an edge to it.
+	 */
+	public abstract int argMin(int[] key);
+	
+	/**
+	 * getName()
+	 * 
+	 * @return - the name of the kernel (all caps) as printed.
+	 */
+	public abstract String getName();
+	
+	/**
+	 * getDefault()
+	 * 
+	 * Gets the fastest kernel this JVM can run: VectorPrimKernel if it
+	 * was compiled and the jdk.incubator.vector module was added, or
+	 * else ScalarPrimKernel.
+	 * 
+	 * @return - the kernel.
+	 */
+	public static synchronized PrimKernel getDefault()
+	{
+		if (defaultKernel == null)
+		{
+			try {
+				defaultKernel = (PrimKernel) Class.forName("VectorPrimKernel")
+						.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				defaultKernel = new ScalarPrimKernel();
+			}
+		}
+		
+		return defaultKernel;
+	}
+	
+}
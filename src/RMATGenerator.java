@@ -0,0 +1,88 @@
+/**
+ * RMATGenerator.java
+ * 
+ * Generates an R-MAT graph, whose skewed, power-law degrees are like
+ * those of web and social graphs. Each edge is placed by descending
+ * the adjacency matrix one level at a time, picking one of its four
+ * quadrants with probabilities A, B, C and D, until a single cell is
+ * left. The vertices are then shuffled, so the high degree ones are
+ * not all at low numbers. Weights are from 1 to n.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import java.util.*;
+
+public class RMATGenerator extends GraphGenerator {
+	
+	// Quadrant probabilities, as in the Graph 500 benchmark.
+	private static final double A = 0.57;
+	private static final double B = 0.19;
+	private static final double C = 0.19;
+	
+	// Attempts per wanted edge before giving up. A skewed graph runs out
+	// of new pairs well before it is complete.
+	private static final int MAX_ATTEMPTS_PER_EDGE = 8;
+	
+	/**
+	 * generate()
+	 * 
+	 * Draws edges until p * n(n - 1) / 2 distinct ones have been added,
+	 * or too many draws have been self loops or repeats.
+	 */
+	@Override
+	public void generate(int n, double p, Random rConnect,
+			Random wConnection, EdgeSink sink)
+	{
+		long target = targetEdges(n, p);
+		long maxAttempts = MAX_ATTEMPTS_PER_EDGE * target;
+		
+		// Levels to descend: the matrix is the next power of 2 up from n.
+		int levels = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1));
+		
+		// A random renaming of the vertices.
+		int[] name = new int[n];
+		for (int i = 0; i < n; i++)
+			name[i] = i;
+		for (int i = n - 1; i > 0; i--)
+		{
+			int r = rConnect.nextInt(i + 1);
+			int t = name[i];
+			name[i] = name[r];
+			name[r] = t;
+		}
+		
+		long added = 0;
+		for (long attempt = 0; attempt < maxAttempts && added < target; attempt++)
+		{
+			int u = 0;
+			int v = 0;
+			
+			for (int level = 0; level < levels; level++)
+			{
+				double r = rConnect.nextDouble();
+				u <<= 1;
+				v <<= 1;
+				
+				if (r >= A + B + C)
+				{
+					u |= 1;
+					v |= 1;
+				}
+				else if (r >= A + B)
+					u |= 1;
+				else if (r >= A)
+					v |= 1;
+			}
+			
+			// Cells past n - 1 are outside the graph.
+			if (u >= n || v >= n)
+				continue;
+			
+			if (sink.addEdge(name[u], name[v], randomWeight(n, wConnection)))
+				added++;
+		}
+	}
+	
+}
@@ -0,0 +1,131 @@
+/**
+ * RadixSort.java
+ *
+ * Sorts by primitive long keys without comparisons or boxing, for
+ * the edge lists whose weights aren't ints (see LongEdgeList and
+ * DoubleEdgeList). It sorts indexes rather than the keys themselves,
+ * so any number of parallel arrays can be put in the sorted order, and
+ * it is stable, so sorting by one key and then another sorts by the
+ * second and breaks its ties by the first.
+ *
+ * Keys are compared as unsigned. signedKey() and doubleKey() turn a
+ * long or a double into a key that sorts in the same order.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.Arrays;
+
+public class RadixSort {
+
+	private static final int DIGIT_BITS = 16;
+	private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+	/**
+	 * sortIndexes()
+	 *
+	 * Sorts the indexes 0 to n - 1 by their keys.
+	 *
+	 * @param keys - a key per index.
+	 * @param n - number of keys.
+	 * @return - the indexes in non-decreasing order of key.
+	 */
+	public static int[] sortIndexes(long[] keys, int n)
+	{
+		int[] index = new int[n];
+		for (int i = 0; i < n; i++)
+			index[i] = i;
+
+		return sortIndexes(keys, index);
+	}
+
+	/**
+	 * sortIndexes()
+	 *
+	 * Sorts indexes by their keys, 16 bits at a time from the lowest,
+	 * keeping indexes with the same key in the order given. A pass is
+	 * skipped if every key has the same 16 bits there, so small keys
+	 * take fewer passes.
+	 *
+	 * @param keys - a key per index.
+	 * @param index - the indexes to sort, which are sorted in place.
+	 * @return - index.
+	 */
+	public static int[] sortIndexes(long[] keys, int[] index)
+	{
+		int n = index.length;
+		int[] from = index;
+		int[] to = new int[n];
+		int[] counts = new int[DIGIT_MASK + 2];
+
+		for (int shift = 0; shift < 64; shift += DIGIT_BITS)
+		{
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < n; i++)
+				counts[digit(keys[from[i]], shift) + 1]++;
+
+			// Nothing to do if every key has the same digit.
+			if (n == 0 || counts[digit(keys[from[0]], shift) + 1] == n)
+				continue;
+
+			for (int d = 0; d <= DIGIT_MASK; d++)
+				counts[d + 1] += counts[d];
+
+			for (int i = 0; i < n; i++)
+			{
+				int j = from[i];
+				to[counts[digit(keys[j], shift)]++] = j;
+			}
+
+			int[] t = from;
+			from = to;
+			to = t;
+		}
+
+		if (from != index)
+			System.arraycopy(from, 0, index, 0, n);
+
+		return index;
+	}
+
+	/**
+	 * signedKey()
+	 *
+	 * @param x - a long.
+	 * @return - a key that sorts as x does among signed longs.
+	 */
+	public static long signedKey(long x)
+	{
+		return x ^ Long.MIN_VALUE;
+	}
+
+	/**
+	 * doubleKey()
+	 *
+	 * @param x - a double that isn't NaN.
+	 * @return - a key that sorts as x does among doubles, with -0.0
+	 * 			 just before 0.0.
+	 */
+	public static long doubleKey(double x)
+	{
+		long bits = Double.doubleToLongBits(x);
+
+		// Negative doubles sort backwards by their bits, so flip them
+		// all; positive ones just need to go after them.
+		return (bits < 0) ? ~bits : bits ^ Long.MIN_VALUE;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * digit()
+	 *
+	 * @return - the 16 bits of key starting at shift.
+	 */
+	private static int digit(long key, int shift)
+	{
+		return (int) (key >>> shift) & DIGIT_MASK;
+	}
+
+}
@@ -0,0 +1,297 @@
+/**
+ * ResultWriter.java
+ *
+ * Streams MST edges, adjacency dumps and DFS predecessors to a file or
+ * standard output. Everything is written into one large reusable byte
+ * buffer, which goes to the channel only when it fills, and integers
+ * are formatted straight into the buffer instead of through String or
+ * printf, so writing a tree of millions of edges is bound by I/O.
+ *
+ * In Text format the output is the same text Graph's print functions
+ * print. In Binary format there is no text at all: an edge is a 12-byte
+ * record (u, v, weight), as EdgeReader reads, and any other number is
+ * a 4-byte big-endian int.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+
+public class ResultWriter implements Closeable, Flushable {
+
+	public static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+
+	// Longest number: a sign and the 19 digits of a long.
+	private static final int MAX_DIGITS = 20;
+
+	private static ResultWriter standardOut;	// Shared by toStandardOut().
+
+	private WritableByteChannel channel;
+	private OutputFormat format;
+	private ByteBuffer buffer;
+	private byte[] digits = new byte[MAX_DIGITS];
+
+	/**
+	 * ResultWriter()
+	 *
+	 * @param channel - the channel to write to.
+	 * @param format - the format to write in.
+	 */
+	public ResultWriter(WritableByteChannel channel, OutputFormat format)
+	{
+		this(channel, format, DEFAULT_BUFFER_BYTES);
+	}
+
+	/**
+	 * ResultWriter()
+	 *
+	 * @param channel - the channel to write to.
+	 * @param format - the format to write in.
+	 * @param bufferBytes - size of the write buffer.
+	 */
+	public ResultWriter(WritableByteChannel channel, OutputFormat format, int bufferBytes)
+	{
+		this.channel = channel;
+		this.format = format;
+		buffer = ByteBuffer.allocate(Math.max(bufferBytes, EdgeReader.RECORD_BYTES + MAX_DIGITS));
+	}
+
+	/**
+	 * create()
+	 *
+	 * @param file - the file to create (or overwrite).
+	 * @param format - the format to write in.
+	 * @return - a writer to the file.
+	 */
+	public static ResultWriter create(File file, OutputFormat format) throws IOException
+	{
+		return new ResultWriter(new FileOutputStream(file).getChannel(), format);
+	}
+
+	/**
+	 * toStandardOut()
+	 *
+	 * Gets the one text writer to standard output, creating it the first
+	 * time, so every print shares its buffer instead of allocating one.
+	 * Threads share it too, so hold its lock (synchronize on it) for the
+	 * whole of a print, and flush it before letting go: then prints don't
+	 * interleave, and nothing is left in the buffer to come out after
+	 * what is printed through System.out next. Flush it rather than
+	 * closing it.
+	 *
+	 * @return - the text writer to standard output.
+	 */
+	public static synchronized ResultWriter toStandardOut()
+	{
+		if (standardOut == null)
+			standardOut = new ResultWriter(Channels.newChannel(System.out), OutputFormat.Text);
+
+		return standardOut;
+	}
+
+	/**
+	 * getFormat()
+	 *
+	 * @return - the format the writer writes in.
+	 */
+	public OutputFormat getFormat()
+	{
+		return format;
+	}
+
+	/**
+	 * isText()
+	 *
+	 * @return - true if the writer writes text.
+	 */
+	public boolean isText()
+	{
+		return format == OutputFormat.Text;
+	}
+
+	/**
+	 * writeEdge()
+	 *
+	 * Writes an edge as "u v weight = w" and a newline, or as a record.
+	 *
+	 * @param u - one vertex of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge.
+	 */
+	public void writeEdge(int u, int v, int weight) throws IOException
+	{
+		if (isText())
+		{
+			writeInt(u);
+			writeChar(' ');
+			writeInt(v);
+			writeText(" weight = ");
+			writeInt(weight);
+			writeChar('\n');
+		}
+		else
+		{
+			ensure(EdgeReader.RECORD_BYTES);
+			buffer.putInt(u);
+			buffer.putInt(v);
+			buffer.putInt(weight);
+		}
+	}
+
+	/**
+	 * writeEdges()
+	 *
+	 * Writes every edge of an MST, one per line or record.
+	 *
+	 * @param a - the edges.
+	 */
+	public void writeEdges(Edge[] a) throws IOException
+	{
+		for (int i = 0; i < a.length; i++)
+		{
+			writeEdge(
+					a[i].getLeftName(),
+					a[i].getRightName(),
+					a[i].getWeight());
+		}
+	}
+
+	/**
+	 * writeInt()
+	 *
+	 * Writes an int in decimal, or as 4 bytes.
+	 *
+	 * @param value - the int to write.
+	 */
+	public void writeInt(int value) throws IOException
+	{
+		if (isText())
+			writeLong(value);
+		else
+		{
+			ensure(4);
+			buffer.putInt(value);
+		}
+	}
+
+	/**
+	 * writeLong()
+	 *
+	 * Writes a long in decimal, or as 8 bytes.
+	 *
+	 * @param value - the long to write.
+	 */
+	public void writeLong(long value) throws IOException
+	{
+		ensure(MAX_DIGITS);
+
+		if (!isText())
+		{
+			buffer.putLong(value);
+			return;
+		}
+
+		if (value == Long.MIN_VALUE)
+		{
+			writeText(Long.toString(value));
+			return;
+		}
+
+		if (value < 0)
+		{
+			buffer.put((byte) '-');
+			value = -value;
+		}
+
+		// Fill the digits from the end, then copy them out in one go.
+		int pos = MAX_DIGITS;
+		do
+		{
+			digits[--pos] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while (value != 0);
+
+		buffer.put(digits, pos, MAX_DIGITS - pos);
+	}
+
+	/**
+	 * writeChar()
+	 *
+	 * Writes an ASCII character. Ignored in Binary format.
+	 *
+	 * @param c - the character.
+	 */
+	public void writeChar(char c) throws IOException
+	{
+		if (!isText())
+			return;
+
+		ensure(1);
+		buffer.put((byte) c);
+	}
+
+	/**
+	 * writeText()
+	 *
+	 * Writes ASCII text. Ignored in Binary format, which holds only
+	 * numbers.
+	 *
+	 * @param s - the text.
+	 */
+	public void writeText(String s) throws IOException
+	{
+		if (!isText())
+			return;
+
+		for (int i = 0; i < s.length(); i++)
+		{
+			ensure(1);
+			buffer.put((byte) s.charAt(i));
+		}
+	}
+
+	/**
+	 * flush()
+	 *
+	 * Writes out anything buffered.
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * close()
+	 *
+	 * Writes out anything buffered and closes the channel.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		flush();
+		channel.close();
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * ensure()
+	 *
+	 * Makes room in the buffer, writing it out if it is too full.
+	 *
+	 * @param bytes - the room needed.
+	 */
+	private void ensure(int bytes) throws IOException
+	{
+		if (buffer.remaining() < bytes)
+			flush();
+	}
+
+}
@@ -0,0 +1,57 @@
+/**
+ * ScalarPrimKernel.java
+ * 
+ * The plain Java kernels for DensePrim, which run anywhere. The relax
+ * loop has no data-dependent control flow apart from the update, so
+ * the JIT can unroll it; argMin() finds the smallest key and its index
+ * in a single pass, whose branch is almost never taken.
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+public class ScalarPrimKernel extends PrimKernel {
+
+	@Override
+	public void relax(int[] row, int[] key, int[] parent, int u)
+	{
+		for (int j = 0; j < row.length; j++)
+		{
+			// No edge (0) becomes MAX_VALUE, which never lowers a key.
+			int w = row[j];
+			w |= ((w - 1) >> 31) & Integer.MAX_VALUE;
+			
+			if (w < key[j])
+			{
+				key[j] = w;
+				parent[j] = u;
+			}
+		}
+	}
+	
+	@Override
+	public int argMin(int[] key)
+	{
+		int best = Integer.MAX_VALUE;
+		int index = 0;
+		
+		for (int j = 0; j < key.length; j++)
+		{
+			int k = key[j] - 1;
+			if (k < best)
+			{
+				best = k;
+				index = j;
+			}
+		}
+		
+		return index;
+	}
+	
+	@Override
+	public String getName()
+	{
+		return "SCALAR";
+	}
+	
+}
@@ -0,0 +1,358 @@
+/**
+ * SingleLinkage.java
+ *
+ * The purpose of this class is to cluster the vertices of a Graph by
+ * single linkage, which is Kruskal's algorithm stopped early: after
+ * V - k unions the union-find holds exactly the k clusters, the same
+ * ones left by cutting the k - 1 heaviest edges out of the MST.
+ *
+ * Constructing a SingleLinkage runs Kruskal's algorithm once and keeps
+ * the order of its unions (the dendrogram), so the clusters for any
+ * number of k can then be read off without sorting the edges again.
+ * cluster() is the one-off version, which stops uniting as soon as k
+ * clusters are left.
+ *
+ * Edges are ordered as Edge.lessThan() orders them, so ties are broken
+ * the same way Kruskal's algorithm with QuickSort breaks them. Cluster
+ * labels run from 0 to k - 1 in order of each cluster's lowest vertex.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.Arrays;
+
+public class SingleLinkage {
+
+	private int numVertices;
+
+	// The unions in the order Kruskal's algorithm made them.
+	private int[] mergeU;
+	private int[] mergeV;
+	private int[] mergeWeight;
+	private int numMerges = 0;
+
+	/**
+	 * SingleLinkage()
+	 *
+	 * Builds the dendrogram of a graph with Kruskal's algorithm.
+	 *
+	 * @param g - the graph to cluster.
+	 */
+	public SingleLinkage(Graph g)
+	{
+		this.numVertices = g.getNumVertices();
+
+		mergeU = new int[numVertices];
+		mergeV = new int[numVertices];
+		mergeWeight = new int[numVertices];
+
+		kruskal(g, 1, null);
+	}
+
+	/**
+	 * SingleLinkage()
+	 *
+	 * Builds the dendrogram from an MST (or spanning forest) that has
+	 * already been found.
+	 *
+	 * @param numVertices - number of vertices in the graph.
+	 * @param mst - the edges of the tree or forest.
+	 */
+	public SingleLinkage(int numVertices, Edge[] mst)
+	{
+		this.numVertices = numVertices;
+
+		int m = mst.length;
+		final int[] u = new int[m];
+		final int[] v = new int[m];
+		final int[] weight = new int[m];
+		Integer[] order = new Integer[m];
+		for (int i = 0; i < m; i++)
+		{
+			// Lower name on the left, as Edge.lessThan() expects.
+			int a = mst[i].getLeftName();
+			int b = mst[i].getRightName();
+			u[i] = Math.min(a, b);
+			v[i] = Math.max(a, b);
+			weight[i] = mst[i].getWeight();
+			order[i] = i;
+		}
+
+		Arrays.sort(order, (a, b) -> {
+			if (weight[a] != weight[b])
+				return Integer.compare(weight[a], weight[b]);
+			if (u[a] != u[b])
+				return Integer.compare(u[a], u[b]);
+			return Integer.compare(v[a], v[b]);
+		});
+
+		mergeU = new int[m];
+		mergeV = new int[m];
+		mergeWeight = new int[m];
+		for (int i = 0; i < m; i++)
+		{
+			mergeU[i] = u[order[i]];
+			mergeV[i] = v[order[i]];
+			mergeWeight[i] = weight[order[i]];
+		}
+		numMerges = m;
+	}
+
+	/**
+	 * cluster()
+	 *
+	 * Clusters a graph into k clusters, stopping Kruskal's algorithm as
+	 * soon as there are k.
+	 *
+	 * @param g - the graph to cluster.
+	 * @param k - the number of clusters, from 1 to n.
+	 * @return - the cluster label of each vertex. There are more than k
+	 * 			 clusters if the graph has more than k components.
+	 */
+	public static int[] cluster(Graph g, int k)
+	{
+		checkK(k, g.getNumVertices());
+
+		int[] partition = new int[g.getNumVertices()];
+		new SingleLinkage(g.getNumVertices()).kruskal(g, k, partition);
+
+		return labelsFrom(partition);
+	}
+
+	/**
+	 * clusterLabels()
+	 *
+	 * @param k - the number of clusters, from 1 to n.
+	 * @return - the cluster label of each vertex after the first n - k
+	 * 			 unions. There are more than k clusters if the graph has
+	 * 			 more than k components.
+	 */
+	public int[] clusterLabels(int k)
+	{
+		return clusterLabels(new int[] { k })[0];
+	}
+
+	/**
+	 * clusterLabels()
+	 *
+	 * Cuts the dendrogram at several numbers of clusters in one pass
+	 * over the unions.
+	 *
+	 * @param ks - the numbers of clusters, each from 1 to n, in any order.
+	 * @return - the cluster labels of each vertex for each ks[i].
+	 */
+	public int[][] clusterLabels(int[] ks)
+	{
+		// Replay the unions from the most clusters to the fewest.
+		Integer[] order = new Integer[ks.length];
+		for (int i = 0; i < ks.length; i++)
+		{
+			checkK(ks[i], numVertices);
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(ks[b], ks[a]));
+
+		int[] partition = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+			partition[v] = v;
+
+		int[][] labels = new int[ks.length][];
+		int merged = 0;
+
+		for (int i = 0; i < order.length; i++)
+		{
+			int unions = Math.min(numVertices - ks[order[i]], numMerges);
+
+			for (; merged < unions; merged++)
+			{
+				int root1 = find(mergeU[merged], partition);
+				int root2 = find(mergeV[merged], partition);
+				partition[root1] = root2;
+			}
+
+			labels[order[i]] = labelsFrom(partition);
+		}
+
+		return labels;
+	}
+
+	/**
+	 * getNumMerges()
+	 *
+	 * @return - the number of unions in the dendrogram (n - 1 for a
+	 * 			 connected graph).
+	 */
+	public int getNumMerges()
+	{
+		return numMerges;
+	}
+
+	/**
+	 * getMergeWeight()
+	 *
+	 * @param i - an index from 0 to getNumMerges() - 1.
+	 * @return - the weight of the edge of the i-th union, which is the
+	 * 			 height of that join in the dendrogram.
+	 */
+	public int getMergeWeight(int i)
+	{
+		return mergeWeight[i];
+	}
+
+	/**
+	 * getMergeLeft()
+	 *
+	 * @param i - an index from 0 to getNumMerges() - 1.
+	 * @return - one vertex of the edge of the i-th union.
+	 */
+	public int getMergeLeft(int i)
+	{
+		return mergeU[i];
+	}
+
+	/**
+	 * getMergeRight()
+	 *
+	 * @param i - an index from 0 to getNumMerges() - 1.
+	 * @return - the other vertex of the edge of the i-th union.
+	 */
+	public int getMergeRight(int i)
+	{
+		return mergeV[i];
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * SingleLinkage()
+	 *
+	 * An empty dendrogram for cluster() to fill.
+	 */
+	private SingleLinkage(int numVertices)
+	{
+		this.numVertices = numVertices;
+
+		mergeU = new int[numVertices];
+		mergeV = new int[numVertices];
+		mergeWeight = new int[numVertices];
+	}
+
+	/**
+	 * kruskal()
+	 *
+	 * Runs Kruskal's algorithm until k clusters are left, recording the
+	 * unions.
+	 *
+	 * @param g - the graph to cluster.
+	 * @param k - the number of clusters to stop at.
+	 * @param partition - filled with the union-find, or null.
+	 */
+	private void kruskal(Graph g, int k, int[] partition)
+	{
+		int[] u = new int[g.getNumEdges()];
+		int[] v = new int[g.getNumEdges()];
+		int[] weight = new int[g.getNumEdges()];
+		int count = 0;
+
+		// Reading the matrix row by row lists the edges in order, so an
+		// edge's index orders it by (left, right), as Edge.lessThan() does.
+		for (int i = 0; i < numVertices; i++)
+		{
+			for (int j = i + 1; j < numVertices; j++)
+			{
+				int w = g.getWeight(i, j);
+				if (w > 0)
+				{
+					u[count] = i;
+					v[count] = j;
+					weight[count++] = w;
+				}
+			}
+		}
+
+		// Order by weight, then index.
+		long[] keys = new long[count];
+		for (int i = 0; i < keys.length; i++)
+			keys[i] = ((long) weight[i] << 32) | i;
+		Arrays.sort(keys);
+
+		if (partition == null)
+			partition = new int[numVertices];
+		for (int i = 0; i < numVertices; i++)
+			partition[i] = i;
+
+		for (int i = 0; i < keys.length && numMerges < numVertices - k; i++)
+		{
+			int e = (int) keys[i];
+			int root1 = find(u[e], partition);
+			int root2 = find(v[e], partition);
+
+			if (root1 != root2)
+			{
+				partition[root1] = root2;
+				mergeU[numMerges] = u[e];
+				mergeV[numMerges] = v[e];
+				mergeWeight[numMerges++] = weight[e];
+			}
+		}
+	}
+
+	/**
+	 * labelsFrom()
+	 *
+	 * Numbers the sets of a union-find from 0, in order of their lowest
+	 * vertex.
+	 *
+	 * @param partition - the union-find.
+	 * @return - the label of each vertex.
+	 */
+	private static int[] labelsFrom(int[] partition)
+	{
+		int n = partition.length;
+		int[] rootLabel = new int[n];
+		Arrays.fill(rootLabel, -1);
+
+		int[] labels = new int[n];
+		int numLabels = 0;
+		for (int v = 0; v < n; v++)
+		{
+			int root = find(v, partition);
+			if (rootLabel[root] == -1)
+				rootLabel[root] = numLabels++;
+
+			labels[v] = rootLabel[root];
+		}
+
+		return labels;
+	}
+
+	/**
+	 * checkK()
+	 *
+	 * Checks that k is a possible number of clusters.
+	 */
+	private static void checkK(int k, int numVertices)
+	{
+		if (k < 1 || k > numVertices)
+			throw new IllegalArgumentException(
+					"k must be between 1 and " + numVertices);
+	}
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+}
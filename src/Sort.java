@@ -22,18 +22,15 @@ public abstract class Sort {
 	 * representation of a graph.
 	 * 
 	 * @param adjList - the adjacency list whose edges need to be sorted.
-	 * @param vertices - the vertices in the adjacency list.
 	 * @return - an array of sorted Edges.
 	 */
-	protected Edge[] sort(
-			ArrayList<ArrayList<Integer>> adjList, 
-			Vertex[] vertices)
+	protected Edge[] sort(AdjacencyList adjList)
 	{
 		sortTimeList = System.currentTimeMillis();
 		Edge[] result;
 		
 		// Create an array of Edges from the adjacency list.
-		Edge[] a = getEdgesFrom(adjList, vertices);
+		Edge[] a = getEdgesFrom(adjList);
 		
 		// Sort them.
 		result = sort(a);
@@ -89,28 +86,24 @@ public abstract class Sort {
 	 * @param adjList - the adjacency list to get the edges from.
 	 * @return - an array of the Edges in the graph.
 	 */
-	protected Edge[] getEdgesFrom(
-			ArrayList<ArrayList<Integer>> adjList,
-			Vertex[] vertices)
+	protected Edge[] getEdgesFrom(AdjacencyList adjList)
 	{
-		ArrayList<Edge> edges = new ArrayList<Edge>();
+		Edge[] edges = new Edge[adjList.getNumEdges()];
+		int count = 0;
 		
-		for (int i = 0; i < adjList.size(); i++)
+		for (int i = 0; i < adjList.getNumVertices(); i++)
 		{
-			for (int j = 0; j < adjList.get(i).size(); j++)
+			// Each edge is on both its vertices' lists; take it from
+			// its lower vertex's, in adjacency list order.
+			for (int j = 0; j < adjList.getDegree(i); j++)
 			{
-				// Get the edge from each vertex...
-				Edge currEdge = vertices[i].getEdgeByVRight(adjList.get(i).get(j));
-				
-				// Add the edges to our ArrayList.
-				// This will ignore duplicate edges.
-				if (currEdge != null && !edges.contains(currEdge))
-					edges.add(currEdge);
+				int other = adjList.getNeighbor(i, j);
+				if (other > i)
+					edges[count++] = new Edge(i, other, adjList.getWeight(i, j));
 			}
 		}
 		
-		// Convert the HashSet to an array of Edges and return it.
-		return edges.toArray(new Edge[edges.size()]);
+		return edges;
 	}
 	
 	/**
@@ -124,44 +117,16 @@ public abstract class Sort {
 	 */
 	protected Edge[] getEdgesFrom(int[][] matrix)
 	{
-		HashMap<Integer, HashSet<Integer>> visited = 
-			new HashMap<Integer, HashSet<Integer>>();
 		ArrayList<Edge> edges = new ArrayList<Edge>();
 		
+		// We only need half of the matrix because it is symmetric.
 		for (int i = 0; i < matrix.length; i++)
 		{
-			for (int j = 0; j < matrix[i].length; j++)
+			for (int j = i + 1; j < matrix[i].length; j++)
 			{
-				// Check to see if we've already created the edge.
-				// We only need half of the graph because it is symmetric.
-				if (visited.containsKey(j) && visited.get(j).contains(i))
-					continue;
-				else
-				{
-					int weight = matrix[i][j];
-					
-					// Only create an edge if one exists (weight > 0).
-					if (weight > 0)
-					{
-						Vertex left = new Vertex(i);
-						Vertex right = new Vertex(j);
-												
-						// Add the new Edge.
-						edges.add(new Edge(left, right, weight));
-						
-						// Add this to our list of visited edges.
-						if (visited.containsKey(i))
-						{
-							visited.get(i).add(j);
-						}
-						else
-						{
-							HashSet<Integer> visNew = new HashSet<Integer>();
-							visNew.add(j);
-							visited.put(i, visNew);
-						}
-					}
-				}
+				// Only create an edge if one exists (weight > 0).
+				if (matrix[i][j] > 0)
+					edges.add(new Edge(i, j, matrix[i][j]));
 			}
 		}
 		
@@ -194,9 +159,9 @@ public abstract class Sort {
 	protected void shuffle(Edge[] a)
 	{
 		Random rand = new Random();
-		for (int i = 0; i < a.length; i++)
+		for (int i = 1; i < a.length; i++)
 		{
-			int r = rand.nextInt(a.length - 1);
+			int r = rand.nextInt(i + 1);
 			if (i != r)
 				swap(a, i, r);
 		}
@@ -0,0 +1,174 @@
+/**
+ * SpanningForest.java
+ *
+ * The purpose of this class is to split the output of an MST algorithm
+ * on a disconnected Graph into its trees, one per component, with the
+ * vertices and total weight of each. On a connected graph there is just
+ * one tree.
+ *
+ * Trees are numbered from 0 in order of their lowest vertex.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+public class SpanningForest {
+
+	private int numVertices;
+	private int numTrees = 0;
+
+	private int[] tree;			// Tree of each vertex.
+	private int[] treeSize;		// Vertices in each tree.
+	private long[] treeWeight;
+
+	// Edges grouped by tree: tree t's are edges[edgeStart[t]] up to
+	// edges[edgeStart[t + 1]].
+	private Edge[] edges;
+	private int[] edgeStart;
+
+	/**
+	 * SpanningForest()
+	 *
+	 * @param numVertices - number of vertices in the graph.
+	 * @param forest - the edges of a spanning tree or forest.
+	 */
+	public SpanningForest(int numVertices, Edge[] forest)
+	{
+		this.numVertices = numVertices;
+
+		int[] partition = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+			partition[v] = v;
+
+		for (int i = 0; i < forest.length; i++)
+		{
+			int root1 = find(forest[i].getLeftName(), partition);
+			int root2 = find(forest[i].getRightName(), partition);
+			partition[root1] = root2;
+		}
+
+		// Number the trees in order of their lowest vertex.
+		int[] rootTree = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+			rootTree[v] = -1;
+
+		tree = new int[numVertices];
+		for (int v = 0; v < numVertices; v++)
+		{
+			int root = find(v, partition);
+			if (rootTree[root] == -1)
+				rootTree[root] = numTrees++;
+
+			tree[v] = rootTree[root];
+		}
+
+		treeSize = new int[numTrees];
+		treeWeight = new long[numTrees];
+		edgeStart = new int[numTrees + 1];
+		for (int v = 0; v < numVertices; v++)
+			treeSize[tree[v]]++;
+
+		for (int i = 0; i < forest.length; i++)
+		{
+			int t = tree[forest[i].getLeftName()];
+			treeWeight[t] += forest[i].getWeight();
+			edgeStart[t + 1]++;
+		}
+		for (int t = 0; t < numTrees; t++)
+			edgeStart[t + 1] += edgeStart[t];
+
+		int[] next = new int[numTrees];
+		System.arraycopy(edgeStart, 0, next, 0, numTrees);
+		edges = new Edge[forest.length];
+		for (int i = 0; i < forest.length; i++)
+			edges[next[tree[forest[i].getLeftName()]]++] = forest[i];
+	}
+
+	/**
+	 * getNumTrees()
+	 *
+	 * @return - the number of trees, which is the number of components
+	 * 			 of the graph.
+	 */
+	public int getNumTrees()
+	{
+		return numTrees;
+	}
+
+	/**
+	 * isSpanningTree()
+	 *
+	 * @return - true if there is only one tree.
+	 */
+	public boolean isSpanningTree()
+	{
+		return numTrees == 1;
+	}
+
+	/**
+	 * getTree()
+	 *
+	 * @param v - a vertex from 0 to n - 1.
+	 * @return - the tree Vertex v is in.
+	 */
+	public int getTree(int v)
+	{
+		return tree[v];
+	}
+
+	/**
+	 * getTreeSize()
+	 *
+	 * @param t - a tree from 0 to getNumTrees() - 1.
+	 * @return - the number of vertices in tree t.
+	 */
+	public int getTreeSize(int t)
+	{
+		return treeSize[t];
+	}
+
+	/**
+	 * getTreeWeight()
+	 *
+	 * @param t - a tree from 0 to getNumTrees() - 1.
+	 * @return - the total weight of the edges of tree t.
+	 */
+	public long getTreeWeight(int t)
+	{
+		return treeWeight[t];
+	}
+
+	/**
+	 * getTreeEdges()
+	 *
+	 * @param t - a tree from 0 to getNumTrees() - 1.
+	 * @return - the edges of tree t, in the order the MST algorithm
+	 * 			 gave them.
+	 */
+	public Edge[] getTreeEdges(int t)
+	{
+		Edge[] treeEdges = new Edge[edgeStart[t + 1] - edgeStart[t]];
+		System.arraycopy(edges, edgeStart[t], treeEdges, 0, treeEdges.length);
+
+		return treeEdges;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+}
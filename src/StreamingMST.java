@@ -0,0 +1,302 @@
+/**
+ * StreamingMST.java
+ *
+ * The purpose of this class is to keep the minimum spanning forest of
+ * a stream of edges that is never stored. Only the current forest is
+ * kept: when a new edge closes a cycle in it, the heaviest edge on
+ * that cycle (which may be the new edge) can be in no minimum spanning
+ * forest of the edges seen so far, so it is dropped. After every edge
+ * the forest is a minimum spanning forest of all the edges seen.
+ *
+ * The forest lives in a LinkCutTree with a node per vertex and one per
+ * forest edge, which has at most n - 1 edges, so the state is O(n) no
+ * matter how long the stream is. Each edge costs amortized O(log n).
+ *
+ * Edges can be offered one at a time, from an Iterator, or from a
+ * channel in the binary edge format (see EdgeReader). The forest weight
+ * can be read at any time, including from another thread while a
+ * stream is being consumed.
+ *
+ * Usage: java MST -stream n [file] [reportEvery]
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+import java.nio.channels.*;
+import java.util.*;
+
+public class StreamingMST {
+
+	private int numVertices;
+	private LinkCutTree lct;
+
+	// Forest edge slots: slot s is node numVertices + s in lct.
+	private int[] slotU;
+	private int[] slotV;
+	private int[] slotW;
+	private int[] freeSlots;
+	private int numFreeSlots;
+
+	private volatile long forestWeight = 0;
+	private volatile int numTreeEdges = 0;
+	private volatile long numEdgesSeen = 0;
+
+	/**
+	 * @param args - n, the number of vertices, then optionally the binary
+	 * 				 edge file to read (or - for standard input, the
+	 * 				 default) and how many edges to read between progress
+	 * 				 reports.
+	 */
+	public static void main(String[] args) {
+		String usage = "Usage: java MST -stream n [file] [reportEvery]";
+
+		if (args.length < 1 || args.length > 3)
+			MST.exitWithMessage(usage);
+
+		try {
+			int n = Integer.parseInt(args[0]);
+			long reportEvery = (args.length > 2) ? Long.parseLong(args[2]) : 0;
+
+			EdgeReader in = (args.length > 1 && !args[1].equals("-"))
+					? EdgeReader.open(new File(args[1]))
+					: new EdgeReader(Channels.newChannel(System.in));
+
+			StreamingMST stream = new StreamingMST(n);
+			long runtime = System.currentTimeMillis();
+
+			while (in.next())
+			{
+				stream.offer(in.getU(), in.getV(), in.getWeight());
+
+				if (reportEvery > 0 && stream.getNumEdgesSeen() % reportEvery == 0)
+				{
+					System.out.printf("%d edges: forest weight = %d, %d trees\n",
+							stream.getNumEdgesSeen(), stream.getForestWeight(),
+							stream.getNumTrees());
+				}
+			}
+			in.close();
+
+			runtime = System.currentTimeMillis() - runtime;
+
+			System.out.printf("Edges read: %d\n", stream.getNumEdgesSeen());
+			System.out.printf("Forest weight: %d\n", stream.getForestWeight());
+			System.out.printf("Forest edges: %d in %d trees\n",
+					stream.getNumTreeEdges(), stream.getNumTrees());
+			System.out.printf("Runtime: %d milliseconds\n", runtime);
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("n and reportEvery must be integers");
+		} catch (IllegalArgumentException e) {
+			MST.exitWithMessage(e.getMessage());
+		} catch (FileNotFoundException e) {
+			MST.exitWithMessage("File not found: " + e.getMessage());
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+	}
+
+	/**
+	 * StreamingMST()
+	 *
+	 * Starts with a forest of n single vertices.
+	 *
+	 * @param numVertices - number of vertices; edges must join vertices
+	 * 						from 0 to numVertices - 1.
+	 */
+	public StreamingMST(int numVertices)
+	{
+		if (numVertices < 1)
+			throw new IllegalArgumentException("n must be at least 1");
+
+		this.numVertices = numVertices;
+
+		int maxEdges = numVertices - 1;
+		lct = new LinkCutTree(numVertices + maxEdges);
+
+		slotU = new int[maxEdges];
+		slotV = new int[maxEdges];
+		slotW = new int[maxEdges];
+		freeSlots = new int[maxEdges];
+		for (int s = 0; s < maxEdges; s++)
+			freeSlots[s] = maxEdges - 1 - s;
+		numFreeSlots = maxEdges;
+	}
+
+	/**
+	 * offer()
+	 *
+	 * Adds an edge to the stream, updating the forest.
+	 *
+	 * @param u - one vertex of the edge.
+	 * @param v - the other vertex of the edge.
+	 * @param weight - the weight of the edge.
+	 * @return - true if the edge joined the forest.
+	 */
+	public boolean offer(int u, int v, int weight)
+	{
+		if (u < 0 || u >= numVertices || v < 0 || v >= numVertices)
+			throw new IllegalArgumentException(
+					"Edge (" + u + ", " + v + ") has a vertex outside 0 to "
+					+ (numVertices - 1));
+
+		numEdgesSeen++;
+
+		if (u == v)
+			return false;
+
+		int s;
+		if (!lct.connected(u, v))
+		{
+			s = freeSlots[--numFreeSlots];
+			numTreeEdges++;
+		}
+		else
+		{
+			// The new edge closes a cycle. Keep it only if it is lighter
+			// than the heaviest edge on the cycle, which it replaces.
+			int heaviest = lct.pathMax(u, v);
+			if (weight >= lct.getKey(heaviest))
+				return false;
+
+			s = heaviest - numVertices;
+			lct.cut(slotU[s], heaviest);
+			lct.cut(heaviest, slotV[s]);
+			forestWeight -= slotW[s];
+		}
+
+		int node = numVertices + s;
+		slotU[s] = u;
+		slotV[s] = v;
+		slotW[s] = weight;
+
+		lct.reset(node, weight);
+		lct.link(u, node);
+		lct.link(node, v);
+		forestWeight += weight;
+
+		return true;
+	}
+
+	/**
+	 * offerAll()
+	 *
+	 * Adds every edge of an iterator to the stream.
+	 *
+	 * @param edges - the edges to add.
+	 * @return - the number of edges added.
+	 */
+	public long offerAll(Iterator<Edge> edges)
+	{
+		long count = 0;
+
+		while (edges.hasNext())
+		{
+			Edge e = edges.next();
+			offer(e.getLeftName(), e.getRightName(),
+					e.getWeight());
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * offerAll()
+	 *
+	 * Adds every edge of a channel in the binary edge format to the
+	 * stream, reading until the channel ends. The channel is not closed.
+	 *
+	 * @param channel - the channel to read from.
+	 * @return - the number of edges added.
+	 */
+	public long offerAll(ReadableByteChannel channel) throws IOException
+	{
+		EdgeReader in = new EdgeReader(channel);
+		long count = 0;
+
+		while (in.next())
+		{
+			offer(in.getU(), in.getV(), in.getWeight());
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * getForestWeight()
+	 *
+	 * @return - the weight of the minimum spanning forest of the edges
+	 * 			 seen so far.
+	 */
+	public long getForestWeight()
+	{
+		return forestWeight;
+	}
+
+	/**
+	 * getNumTreeEdges()
+	 *
+	 * @return - the number of edges in the current forest.
+	 */
+	public int getNumTreeEdges()
+	{
+		return numTreeEdges;
+	}
+
+	/**
+	 * getNumTrees()
+	 *
+	 * @return - the number of trees in the current forest, counting
+	 * 			 vertices no edge has reached yet.
+	 */
+	public int getNumTrees()
+	{
+		return numVertices - numTreeEdges;
+	}
+
+	/**
+	 * getNumEdgesSeen()
+	 *
+	 * @return - the number of edges offered so far.
+	 */
+	public long getNumEdgesSeen()
+	{
+		return numEdgesSeen;
+	}
+
+	/**
+	 * getEdges()
+	 *
+	 * Materializes the current forest. Should not be called while
+	 * another thread is offering edges.
+	 *
+	 * @return - the edges of the current forest, lower vertex name on
+	 * 			 the left.
+	 */
+	public Edge[] getEdges()
+	{
+		int maxEdges = numVertices - 1;
+		boolean[] free = new boolean[maxEdges];
+		for (int i = 0; i < numFreeSlots; i++)
+			free[freeSlots[i]] = true;
+
+		Edge[] edges = new Edge[maxEdges - numFreeSlots];
+		int count = 0;
+		for (int s = 0; s < maxEdges; s++)
+		{
+			if (!free[s])
+			{
+				edges[count++] = new Edge(
+						Math.min(slotU[s], slotV[s]),
+						Math.max(slotU[s], slotV[s]),
+						slotW[s]);
+			}
+		}
+
+		return edges;
+	}
+
+}
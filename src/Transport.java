@@ -0,0 +1,58 @@
+/**
+ * Transport.java
+ *
+ * How a PartitionedMST coordinator talks to its workers. Each worker
+ * is reached over its own Link, which carries whole messages as byte
+ * arrays in both directions, so an implementation only has to move
+ * bytes: through memory (LoopbackTransport), sockets, or anything
+ * else.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+
+public interface Transport extends Closeable {
+
+	/**
+	 * One end of a two-way link between the coordinator and a worker.
+	 */
+	public interface Link {
+
+		/**
+		 * send()
+		 *
+		 * Sends a message to the other end of the link.
+		 *
+		 * @param message - the message. An empty message tells a worker
+		 * 					to stop.
+		 */
+		void send(byte[] message) throws IOException;
+
+		/**
+		 * receive()
+		 *
+		 * Waits for the next message from the other end of the link.
+		 *
+		 * @return - the message.
+		 */
+		byte[] receive() throws IOException;
+	}
+
+	/**
+	 * getNumWorkers()
+	 *
+	 * @return - the number of workers the transport reaches.
+	 */
+	int getNumWorkers();
+
+	/**
+	 * getLink()
+	 *
+	 * @param worker - a worker from 0 to getNumWorkers() - 1.
+	 * @return - the coordinator's end of the link to the worker.
+	 */
+	Link getLink(int worker);
+
+}
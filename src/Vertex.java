@@ -2,14 +2,13 @@
  * Vertex.java
  * 
  * The purpose of this class is to represent a vertex within an
- * undirected, weighted graph.
+ * undirected, weighted graph. Its edges are kept in the graph's
+ * AdjacencyList.
  * 
  * @author Michael Yeaple
  *
  */
 
-import java.util.*;
-
 public class Vertex {
 	
 	private int name; // Name is a number (i.e. 0, 1, etc.)
@@ -17,7 +16,6 @@ public class Vertex {
 //	// another by the name of the other vertex.
 //	// K: otherVertex -> V: weight of edge
 //	private HashMap<Integer, Long> weightByVertexName;
-	private ArrayList<Edge> edges;
 	private boolean visited;
 	
 	public Vertex(){ }
@@ -31,7 +29,6 @@ public class Vertex {
 	{
 		this.name = name;
 //		weightByVertexName = new HashMap<Integer, Long>();
-		edges = new ArrayList<Edge>();
 	}
 	
 //	/**
@@ -57,18 +54,6 @@ public class Vertex {
 //		}
 //	}
 	
-	/**
-	 * addEdge()
-	 * 
-	 * Adds a new edge to the Vertex.
-	 * 
-	 * @param eNew - the edge to be added to the Vertex.
-	 */
-	public void addEdge(Edge eNew)
-	{
-		edges.add(eNew);
-	}
-	
 	/**
 	 * visit()
 	 * 
@@ -137,79 +122,4 @@ public class Vertex {
 //		return weightByVertexName;
 //	}
 	
-	/**
-	 * getEdges()
-	 * 
-	 * Returns the edges connected to this Vertex.
-	 * 
-	 * @return - an ArrayList of the edges connected to this Vertex.
-	 */
-	public ArrayList<Edge> getEdges()
-	{
-		return edges;
-	}
-	
-	/**
-	 * getEdgesRight()
-	 * 
-	 * Returns Edges in which this Vertex is the left Vertex
-	 * on the Edge.
-	 * 
-	 * @return - a list of Edges.
-	 */
-	public ArrayList<Edge> getEdgesRight()
-	{
-		ArrayList<Edge> result = new ArrayList<Edge>();
-		
-		Iterator<Edge> iter = edges.iterator();
-		while(iter.hasNext())
-		{
-			Edge e = iter.next();
-			if (e.getLeftVertex().equals(this))
-				result.add(e);
-		}
-		
-		return result;
-	}
-	
-	/**
-	 * getEdgeByVRight()
-	 * 
-	 * Returns the Edge with a right Vertex of the specified name.
-	 * 
-	 * @param vRightName - the name of the right Vertex on the edge to be found.
-	 * @return - the found Edge (null if not found).
-	 */
-	public Edge getEdgeByVRight(int vRightName)
-	{
-		for (int i = 0; i < edges.size(); i++)
-		{
-			if (edges.get(i).getRightVertex().getName() == vRightName)
-				return edges.get(i);
-		}
-		
-		return null;
-	}
-	
-	/**
-	 * getEdge()
-	 * 
-	 * Returns the Edge connected to both this one 
-	 * and the Vertex of the specified name.
-	 * 
-	 * @param v - the other Vertex.
-	 * @return - the Edge between the two vertices (null if not found).
-	 */
-	public Edge getEdge(int v)
-	{
-		for (int i = 0; i < edges.size(); i++)
-		{
-			if (edges.get(i).getRightVertex().getName() == v ||
-					edges.get(i).getLeftVertex().getName() == v)
-				return edges.get(i);
-		}
-		
-		return null;
-	}
-	
 }
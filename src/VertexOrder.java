@@ -0,0 +1,197 @@
+/**
+ * VertexOrder.java
+ *
+ * Computes orders of a Graph's vertices that put vertices which are
+ * used together close together, for Graph.reorder() to renumber them
+ * in. The vertices of a generated graph are numbered as they were
+ * generated, so walking a vertex's neighbors jumps all over the
+ * per-vertex arrays; after renumbering, neighbors mostly have nearby
+ * numbers and their data share cache lines.
+ *
+ * 	BFS:	breadth-first order, one component after another, so each
+ * 			vertex's neighbors are numbered in a band just after it.
+ * 	RCM:	reverse Cuthill-McKee, breadth-first from a low-degree vertex
+ * 			visiting lower-degree neighbors first, then reversed. It
+ * 			keeps the band of the matrix narrow.
+ * 	Degree:	highest degree first, so the hubs most edges lead to are
+ * 			packed together at the front.
+ *
+ * Each order is a permutation: order[k] is the vertex to become k.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.Arrays;
+
+public class VertexOrder {
+
+	/**
+	 * order()
+	 *
+	 * @param g - the graph.
+	 * @param type - the order to compute.
+	 * @return - the order of g's vertices.
+	 */
+	public static int[] order(Graph g, OrderType type)
+	{
+		switch (type)
+		{
+			case BFS:
+				return breadthFirst(g, false);
+			case RCM:
+				return reverseCuthillMcKee(g);
+			default:
+				return byDegree(g);
+		}
+	}
+
+	/**
+	 * breadthFirst()
+	 *
+	 * @param g - the graph.
+	 * @param byDegree - true to start each component at its lowest
+	 * 					 degree vertex and visit neighbors lowest degree
+	 * 					 first (Cuthill-McKee); false to start at the
+	 * 					 lowest numbered vertex and visit neighbors in
+	 * 					 adjacency list order.
+	 * @return - the vertices in breadth-first order.
+	 */
+	public static int[] breadthFirst(Graph g, boolean byDegree)
+	{
+		int n = g.getNumVertices();
+		int[] order = new int[n];
+		boolean[] visited = new boolean[n];
+		int[] starts = byDegree ? byDegreeAscending(g) : identity(n);
+
+		int tail = 0;
+		for (int s = 0; s < n; s++)
+		{
+			if (visited[starts[s]])
+				continue;
+
+			visited[starts[s]] = true;
+			order[tail++] = starts[s];
+
+			for (int head = tail - 1; head < tail; head++)
+			{
+				int u = order[head];
+				int first = tail;
+
+				for (int i = 0; i < g.getDegree(u); i++)
+				{
+					int v = g.getNeighbor(u, i);
+					if (!visited[v])
+					{
+						visited[v] = true;
+						order[tail++] = v;
+					}
+				}
+
+				if (byDegree)
+					sortByDegree(g, order, first, tail);
+			}
+		}
+
+		return order;
+	}
+
+	/**
+	 * reverseCuthillMcKee()
+	 *
+	 * @param g - the graph.
+	 * @return - the vertices in reverse Cuthill-McKee order.
+	 */
+	public static int[] reverseCuthillMcKee(Graph g)
+	{
+		int[] order = breadthFirst(g, true);
+
+		for (int i = 0, j = order.length - 1; i < j; i++, j--)
+		{
+			int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+
+		return order;
+	}
+
+	/**
+	 * byDegree()
+	 *
+	 * @param g - the graph.
+	 * @return - the vertices from highest degree to lowest, ties in
+	 * 			 numbered order.
+	 */
+	public static int[] byDegree(Graph g)
+	{
+		int n = g.getNumVertices();
+		long[] keys = new long[n];
+		for (int v = 0; v < n; v++)
+			keys[v] = ((long) (Integer.MAX_VALUE - g.getDegree(v)) << 32) | v;
+		Arrays.sort(keys);
+
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++)
+			order[i] = (int) keys[i];
+
+		return order;
+	}
+
+	/* ---------------- Helper Functions ---------------- */
+
+	/**
+	 * byDegreeAscending()
+	 *
+	 * @return - the vertices from lowest degree to highest, ties in
+	 * 			 numbered order.
+	 */
+	private static int[] byDegreeAscending(Graph g)
+	{
+		int n = g.getNumVertices();
+		long[] keys = new long[n];
+		for (int v = 0; v < n; v++)
+			keys[v] = ((long) g.getDegree(v) << 32) | v;
+		Arrays.sort(keys);
+
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++)
+			order[i] = (int) keys[i];
+
+		return order;
+	}
+
+	/**
+	 * sortByDegree()
+	 *
+	 * Sorts a[from] up to a[to] by degree, ties in numbered order.
+	 */
+	private static void sortByDegree(Graph g, int[] a, int from, int to)
+	{
+		if (to - from < 2)
+			return;
+
+		long[] keys = new long[to - from];
+		for (int i = from; i < to; i++)
+			keys[i - from] = ((long) g.getDegree(a[i]) << 32) | a[i];
+		Arrays.sort(keys);
+
+		for (int i = from; i < to; i++)
+			a[i] = (int) keys[i - from];
+	}
+
+	/**
+	 * identity()
+	 *
+	 * @return - the vertices in numbered order.
+	 */
+	private static int[] identity(int n)
+	{
+		int[] order = new int[n];
+		for (int v = 0; v < n; v++)
+			order[v] = v;
+
+		return order;
+	}
+
+}
@@ -0,0 +1,114 @@
+/**
+ * WeightedMST.java
+ *
+ * Runs Kruskal's and Prim's algorithms on an edge list whose weights
+ * are longs or doubles rather than ints (see LongEdgeList and
+ * DoubleEdgeList), and prints the total weight each finds and how long
+ * it took. The edge list is in the format Graph.load() reads, with
+ * weights of the chosen type.
+ *
+ * Usage: java MST -weighted long|double edgeListFile
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+
+public class WeightedMST {
+
+	/**
+	 * @param args - the weight type, long or double, then the edge list
+	 * 				 file.
+	 */
+	public static void main(String[] args) {
+		String usage = "Usage: java MST -weighted long|double edgeListFile";
+
+		if (args.length != 2 || !(args[0].equals("long") || args[0].equals("double")))
+			MST.exitWithMessage(usage);
+
+		try {
+			BufferedReader br = new BufferedReader(new FileReader(args[1]));
+
+			if (args[0].equals("long"))
+				runLong(LongEdgeList.load(br));
+			else
+				runDouble(DoubleEdgeList.load(br));
+
+			br.close();
+		} catch (IllegalArgumentException e) {
+			MST.exitWithMessage(e.getMessage());
+		} catch (FileNotFoundException e) {
+			MST.exitWithMessage("File not found: " + e.getMessage());
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+	}
+
+	/**
+	 * runLong()
+	 *
+	 * Runs and times both algorithms on long weights.
+	 *
+	 * @param edges - the graph.
+	 */
+	private static void runLong(LongEdgeList edges)
+	{
+		printHeading("long", edges.getNumVertices(), edges.size());
+
+		long runtime = System.currentTimeMillis();
+		LongEdgeList prim = edges.primForest();
+		runtime = System.currentTimeMillis() - runtime;
+		printTotal("Prim", Long.toString(prim.getTotalWeight()), prim.size(), runtime);
+
+		runtime = System.currentTimeMillis();
+		LongEdgeList kruskal = edges.kruskalForest();
+		runtime = System.currentTimeMillis() - runtime;
+		printTotal("Kruskal", Long.toString(kruskal.getTotalWeight()), kruskal.size(), runtime);
+	}
+
+	/**
+	 * runDouble()
+	 *
+	 * Runs and times both algorithms on double weights.
+	 *
+	 * @param edges - the graph.
+	 */
+	private static void runDouble(DoubleEdgeList edges)
+	{
+		printHeading("double", edges.getNumVertices(), edges.size());
+
+		long runtime = System.currentTimeMillis();
+		DoubleEdgeList prim = edges.primForest();
+		runtime = System.currentTimeMillis() - runtime;
+		printTotal("Prim", Double.toString(prim.getTotalWeight()), prim.size(), runtime);
+
+		runtime = System.currentTimeMillis();
+		DoubleEdgeList kruskal = edges.kruskalForest();
+		runtime = System.currentTimeMillis() - runtime;
+		printTotal("Kruskal", Double.toString(kruskal.getTotalWeight()), kruskal.size(), runtime);
+	}
+
+	/* ---------------- Print Functions ---------------- */
+
+	/**
+	 * printHeading()
+	 */
+	private static void printHeading(String type, int numVertices, int numEdges)
+	{
+		System.out.printf("\nTEST: %s weights, n=%d, %d edges\n",
+				type, numVertices, numEdges);
+	}
+
+	/**
+	 * printTotal()
+	 */
+	private static void printTotal(String algorithm, String total,
+			int numTreeEdges, long runtime)
+	{
+		System.out.printf("Total weight of MST using %s: %s (%d edges)\n",
+				algorithm, total, numTreeEdges);
+		System.out.printf("Runtime: %d milliseconds\n", runtime);
+	}
+
+}
@@ -0,0 +1,270 @@
+/**
+ * DynamicMSTTest.java
+ *
+ * Checks DynamicMST against Kruskal's algorithm run from scratch. Each
+ * case applies a random sequence of insertions, deletions and weight
+ * changes, and after every one compares the structure's MST weight,
+ * number of edges and listed edges with those of a LongEdgeList's
+ * Kruskal forest of the same edges. Small weight ranges give many ties,
+ * and the graphs are kept to at most 4n edges, so the sparsification
+ * tree has several levels.
+ *
+ * Run it with test/run-checks.sh, or after building src and test into
+ * bin:
+ *
+ *     java -cp bin DynamicMSTTest [n ops seed maxWeight]
+ *
+ * With no arguments it runs a fixed set of cases.
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.util.*;
+
+public class DynamicMSTTest {
+
+	private int n;
+	private int maxWeight;
+	private Random rand;
+	private DynamicMST dmst;
+
+	// The graph's edges as the test knows them.
+	private int[] u;
+	private int[] v;
+	private int[] w;
+	private int m = 0;
+	private HashSet<Long> present = new HashSet<Long>();
+
+	/**
+	 * @param args - n ops seed maxWeight, to run one case of ops random
+	 * 				 updates on n vertices; or nothing, to run the fixed
+	 * 				 cases.
+	 */
+	public static void main(String[] args) {
+		if (args.length == 4)
+		{
+			try {
+				run(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+						Long.parseLong(args[2]), Integer.parseInt(args[3]));
+			} catch (NumberFormatException e) {
+				MST.exitWithMessage("n, ops, seed and maxWeight must be integers");
+			}
+		}
+		else if (args.length == 0)
+		{
+			run(2, 200, 1, 100);
+			run(5, 2000, 2, 1);
+			run(8, 3000, 3, 5);
+			run(20, 5000, 4, 3);
+			run(50, 5000, 5, 1000);
+			run(200, 3000, 6, 10);
+
+			for (long seed = 10; seed < 40; seed++)
+				run((int) (seed % 30) + 3, 1500, seed, (int) (seed % 7) * 20 + 1);
+
+			runFromGraph(300, 7, 0.05);
+			runFromGraph(1000, 8, 0.01);
+		}
+		else
+			MST.exitWithMessage("Usage: java DynamicMSTTest [n ops seed maxWeight]");
+
+		System.out.println("DynamicMSTTest: all checks passed");
+	}
+
+	/**
+	 * run()
+	 *
+	 * Runs random updates from an empty graph.
+	 *
+	 * @param n - number of vertices.
+	 * @param ops - number of updates.
+	 * @param seed - a seed number for generating the updates.
+	 * @param maxWeight - the largest weight to give an edge.
+	 */
+	private static void run(int n, int ops, long seed, int maxWeight)
+	{
+		DynamicMSTTest test = new DynamicMSTTest(n, maxWeight, seed,
+				new DynamicMST(n, new Edge[0]));
+		test.updates(ops);
+
+		System.out.printf("n=%d, ops=%d, seed=%d, maxWeight=%d: final MST %d with %d of %d edges\n",
+				n, ops, seed, maxWeight, test.dmst.getTotalWeight(),
+				test.dmst.getNumTreeEdges(), test.dmst.getNumEdges());
+	}
+
+	/**
+	 * runFromGraph()
+	 *
+	 * Builds the structure from a generated graph and its MST, checks
+	 * it, then runs as many random updates as there are vertices.
+	 *
+	 * @param n - number of vertices.
+	 * @param seed - a seed number for generating the graph and updates.
+	 * @param p - the probability of any two vertices being connected.
+	 */
+	private static void runFromGraph(int n, long seed, double p)
+	{
+		Graph g = new Graph(n, seed, p);
+		Edge[] mst = g.runKruskal(SortType.Quick, GraphType.List).getEdges();
+
+		DynamicMSTTest test = new DynamicMSTTest(n, 1000, seed, new DynamicMST(g, mst));
+		for (int x = 0; x < n; x++)
+		{
+			for (int i = 0; i < g.getDegree(x); i++)
+			{
+				int y = g.getNeighbor(x, i);
+				if (x < y)
+					test.add(x, y, g.getNeighborWeight(x, i));
+			}
+		}
+
+		test.compare(0, "build");
+		test.updates(n);
+
+		System.out.printf("graph n=%d, seed=%d, p=%s: final MST %d with %d of %d edges\n",
+				n, seed, Double.toString(p), test.dmst.getTotalWeight(),
+				test.dmst.getNumTreeEdges(), test.dmst.getNumEdges());
+	}
+
+	/**
+	 * DynamicMSTTest()
+	 *
+	 * @param n - number of vertices.
+	 * @param maxWeight - the largest weight to give an edge.
+	 * @param seed - a seed number for generating the updates.
+	 * @param dmst - the structure to check, holding no edges the test
+	 * 				 doesn't add.
+	 */
+	private DynamicMSTTest(int n, int maxWeight, long seed, DynamicMST dmst)
+	{
+		this.n = n;
+		this.maxWeight = maxWeight;
+		this.rand = new Random(seed);
+		this.dmst = dmst;
+
+		int capacity = Math.max(16, 4 * n);
+		u = new int[capacity];
+		v = new int[capacity];
+		w = new int[capacity];
+	}
+
+	/**
+	 * updates()
+	 *
+	 * Applies random updates, keeping the graph to at most 4n edges
+	 * (or the number already there), and checks the MST after each.
+	 *
+	 * @param ops - number of updates.
+	 */
+	private void updates(int ops)
+	{
+		long maxEdges = Math.max(m, Math.min(4L * n, (long) n * (n - 1) / 2));
+
+		for (int op = 1; op <= ops; op++)
+		{
+			int r = rand.nextInt(10);
+			String update;
+
+			if (m == 0 || (r < 4 && m < maxEdges))
+			{
+				int a, b;
+				do {
+					a = rand.nextInt(n);
+					b = rand.nextInt(n);
+				} while (a == b || present.contains(ends(a, b)));
+
+				int weight = 1 + rand.nextInt(maxWeight);
+				add(a, b, weight);
+				dmst.insertEdge(a, b, weight);
+				update = "insert";
+			}
+			else if (r < 7)
+			{
+				int i = rand.nextInt(m);
+				dmst.deleteEdge(u[i], v[i]);
+				present.remove(ends(u[i], v[i]));
+
+				m--;
+				u[i] = u[m];
+				v[i] = v[m];
+				w[i] = w[m];
+				update = "delete";
+			}
+			else
+			{
+				int i = rand.nextInt(m);
+				w[i] = 1 + rand.nextInt(maxWeight);
+				dmst.changeWeight(u[i], v[i], w[i]);
+				update = "reweight";
+			}
+
+			compare(op, update);
+		}
+	}
+
+	/**
+	 * add()
+	 *
+	 * Records an edge of the graph.
+	 */
+	private void add(int a, int b, int weight)
+	{
+		if (m == u.length)
+		{
+			u = Arrays.copyOf(u, 2 * m);
+			v = Arrays.copyOf(v, 2 * m);
+			w = Arrays.copyOf(w, 2 * m);
+		}
+
+		u[m] = a;
+		v[m] = b;
+		w[m] = weight;
+		present.add(ends(a, b));
+		m++;
+	}
+
+	/**
+	 * compare()
+	 *
+	 * Checks the structure's MST against Kruskal's algorithm, exiting
+	 * with a message if they differ.
+	 *
+	 * @param op - the number of the update just made.
+	 * @param update - what the update was.
+	 */
+	private void compare(int op, String update)
+	{
+		LongEdgeList edges = new LongEdgeList(n, m);
+		for (int i = 0; i < m; i++)
+			edges.add(u[i], v[i], w[i]);
+		LongEdgeList forest = edges.kruskalForest();
+
+		long listed = 0;
+		for (Edge e : dmst.getEdges())
+			listed += e.getWeight();
+
+		if (dmst.getTotalWeight() != forest.getTotalWeight()
+				|| dmst.getNumTreeEdges() != forest.size()
+				|| listed != forest.getTotalWeight()
+				|| dmst.getNumEdges() != m)
+		{
+			MST.exitWithMessage(String.format(
+					"Update %d (%s) gave an MST of weight %d with %d edges; "
+					+ "Kruskal's algorithm gives %d with %d edges",
+					op, update, dmst.getTotalWeight(), dmst.getNumTreeEdges(),
+					forest.getTotalWeight(), forest.size()));
+		}
+	}
+
+	/**
+	 * ends()
+	 *
+	 * @return - the endpoints of an edge, packed lower name first.
+	 */
+	private static long ends(int a, int b)
+	{
+		return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+	}
+
+}
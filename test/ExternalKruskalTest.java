@@ -0,0 +1,84 @@
+/**
+ * ExternalKruskalTest.java
+ *
+ * Checks a forest ExternalKruskal wrote against Kruskal's algorithm run
+ * in memory on the same graph. The two sort the edges the same way, so
+ * they must find the same edges in the same order.
+ *
+ * test/run-checks.sh writes the edges of a G(n, p) graph several times
+ * the size of a 4 MB budget, runs ExternalKruskal on them in a 32 MB
+ * heap, and then this on the forest it wrote:
+ *
+ *     java -cp bin ExternalKruskalTest n seed p mstFile
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+import java.io.*;
+
+public class ExternalKruskalTest {
+
+	/**
+	 * @param args - n seed p mstFile, where mstFile is the forest
+	 * 				 ExternalKruskal found for the edges
+	 * 				 "ExternalKruskal generate n seed p" wrote.
+	 */
+	public static void main(String[] args) {
+		if (args.length != 4)
+			MST.exitWithMessage("Usage: java ExternalKruskalTest n seed p mstFile");
+
+		int n = 0;
+		long seed = 0;
+		double p = 0;
+		try {
+			n = Integer.parseInt(args[0]);
+			seed = Long.parseLong(args[1]);
+			p = Double.parseDouble(args[2]);
+		} catch (NumberFormatException e) {
+			MST.exitWithMessage("n and seed must be integers and p a real number");
+		}
+
+		Graph g = new Graph(n, seed, p);
+		MSTResult kruskal = g.runKruskal(SortType.Quick, GraphType.List);
+		Edge[] edges = kruskal.getEdges();
+
+		int numRead = 0;
+		long weight = 0;
+		try {
+			EdgeReader in = EdgeReader.open(new File(args[3]));
+			try {
+				while (in.next())
+				{
+					if (numRead < edges.length
+							&& (in.getU() != edges[numRead].getLeftName()
+							|| in.getV() != edges[numRead].getRightName()
+							|| in.getWeight() != edges[numRead].getWeight()))
+						MST.exitWithMessage(String.format(
+								"Edge %d of the external forest is %d %d %d, not %d %d %d",
+								numRead, in.getU(), in.getV(), in.getWeight(),
+								edges[numRead].getLeftName(),
+								edges[numRead].getRightName(),
+								edges[numRead].getWeight()));
+
+					numRead++;
+					weight += in.getWeight();
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			MST.exitWithError(e);
+		}
+
+		if (numRead != edges.length || weight != kruskal.getTotalWeight())
+			MST.exitWithMessage(String.format(
+					"The external forest has %d edges weighing %d; "
+					+ "in memory it has %d weighing %d",
+					numRead, weight, edges.length, kruskal.getTotalWeight()));
+
+		System.out.printf("ExternalKruskalTest: n=%d, seed=%d, p=%s: %d edges weighing %d\n",
+				n, seed, Double.toString(p), numRead, weight);
+	}
+
+}
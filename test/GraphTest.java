@@ -0,0 +1,125 @@
+/**
+ * GraphTest.java
+ *
+ * Builds large, sparse graphs of the kinds that once overflowed the
+ * stack in the depth-first search every build runs, and checks that
+ * Kruskal's and Prim's algorithms agree on each one's minimum spanning
+ * forest, which must have an edge for every vertex but one in each
+ * component.
+ *
+ * Run it with test/run-checks.sh, or after building src and test into
+ * bin:
+ *
+ *     java -Xmx2g -cp bin GraphTest
+ *
+ * @author Michael Yeaple
+ *
+ */
+
+public class GraphTest {
+
+	/**
+	 * @param args - not used.
+	 */
+	public static void main(String[] args) {
+		// Long paths in a sparse G(n, p) with many components.
+		check(12000, 1, 0.0004, GraphModel.ErdosRenyi);
+
+		// A 100 x 100 grid, whose search goes thousands of vertices deep.
+		check(10000, 1, 1.0, GraphModel.Grid);
+
+		// A sparse geometric graph, with chains along its clusters.
+		check(10000, 1, 0.001, GraphModel.Geometric);
+
+		System.out.println("GraphTest: all checks passed");
+	}
+
+	/**
+	 * check()
+	 *
+	 * Builds a graph and checks its minimum spanning forest.
+	 *
+	 * @param n - number of vertices.
+	 * @param seed - a seed number for generating random numbers.
+	 * @param p - the edge density.
+	 * @param model - the random graph model.
+	 */
+	private static void check(int n, long seed, double p, GraphModel model)
+	{
+		String name = String.format("%s n=%d, seed=%d, p=%s",
+				model.getKeyword(), n, seed, Double.toString(p));
+
+		Graph g = new Graph(n, seed, p, model);
+		int components = countComponents(g);
+
+		MSTResult kruskal = g.runKruskal(SortType.Quick, GraphType.List);
+		MSTResult prim = g.runPrim(GraphType.List, PQType.Binary);
+
+		if (g.isConnectedGraph() != (components == 1))
+			MST.exitWithMessage(name + ": isConnectedGraph() disagrees with "
+					+ components + " components");
+
+		if (kruskal.getEdges().length != n - components)
+			MST.exitWithMessage(name + ": Kruskal's forest has "
+					+ kruskal.getEdges().length + " edges, not " + (n - components));
+
+		if (kruskal.getTotalWeight() != prim.getTotalWeight())
+			MST.exitWithMessage(name + ": Kruskal's weight " + kruskal.getTotalWeight()
+					+ " is not Prim's " + prim.getTotalWeight());
+
+		System.out.printf("%s: %d edges, %d components, forest weight %d\n",
+				name, g.getNumEdges(), components, kruskal.getTotalWeight());
+	}
+
+	/**
+	 * countComponents()
+	 *
+	 * Counts the components of a graph with union-find, independently
+	 * of the graph's own search.
+	 *
+	 * @param g - the graph.
+	 * @return - the number of components.
+	 */
+	private static int countComponents(Graph g)
+	{
+		int n = g.getNumVertices();
+		int[] partition = new int[n];
+		for (int i = 0; i < n; i++)
+			partition[i] = i;
+
+		int components = n;
+		for (int u = 0; u < n; u++)
+		{
+			for (int i = 0; i < g.getDegree(u); i++)
+			{
+				int root1 = find(u, partition);
+				int root2 = find(g.getNeighbor(u, i), partition);
+
+				if (root1 != root2)
+				{
+					partition[root1] = root2;
+					components--;
+				}
+			}
+		}
+
+		return components;
+	}
+
+	/**
+	 * find()
+	 *
+	 * Union-find with path halving.
+	 */
+	private static int find(int v, int[] p)
+	{
+		while (v != p[v])
+		{
+			p[v] = p[p[v]];
+			v = p[v];
+		}
+
+		return v;
+	}
+
+}
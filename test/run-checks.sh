@@ -0,0 +1,29 @@
+#!/bin/sh
+#
+# run-checks.sh
+#
+# Builds src and test into bin and runs every check in test, stopping
+# at the first one that fails.
+#
+# Usage: test/run-checks.sh
+#
+
+set -e
+cd "$(dirname "$0")/.."
+
+mkdir -p bin
+javac -d bin src/*.java
+javac -cp bin -d bin test/*.java
+
+java -Xmx2g -cp bin GraphTest
+java -cp bin DynamicMSTTest
+
+# ExternalKruskal with its smallest budget, 4 MB, in a 32 MB heap, on
+# 24 MB of edges, against Kruskal's algorithm in memory.
+tmp=$(mktemp -d)
+trap 'rm -rf "$tmp"' EXIT
+java -cp bin ExternalKruskal generate 3000 1 0.45 "$tmp/edges.bin"
+java -Xmx32m -cp bin ExternalKruskal run "$tmp/edges.bin" 4 "$tmp/mst.bin"
+java -cp bin ExternalKruskalTest 3000 1 0.45 "$tmp/mst.bin"
+
+echo "All checks passed"
@@ -0,0 +1,99 @@
+/**
+ * VectorPrimKernel.java
+ * 
+ * DensePrim's kernels written with the Vector API, so every step of
+ * the relax and argmin scans handles a whole SIMD register of keys
+ * (16 of them with AVX-512). The API is still an incubator module, so
+ * this file is kept out of src and built on its own; when it isn't,
+ * PrimKernel.getDefault() falls back to ScalarPrimKernel.
+ * 
+ * To build and use it, after building src into bin:
+ * 
+ *     javac --add-modules jdk.incubator.vector -cp bin -d bin vector/VectorPrimKernel.java
+ *     java --add-modules jdk.incubator.vector -cp bin Benchmark -dense 20000
+ * 
+ * @author MikeYeaple
+ *
+ */
+
+import jdk.incubator.vector.*;
+
+public class VectorPrimKernel extends PrimKernel {
+
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+	
+	@Override
+	public void relax(int[] row, int[] key, int[] parent, int u)
+	{
+		IntVector noEdge = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+		IntVector from = IntVector.broadcast(SPECIES, u);
+		
+		int j = 0;
+		for (; j < SPECIES.loopBound(row.length); j += SPECIES.length())
+		{
+			IntVector w = IntVector.fromArray(SPECIES, row, j);
+			w = w.blend(noEdge, w.compare(VectorOperators.EQ, 0));
+			
+			IntVector k = IntVector.fromArray(SPECIES, key, j);
+			VectorMask<Integer> lower = w.compare(VectorOperators.LT, k);
+			
+			if (lower.anyTrue())
+			{
+				w.intoArray(key, j, lower);
+				from.intoArray(parent, j, lower);
+			}
+		}
+		
+		for (; j < row.length; j++)
+		{
+			int w = (row[j] == 0) ? Integer.MAX_VALUE : row[j];
+			if (w < key[j])
+			{
+				key[j] = w;
+				parent[j] = u;
+			}
+		}
+	}
+	
+	@Override
+	public int argMin(int[] key)
+	{
+		// Find the smallest key - 1, then the first vertex with it.
+		IntVector best = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+		
+		int j = 0;
+		for (; j < SPECIES.loopBound(key.length); j += SPECIES.length())
+			best = best.min(IntVector.fromArray(SPECIES, key, j).sub(1));
+		
+		int min = best.reduceLanes(VectorOperators.MIN);
+		for (; j < key.length; j++)
+			min = Math.min(min, key[j] - 1);
+		
+		int target = min + 1;
+		
+		j = 0;
+		for (; j < SPECIES.loopBound(key.length); j += SPECIES.length())
+		{
+			VectorMask<Integer> hit = IntVector.fromArray(SPECIES, key, j)
+					.compare(VectorOperators.EQ, target);
+			
+			if (hit.anyTrue())
+				return j + hit.firstTrue();
+		}
+		
+		for (; j < key.length; j++)
+		{
+			if (key[j] == target)
+				return j;
+		}
+		
+		return 0;
+	}
+	
+	@Override
+	public String getName()
+	{
+		return "VECTOR";
+	}
+	
+}